@@ -0,0 +1,195 @@
+package com.sk.skala.stockapi.aop;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.common.ApiLog;
+import com.sk.skala.stockapi.service.MetricsRecorder;
+import com.sk.skala.stockapi.tools.JsonTool;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LoggingAspect 가 넘긴 API 로그를 고정 크기 버퍼에 쌓아 두고, 기록 스레드 하나가 꺼내 남깁니다.
+ * 요청 인자/응답 본문은 요청 스레드에서 길이 제한 안의 문자열로, API 로그는 JSON 한 줄로 만들어 넘기므로
+ * 기록 스레드는 요청 객체를 참조하지 않고 출력만 합니다. 기록 스레드는 빈 초기화가 끝난 뒤 시작합니다.
+ * 버퍼가 가득 차면 기다리지 않고 버리며 버린 수를 셉니다. 기록/버림/샘플링 제외 수와 대기 수는 MetricsRecorder 로 노출합니다.
+ */
+@Slf4j
+@Component
+public class ApiLogWriter {
+
+	// 기존과 같은 로거 이름으로 기록
+	static final Logger API_LOG = LoggerFactory.getLogger(LoggingAspect.class);
+
+	private static final String TRUNCATED = "...";
+
+	private final String name;
+	private final MetricsRecorder metricsRecorder;
+	private final BlockingQueue<String> queue;
+	private final ThreadLocal<BoundedWriter> bodies; // 요청 스레드마다 재사용, 본문 기록을 끄면 null
+	private final Thread thread;
+	private volatile boolean running = true;
+
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong sampledOut = new AtomicLong();
+	private long reportedDrops;
+
+	public ApiLogWriter(ApplicationProperties applicationProperties, MetricsRecorder metricsRecorder) {
+		ApplicationProperties.ApiLogging config = applicationProperties.getApiLogging();
+		this.name = applicationProperties.getName();
+		this.metricsRecorder = metricsRecorder;
+		this.queue = new ArrayBlockingQueue<>(config.getCapacity());
+		int maxBodyChars = config.getMaxBodyChars();
+		this.bodies = maxBodyChars > 0 ? ThreadLocal.withInitial(() -> new BoundedWriter(maxBodyChars)) : null;
+
+		this.thread = new Thread(this::run, "api-log");
+		this.thread.setDaemon(true);
+	}
+
+	@PostConstruct
+	public void start() {
+		metricsRecorder.registerApiLog(this);
+		thread.start();
+	}
+
+	// 요청 스레드에서 호출. API 로그를 JSON 한 줄로 만들어 넘기고, 버퍼가 가득 차면 버리고 false
+	public boolean offer(ApiLog apiLog) {
+		// 어차피 버릴 로그는 직렬화하지 않음
+		if (queue.remainingCapacity() > 0 && queue.offer(JsonTool.toString(apiLog))) {
+			return true;
+		}
+		dropped.incrementAndGet();
+		return false;
+	}
+
+	// 요청 스레드에서 호출. maxBodyChars 를 넘으면 직렬화를 중단하고 잘린 앞부분만 남김, 본문 기록을 끄면 null
+	public String toBody(Object value) {
+		if (bodies == null || value == null) {
+			return null;
+		}
+		BoundedWriter body = bodies.get();
+		body.reset();
+		try {
+			JsonTool.write(body, value);
+			return body.toString();
+		} catch (IOException | RuntimeException e) {
+			if (body.truncated) {
+				return body + TRUNCATED;
+			}
+			log.error("ApiLogWriter.toBody: {}", e.toString());
+			return new String();
+		}
+	}
+
+	public void sampledOut() {
+		sampledOut.incrementAndGet();
+	}
+
+	public long getWritten() {
+		return written.get();
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	public long getSampledOut() {
+		return sampledOut.get();
+	}
+
+	public int getPending() {
+		return queue.size();
+	}
+
+	@PreDestroy
+	public void close() {
+		running = false;
+		try {
+			thread.join(5000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void run() {
+		while (running || !queue.isEmpty()) {
+			try {
+				String line = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (line != null) {
+					API_LOG.info("{}: {}", name, line);
+					written.incrementAndGet();
+				}
+				reportDrops();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				log.error("ApiLogWriter.run: {}", e.toString());
+			}
+		}
+	}
+
+	private void reportDrops() {
+		long drops = dropped.get();
+		if (drops != reportedDrops) {
+			log.warn("ApiLogWriter: {} api logs dropped (total {})", drops - reportedDrops, drops);
+			reportedDrops = drops;
+		}
+	}
+
+	// 한도까지만 모으고 넘치면 예외로 직렬화를 멈추는 Writer
+	private static class BoundedWriter extends Writer {
+		private final StringBuilder buffer = new StringBuilder();
+		private final int limit;
+		private boolean truncated;
+
+		private BoundedWriter(int limit) {
+			this.limit = limit;
+		}
+
+		private void reset() {
+			buffer.setLength(0);
+			truncated = false;
+		}
+
+		@Override
+		public void write(char[] chars, int offset, int length) throws IOException {
+			if (truncated) {
+				throw new IOException("body limit exceeded");
+			}
+			int room = limit - buffer.length();
+			if (length > room) {
+				buffer.append(chars, offset, room);
+				truncated = true;
+				throw new IOException("body limit exceeded");
+			}
+			buffer.append(chars, offset, length);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public String toString() {
+			return buffer.toString();
+		}
+	}
+}
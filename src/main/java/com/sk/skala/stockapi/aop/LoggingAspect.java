@@ -1,10 +1,16 @@
 package com.sk.skala.stockapi.aop;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -14,35 +20,61 @@ import com.sk.skala.stockapi.config.Constant;
 import com.sk.skala.stockapi.config.Error;
 import com.sk.skala.stockapi.data.common.ApiLog;
 import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.service.MetricsRecorder;
 import com.sk.skala.stockapi.tools.HostInfo;
-import com.sk.skala.stockapi.tools.JsonTool;
 import com.sk.skala.stockapi.tools.StringTool;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 컨트롤러 호출마다 메소드/결과별 응답 시간을 기록하고, ApiLog 를 만들어 ApiLogWriter 로 넘깁니다.
+ * 요청 인자는 컨트롤러 호출 전에, 응답은 호출 직후 요청 스레드에서 문자열로 만들어 두므로 기록 스레드는 출력만 합니다.
+ * 메소드별 @SkipLogging 여부, 기록 비율, Timer 는 처음 호출될 때 한 번만 찾아 둡니다.
+ */
 @Aspect
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class LoggingAspect {
 	private final ApplicationProperties applicationProperties;
+	private final ApiLogWriter apiLogWriter;
+	private final MetricsRecorder metricsRecorder;
+
+	private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
 
 	@Around("@annotation(org.springframework.web.bind.annotation.GetMapping) ||"
 			+ " @annotation(org.springframework.web.bind.annotation.PostMapping) ||"
 			+ " @annotation(org.springframework.web.bind.annotation.PutMapping) ||"
 			+ " @annotation(org.springframework.web.bind.annotation.DeleteMapping)")
 	public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+		Endpoint endpoint = getEndpoint(joinPoint);
+		long started = System.nanoTime();
+		boolean success = false;
+		try {
+			Object result = proceedAndLog(joinPoint, endpoint);
+			success = !(result instanceof Response response) || response.getResult() == Response.SUCCESS;
+			return result;
+		} finally {
+			(success ? endpoint.success() : endpoint.fail()).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+		}
+	}
 
-		if (isSkipLogging(joinPoint)) {
+	private Object proceedAndLog(ProceedingJoinPoint joinPoint, Endpoint endpoint) throws Throwable {
+		// INFO 로그가 꺼져 있으면 아무것도 모으지 않음
+		if (!ApiLogWriter.API_LOG.isInfoEnabled() || endpoint.skip()) {
+			return joinPoint.proceed();
+		}
+		if (endpoint.sampleRate() < 1 && ThreadLocalRandom.current().nextDouble() >= endpoint.sampleRate()) {
+			apiLogWriter.sampledOut();
 			return joinPoint.proceed();
 		}
 
 		ApiLog apiLog = new ApiLog();
 		apiLog.setTimestamp(System.currentTimeMillis());
 
-		String controller = joinPoint.getSignature().getDeclaringTypeName() + "." + joinPoint.getSignature().getName();
 		ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
 		HttpServletRequest request = attributes.getRequest();
 
@@ -51,19 +83,17 @@ public class LoggingAspect {
 			apiLog.setApiHost(HostInfo.getHostname());
 			apiLog.setApiUrl(request.getRequestURI());
 			apiLog.setApiMethod(request.getMethod());
-			apiLog.setApiController(controller);
+			apiLog.setApiController(endpoint.controller());
 			apiLog.setRequestParams(request.getQueryString());
 
 			String contentType = request.getContentType();
 			if (contentType != null && Constant.TEXT_TYPES.contains(contentType.toLowerCase())) {
-				String body = JsonTool.toString(joinPoint.getArgs());
-				apiLog.setRequestBody(body);
+				apiLog.setRequestBody(apiLogWriter.toBody(joinPoint.getArgs()));
 			}
 
 			Object result = joinPoint.proceed();
 			if (result instanceof Response) {
-				String body = JsonTool.toString(result);
-				apiLog.setResponseBody(body);
+				apiLog.setResponseBody(apiLogWriter.toBody(result));
 			}
 
 			apiLog.setApiResult(Constant.RESULT_SUCCESS);
@@ -73,14 +103,35 @@ public class LoggingAspect {
 			response.setError(Error.SYSTEM_ERROR.getCode(), e.getMessage());
 
 			apiLog.setApiResult(Constant.RESULT_FAIL);
-			apiLog.setResponseBody(JsonTool.toString(response));
+			apiLog.setResponseBody(apiLogWriter.toBody(response));
 			throw e;
 		} finally {
 			apiLog.setElapsedTime(System.currentTimeMillis() - apiLog.getTimestamp());
-			log.info("{}: {}", applicationProperties.getName(), JsonTool.toString(apiLog));
+			apiLogWriter.offer(apiLog);
 		}
 	}
 
+	private Endpoint getEndpoint(ProceedingJoinPoint joinPoint) {
+		Method signatureMethod = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		Endpoint endpoint = endpoints.get(signatureMethod);
+		if (endpoint == null) {
+			endpoint = endpoints.computeIfAbsent(signatureMethod, key -> toEndpoint(joinPoint));
+		}
+		return endpoint;
+	}
+
+	private Endpoint toEndpoint(ProceedingJoinPoint joinPoint) {
+		Signature signature = joinPoint.getSignature();
+		String controller = signature.getDeclaringTypeName() + "." + signature.getName();
+
+		ApplicationProperties.ApiLogging config = applicationProperties.getApiLogging();
+		String key = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+		double sampleRate = config.getSampleRates().getOrDefault(key, config.getSampleRate());
+
+		return new Endpoint(isSkipLogging(joinPoint), controller, sampleRate,
+				metricsRecorder.apiTimer(key, Constant.RESULT_SUCCESS), metricsRecorder.apiTimer(key, Constant.RESULT_FAIL));
+	}
+
 	private boolean isSkipLogging(ProceedingJoinPoint joinPoint) {
 		try {
 			Method method = getMethodFromJoinPoint(joinPoint);
@@ -99,11 +150,13 @@ public class LoggingAspect {
 	private Method getMethodFromJoinPoint(ProceedingJoinPoint joinPoint) throws NoSuchMethodException {
 		String methodName = joinPoint.getSignature().getName();
 		Class<?> targetClass = joinPoint.getTarget().getClass();
-		Class<?>[] parameterTypes = ((org.aspectj.lang.reflect.MethodSignature) joinPoint.getSignature())
-				.getParameterTypes();
+		Class<?>[] parameterTypes = ((MethodSignature) joinPoint.getSignature()).getParameterTypes();
 		return targetClass.getMethod(methodName, parameterTypes);
 	}
 
+	private record Endpoint(boolean skip, String controller, double sampleRate, Timer success, Timer fail) {
+	}
+
 	String getRemoteAddress(HttpServletRequest request) {
 		String address = request.getHeader("X-Forwarded-For");
 		if (StringTool.isEmpty(address)) {
@@ -1,5 +1,8 @@
 package com.sk.skala.stockapi.config;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,10 +14,122 @@ import lombok.Data;
 public class ApplicationProperties {
 	private String name;
 	private Health health;
+	private Ranking ranking = new Ranking();
+	private Price price = new Price();
+	private Stream stream = new Stream();
+	private History history = new History();
+	private Market market = new Market();
+	private Order order = new Order();
+	private Trade trade = new Trade();
+	private Idempotency idempotency = new Idempotency();
+	private Journal journal = new Journal();
+	private Session session = new Session();
+	private ApiLogging apiLogging = new ApiLogging();
+	private Catalog catalog = new Catalog();
 
 	@Data
 	public static class Health {
 		String url;
 		long timeout;
 	}
+
+	@Data
+	public static class Ranking {
+		long snapshotMillis = 60 * 1000; // 스냅샷 주기
+		int recentSnapshots = 60; // 주기 그대로 보관할 최근 스냅샷 수
+		long archiveMillis = 60 * 60 * 1000; // 오래된 스냅샷을 솎아낼 간격
+		int archiveSnapshots = 24 * 8; // 솎아낸 스냅샷 최대 보관 수
+	}
+
+	@Data
+	public static class Price {
+		long flushMillis = 5000; // 변경된 시세를 DB 에 반영하는 주기
+	}
+
+	@Data
+	public static class Stream {
+		int threads = 4; // 구독자 전송 스레드 수
+		long timeoutMillis = 30 * 60 * 1000; // SSE 연결 유지 시간
+	}
+
+	@Data
+	public static class History {
+		int tickCapacity = 4096; // 종목별 메모리에 보관할 최근 틱 수
+		int candleCapacity = 1440; // 종목별, 구간별 보관할 봉 수
+		String spillDir; // 지정하면 밀려난 틱을 종목별 파일에 기록
+		int spillSegmentBytes = 1024 * 1024;
+	}
+
+	@Data
+	public static class Market {
+		boolean enabled = true; // false 면 시세를 생성하지 않음
+		String model = "uniform"; // uniform, gbm, mean-reversion, jump-diffusion
+		long tickMillis = 5000; // 시세 생성 주기 (1초 미만 가능)
+		long seed; // 0 이 아니면 같은 시드로 같은 시세를 재현
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		int parallelThreshold = 1024; // 종목 수가 이 이상이면 병렬 생성
+
+		// 모델 파라미터 (시간 단위: 초)
+		double drift = 0.0;
+		double volatility = 0.01;
+		double reversionSpeed = 0.01;
+		double jumpIntensity = 0.001;
+		double jumpMean = 0.0;
+		double jumpVolatility = 0.05;
+
+		// 재생: mode 가 replay 면 시뮬레이션 대신 replayFile 의 틱을 재생
+		String mode = "simulate"; // simulate, replay
+		String replayFile;
+		double replaySpeed = 1.0; // 배속, 0 이하면 대기 없이 최대 속도
+		boolean replayLoop;
+		String recordFile; // 지정하면 발생한 틱을 같은 형식으로 기록
+	}
+
+	@Data
+	public static class Order {
+		int threads = 4; // 종목을 나눠 맡는 매칭 스레드 수
+		long flushMillis = 200; // 체결 결과 DB 반영 주기
+	}
+
+	@Data
+	public static class Trade {
+		int lockStripes = 1024; // 플레이어 잠금 줄무늬 수
+		int maxAttempts = 5; // 동시 수정 충돌 시 최대 시도 횟수
+		int maxBatchOrders = 100; // 일괄 주문 한 번에 받는 최대 주문 수
+	}
+
+	@Data
+	public static class Idempotency {
+		long ttlMillis = 10 * 60 * 1000; // 같은 키의 재시도를 같은 결과로 돌려주는 기간
+		int maxEntries = 100000; // 보관하는 최대 키 수
+	}
+
+	@Data
+	public static class Journal {
+		boolean enabled = true;
+		String dir = System.getProperty("user.home") + "/.skala-stock/journal"; // 저널과 스냅샷 파일 위치
+		int segmentBytes = 64 * 1024 * 1024; // 저널 파일 매핑 단위
+		long snapshotMillis = 60000; // 스냅샷 주기
+	}
+
+	@Data
+	public static class Session {
+		String tokenFormat = "compact"; // 새로 발급하는 토큰 형식 (jwt, compact)
+		long cacheTtlMillis = 60000; // 검증한 토큰을 다시 검증하지 않고 쓰는 최대 시간 (토큰 만료가 먼저면 만료까지)
+		int cacheMaxEntries = 10000;
+	}
+
+	@Data
+	public static class ApiLogging {
+		int capacity = 8192; // 기록 대기 버퍼 크기. 가득 차면 버림
+		int maxBodyChars = 2000; // 요청/응답 본문 최대 길이. 0 이하면 본문을 남기지 않음
+		double sampleRate = 1.0; // 기본 기록 비율 (0 ~ 1)
+		Map<String, Double> sampleRates = new HashMap<>(); // 컨트롤러 메소드별 기록 비율 (예: RankingController.getRanking)
+	}
+
+	@Data
+	public static class Catalog {
+		long ttlMillis = 10 * 60 * 1000; // 변경이 없어도 다시 읽는 주기
+		int maxEntries = 10000; // 캐시하는 최대 주식 수. 전체 목록이 이보다 크면 목록은 DB 에서 페이지로 읽음
+	}
 }
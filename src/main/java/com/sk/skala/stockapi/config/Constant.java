@@ -14,7 +14,11 @@ public class Constant {
 
 	public static final String PROFILE_PRODUCT = "prd";
 
+	// 시퀀스 ID 를 한 번에 당겨 오는 크기 (시퀀스 INCREMENT BY 와 같아야 함)
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	public static final String X_BFF_USER = "X-Bff-User";
+	public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
 	public static final String JWT_ACCESS_COOKIE = "bff-access";
 	public static final int JWT_ACCESS_TTL = 60 * 60; // 1 hour
@@ -8,20 +8,31 @@ import com.sk.skala.stockapi.data.table.Player;
 import com.sk.skala.stockapi.data.table.Stock;
 import com.sk.skala.stockapi.repository.PlayerRepository;
 import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.service.journal.TradeJournal;
 
 @Configuration
 public class DataInitializer {
 
 	@Bean
-	CommandLineRunner initStocks(StockRepository stockRepository, PlayerRepository playerRepository) {
+	CommandLineRunner initStocks(StockRepository stockRepository, PlayerRepository playerRepository,
+			TradeJournal tradeJournal) {
 		return args -> {
-			stockRepository.save(new Stock("TechCorp", 100.00));
-			stockRepository.save(new Stock("GreenEnergy", 80.00));
-			stockRepository.save(new Stock("HealthPlus", 120.00));
-			stockRepository.save(new Stock("SkalaEdu", 150.00));
+			// 저널에서 복구한 데이터가 있으면 초기 데이터는 넣지 않음
+			if (tradeJournal.recover()) {
+				return;
+			}
+			// 파일 DB 처럼 이전 실행의 데이터가 남아 있어도 다시 넣지 않음
+			if (stockRepository.count() > 0 || playerRepository.count() > 0) {
+				return;
+			}
 
-			playerRepository.save(new Player("Skala.Man", 10000.0));
-			playerRepository.save(new Player("Smart.Woman", 10000.0));
+			tradeJournal.stockSaved(stockRepository.save(new Stock("TechCorp", 100.00)));
+			tradeJournal.stockSaved(stockRepository.save(new Stock("GreenEnergy", 80.00)));
+			tradeJournal.stockSaved(stockRepository.save(new Stock("HealthPlus", 120.00)));
+			tradeJournal.stockSaved(stockRepository.save(new Stock("SkalaEdu", 150.00)));
+
+			tradeJournal.playerCreated(playerRepository.save(new Player("Skala.Man", 10000.0)));
+			tradeJournal.playerCreated(playerRepository.save(new Player("Smart.Woman", 10000.0)));
 		};
 	}
 }
@@ -17,6 +17,9 @@ public enum Error {
 
 	INSUFFICIENT_FUNDS(9101, "INSUFFICIENT_FUNDS"),
 	INSUFFICIENT_QUANTITY(9102, "INSUFFICIENT_QUANTITY"),
+	TRADE_CONFLICT(9103, "TRADE_CONFLICT"),
+	ORDER_NOT_APPLIED(9104, "ORDER_NOT_APPLIED"),
+	IDEMPOTENCY_KEY_REUSED(9105, "IDEMPOTENCY_KEY_REUSED"),
 
 	UNDEFINED_ERROR(9999, "UNDEFINED_ERROR");
 	
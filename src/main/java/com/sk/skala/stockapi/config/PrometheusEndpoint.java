@@ -0,0 +1,172 @@
+package com.sk.skala.stockapi.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/prometheus 에서 MeterRegistry 의 모든 미터를 Prometheus 텍스트 형식(0.0.4)으로 내보냅니다.
+ * Timer 는 분위수가 붙은 summary(_seconds), Counter 는 _total, Gauge 는 그대로 씁니다.
+ * 빌드에 micrometer-registry-prometheus 가 들어오면 Spring Boot 의 같은 id 엔드포인트로 바꾸고 이 클래스는 지웁니다.
+ */
+@Component
+@Endpoint(id = "prometheus")
+@RequiredArgsConstructor
+public class PrometheusEndpoint {
+
+	public static final String CONTENT_TYPE = "text/plain;version=0.0.4;charset=utf-8";
+
+	private final MeterRegistry meterRegistry;
+
+	@ReadOperation(produces = CONTENT_TYPE)
+	public String scrape() {
+		// 같은 이름의 미터는 TYPE 줄 하나 아래에 모아야 함
+		Map<String, List<Meter>> families = new TreeMap<>();
+		for (Meter meter : meterRegistry.getMeters()) {
+			if (meter.getId().getTag("phi") != null) {
+				continue; // Timer 분위수를 따로 등록한 gauge. summary 의 quantile 로 이미 나감
+			}
+			families.computeIfAbsent(toName(meter.getId().getName()), name -> new ArrayList<>()).add(meter);
+		}
+
+		StringBuilder out = new StringBuilder(16 * 1024);
+		families.forEach((name, meters) -> {
+			Meter first = meters.get(0);
+			if (first instanceof Timer || first instanceof FunctionTimer) {
+				writeType(out, name + "_seconds", "summary", first);
+				meters.forEach(meter -> writeTimer(out, name + "_seconds", meter));
+			}
+			else if (first instanceof Counter || first instanceof FunctionCounter) {
+				writeType(out, name + "_total", "counter", first);
+				meters.forEach(meter -> writeSample(out, name + "_total", meter.getId().getTags(), null, value(meter)));
+			}
+			else if (first instanceof Gauge || first instanceof TimeGauge) {
+				writeType(out, name, "gauge", first);
+				meters.forEach(meter -> writeSample(out, name, meter.getId().getTags(), null, value(meter)));
+			}
+			else {
+				// LongTaskTimer, DistributionSummary 등은 측정값별 gauge 로
+				writeType(out, name, "untyped", first);
+				for (Meter meter : meters) {
+					for (Measurement measurement : meter.measure()) {
+						writeSample(out, name + "_" + measurement.getStatistic().getTagValueRepresentation(),
+								meter.getId().getTags(), null, measurement.getValue());
+					}
+				}
+			}
+		});
+		return out.toString();
+	}
+
+	private static void writeTimer(StringBuilder out, String name, Meter meter) {
+		List<Tag> tags = meter.getId().getTags();
+		if (meter instanceof Timer timer) {
+			HistogramSnapshot snapshot = timer.takeSnapshot();
+			for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+				writeSample(out, name, tags, Double.toString(percentile.percentile()),
+						percentile.value(TimeUnit.SECONDS));
+			}
+			writeSample(out, name + "_count", tags, null, snapshot.count());
+			writeSample(out, name + "_sum", tags, null, snapshot.total(TimeUnit.SECONDS));
+			writeSample(out, name + "_max", tags, null, snapshot.max(TimeUnit.SECONDS));
+		}
+		else if (meter instanceof FunctionTimer timer) {
+			writeSample(out, name + "_count", tags, null, timer.count());
+			writeSample(out, name + "_sum", tags, null, timer.totalTime(TimeUnit.SECONDS));
+		}
+	}
+
+	private static double value(Meter meter) {
+		if (meter instanceof Counter counter) {
+			return counter.count();
+		}
+		if (meter instanceof FunctionCounter counter) {
+			return counter.count();
+		}
+		if (meter instanceof TimeGauge gauge) {
+			return gauge.value(TimeUnit.SECONDS);
+		}
+		if (meter instanceof Gauge gauge) {
+			return gauge.value();
+		}
+		for (Measurement measurement : meter.measure()) {
+			return measurement.getValue();
+		}
+		return Double.NaN;
+	}
+
+	private static void writeType(StringBuilder out, String name, String type, Meter meter) {
+		String description = meter.getId().getDescription();
+		if (description != null) {
+			out.append("# HELP ").append(name).append(' ').append(description.replace("\\", "\\\\").replace("\n", "\\n"))
+					.append('\n');
+		}
+		out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void writeSample(StringBuilder out, String name, List<Tag> tags, String quantile, double value) {
+		out.append(name);
+		if (!tags.isEmpty() || quantile != null) {
+			out.append('{');
+			boolean first = true;
+			for (Tag tag : tags) {
+				if (!first) {
+					out.append(',');
+				}
+				out.append(toName(tag.getKey())).append("=\"").append(escape(tag.getValue())).append('"');
+				first = false;
+			}
+			if (quantile != null) {
+				out.append(first ? "" : ",").append("quantile=\"").append(quantile).append('"');
+			}
+			out.append('}');
+		}
+		out.append(' ').append(toValue(value)).append('\n');
+	}
+
+	// Prometheus 이름은 [a-zA-Z_:][a-zA-Z0-9_:]* 만 허용
+	private static String toName(String name) {
+		StringBuilder builder = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			boolean valid = c == '_' || c == ':' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+					|| (i > 0 && c >= '0' && c <= '9');
+			builder.append(valid ? c : '_');
+		}
+		return builder.toString();
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private static String toValue(double value) {
+		if (Double.isNaN(value)) {
+			return "NaN";
+		}
+		if (Double.isInfinite(value)) {
+			return value > 0 ? "+Inf" : "-Inf";
+		}
+		return Double.toString(value);
+	}
+}
@@ -0,0 +1,127 @@
+package com.sk.skala.stockapi.config;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * classpath 의 db/migration/V{버전}__{설명}.sql 을 버전 순서대로 한 번씩 적용합니다. (Flyway 와 같은 파일 규칙)
+ * 적용한 버전은 schema_version 테이블에 남기며, JPA 는 이 작업이 끝난 뒤 스키마를 검증(ddl-auto: validate)합니다.
+ * 이력 테이블 없이 ddl-auto 로 만들어진 기존 DB 는 V1(그때 Hibernate 가 만들던 스키마)을 적용한 것으로 기록하고 이후 버전만 적용합니다.
+ * 기존 스키마가 V1 보다 새 것이면(player.version 이 있으면) 어느 버전인지 알 수 없으므로 시작하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaMigrator {
+
+	private static final String LOCATION = "classpath*:db/migration/V*__*.sql";
+	private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+	private static final int BASELINE_VERSION = 1;
+
+	private static final String CREATE_HISTORY = "create table if not exists schema_version (version int not null primary key, "
+			+ "description varchar(200) not null, installed_at bigint not null)";
+	private static final String SELECT_VERSION = "select coalesce(max(version), 0) from schema_version";
+	private static final String INSERT_VERSION = "insert into schema_version (version, description, installed_at) values (?, ?, ?)";
+
+	private final DataSource dataSource;
+
+	@PostConstruct
+	public void migrate() throws IOException, SQLException {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute(CREATE_HISTORY);
+		int current = jdbcTemplate.queryForObject(SELECT_VERSION, Integer.class);
+		if (current == 0 && tableExists("PLAYER")) {
+			if (columnExists("PLAYER", "VERSION")) {
+				throw new IllegalStateException("SchemaMigrator: existing schema without schema_version is newer than V"
+						+ BASELINE_VERSION + ", migrate it manually");
+			}
+			jdbcTemplate.update(INSERT_VERSION, BASELINE_VERSION, "baseline (existing schema)", System.currentTimeMillis());
+			current = BASELINE_VERSION;
+			log.info("SchemaMigrator.migrate: existing schema recorded as V{}", BASELINE_VERSION);
+		}
+
+		for (Map.Entry<Integer, Resource> migration : findMigrations().entrySet()) {
+			int version = migration.getKey();
+			if (version <= current) {
+				continue;
+			}
+			String description = description(migration.getValue());
+			Connection connection = DataSourceUtils.getConnection(dataSource);
+			try {
+				ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.getValue(), "UTF-8"));
+			} finally {
+				DataSourceUtils.releaseConnection(connection, dataSource);
+			}
+			jdbcTemplate.update(INSERT_VERSION, version, description, System.currentTimeMillis());
+			log.info("SchemaMigrator.migrate: V{} {}", version, description);
+		}
+	}
+
+	private Map<Integer, Resource> findMigrations() throws IOException {
+		Map<Integer, Resource> migrations = new TreeMap<>();
+		for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+			Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+			if (!matcher.matches()) {
+				continue;
+			}
+			Resource existing = migrations.put(Integer.parseInt(matcher.group(1)), resource);
+			if (existing != null) {
+				throw new IllegalStateException("duplicate migration version: " + resource.getFilename());
+			}
+		}
+		return migrations;
+	}
+
+	private boolean tableExists(String table) throws SQLException {
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		try (ResultSet tables = connection.getMetaData().getTables(null, null, table, null)) {
+			return tables.next();
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+	}
+
+	private boolean columnExists(String table, String column) throws SQLException {
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+			return columns.next();
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+	}
+
+	private static String description(Resource resource) {
+		Matcher matcher = FILE_NAME.matcher(resource.getFilename());
+		matcher.matches();
+		return matcher.group(2).replace('_', ' ');
+	}
+
+	// JPA 스키마 검증보다 먼저 실행되도록 EntityManagerFactory 가 이 빈에 의존하게 함
+	@Component
+	static class EntityManagerFactoryDependsOnMigrator extends EntityManagerFactoryDependsOnPostProcessor {
+		EntityManagerFactoryDependsOnMigrator() {
+			super(SchemaMigrator.class);
+		}
+	}
+}
@@ -1,10 +1,15 @@
 package com.sk.skala.stockapi.controller;
 
+import com.sk.skala.stockapi.config.Constant;
 import com.sk.skala.stockapi.data.common.Response;
 import com.sk.skala.stockapi.data.dto.PlayerSession;
 import com.sk.skala.stockapi.data.dto.StockOrder;
+import com.sk.skala.stockapi.data.request.BatchOrderRequest;
 import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.service.IdempotencyService;
 import com.sk.skala.stockapi.service.PlayerService;
+import com.sk.skala.stockapi.service.PortfolioService;
+import com.sk.skala.stockapi.service.order.OrderService;
 import org.springframework.web.bind.annotation.*;
 
 import lombok.RequiredArgsConstructor;
@@ -14,10 +19,18 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/players")
 public class PlayerController {
     private final PlayerService playerService;
+    private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final PortfolioService portfolioService;
 
     // 전체 플레이어 목록 조회 API
+    // cursor 를 보내면(첫 페이지는 빈 값) offset 대신 커서 모드로 조회하고 응답의 next 로 이어서 요청
     @GetMapping("/list")
-    public Response getAllPlayers(@RequestParam(value="offset", defaultValue = "0") int offset, @RequestParam(value="count", defaultValue = "10") int count) {
+    public Response getAllPlayers(@RequestParam(value="offset", defaultValue = "0") int offset, @RequestParam(value="count", defaultValue = "10") int count,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return playerService.getPlayers(cursor, count);
+        }
         return playerService.getAllPlayers(offset, count);
     }
 
@@ -27,6 +40,22 @@ public class PlayerController {
         return playerService.getPlayerById(playerId);
     }
 
+    // 플레이어 포트폴리오 평가 (종목별/전체 평가 금액, 취득 원가, 평가 손익)
+    @GetMapping("/{playerId}/portfolio")
+    public Response getPortfolio(@PathVariable("playerId") String playerId) {
+        Response response = new Response();
+        response.setBody(portfolioService.getPortfolio(playerId));
+        return response;
+    }
+
+    // 플레이어 체결 이력 조회 (최신순, cursor: 이전 응답의 next)
+    @GetMapping("/{playerId}/trades")
+    public Response getPlayerTrades(@PathVariable("playerId") String playerId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "20") int count) {
+        return playerService.getPlayerTrades(playerId, cursor, count);
+    }
+
     // 플레이어 등록
     @PostMapping
     public Response createPlayer(@RequestBody Player player) {
@@ -51,13 +80,51 @@ public class PlayerController {
         return playerService.deletePlayer(player);
     }
 
+    // 거래 API 는 Idempotency-Key 헤더가 있으면 같은 키의 재시도에 처음 결과를 돌려줌
     @PostMapping("/buy")
-    public Response buyPlayerStock(@RequestBody StockOrder order) {
-        return playerService.buyPlayerStock(order);
+    public Response buyPlayerStock(@RequestHeader(value = Constant.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody StockOrder order) {
+        return idempotencyService.execute(idempotencyKey, "buy", order, () -> playerService.buyPlayerStock(order));
     }
 
     @PostMapping("/sell")
-    public Response sellPlayerStock(@RequestBody StockOrder order) {
-        return playerService.sellPlayerStock(order);
+    public Response sellPlayerStock(@RequestHeader(value = Constant.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody StockOrder order) {
+        return idempotencyService.execute(idempotencyKey, "sell", order, () -> playerService.sellPlayerStock(order));
+    }
+
+    // 지정가 주문 접수 (side: BUY, SELL)
+    @PostMapping("/orders")
+    public Response submitOrder(@RequestHeader(value = Constant.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody StockOrder order) {
+        return idempotencyService.execute(idempotencyKey, "orders", order, () -> {
+            Response response = new Response();
+            response.setBody(orderService.submitOrder(order));
+            return response;
+        });
+    }
+
+    // 시장가 매수/매도 일괄 주문 (atomic: 전체 성공 시에만 반영)
+    @PostMapping("/orders/batch")
+    public Response executeOrders(@RequestHeader(value = Constant.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody BatchOrderRequest request) {
+        return idempotencyService.execute(idempotencyKey, "orders/batch", request,
+                () -> playerService.executeOrders(request));
+    }
+
+    // 로그인 플레이어의 미체결 주문 조회
+    @GetMapping("/orders")
+    public Response getOpenOrders() {
+        Response response = new Response();
+        response.setBody(orderService.getOpenOrders());
+        return response;
+    }
+
+    // 미체결 주문 취소
+    @DeleteMapping("/orders/{orderId}")
+    public Response cancelOrder(@PathVariable("orderId") long orderId) {
+        Response response = new Response();
+        response.setBody(orderService.cancelOrder(orderId));
+        return response;
     }
 }
@@ -1,10 +1,13 @@
 package com.sk.skala.stockapi.controller;
 
 import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.service.RankingHistoryService;
 import com.sk.skala.stockapi.service.RankingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -13,11 +16,36 @@ import org.springframework.web.bind.annotation.RestController;
 public class RankingController {
 
     private final RankingService rankingService;
+    private final RankingHistoryService rankingHistoryService;
 
+    // limit 이 없으면 전체 순위 목록, 있으면 offset 부터 limit 명의 페이지
     @GetMapping
-    public Response getRanking() {
+    public Response getRanking(@RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         Response response = new Response();
-        response.setBody(rankingService.getRanking());
+        if (limit == null && offset == 0) {
+            response.setBody(rankingService.getRanking());
+        }
+        else {
+            response.setBody(rankingService.getRanking(offset, limit != null ? limit : Integer.MAX_VALUE));
+        }
+        return response;
+    }
+
+    // 단일 플레이어 순위 조회
+    @GetMapping("/{playerId}")
+    public Response getPlayerRanking(@PathVariable("playerId") String playerId) {
+        Response response = new Response();
+        response.setBody(rankingService.getPlayerRanking(playerId));
+        return response;
+    }
+
+    // 기간(day, week) 내 플레이어 순위 변화
+    @GetMapping("/{playerId}/history")
+    public Response getPlayerHistory(@PathVariable("playerId") String playerId,
+            @RequestParam(value = "period", defaultValue = "day") String period) {
+        Response response = new Response();
+        response.setBody(rankingHistoryService.getPlayerHistory(playerId, period));
         return response;
     }
 }
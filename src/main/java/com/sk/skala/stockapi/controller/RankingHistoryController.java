@@ -0,0 +1,27 @@
+package com.sk.skala.stockapi.controller;
+
+import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.service.RankingHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ranking-history")
+public class RankingHistoryController {
+
+    private final RankingHistoryService rankingHistoryService;
+
+    // 기간(day, week) 내 수익률 변화량 순위
+    @GetMapping("/window")
+    public Response getWindowRanking(@RequestParam(value = "period", defaultValue = "day") String period,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        Response response = new Response();
+        response.setBody(rankingHistoryService.getWindowRanking(period, offset, limit));
+        return response;
+    }
+}
@@ -2,8 +2,13 @@ package com.sk.skala.stockapi.controller;
 
 import com.sk.skala.stockapi.data.common.Response;
 import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.service.PriceHistoryService;
+import com.sk.skala.stockapi.service.PriceStreamService;
 import com.sk.skala.stockapi.service.StockService;
+import com.sk.skala.stockapi.service.order.OrderService;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -13,17 +18,56 @@ import lombok.RequiredArgsConstructor;
 public class StockController {
 
     private final StockService stockService;
+    private final PriceStreamService priceStreamService;
+    private final PriceHistoryService priceHistoryService;
+    private final OrderService orderService;
 
+    // cursor 를 보내면(첫 페이지는 빈 값) offset 대신 커서 모드로 조회하고 응답의 next 로 이어서 요청
     @GetMapping("/list")
-    public Response getAllStocks(@RequestParam(defaultValue = "0") int offset, @RequestParam(defaultValue = "10") int count) {
+    public Response getAllStocks(@RequestParam(defaultValue = "0") int offset, @RequestParam(defaultValue = "10") int count,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return stockService.getStocks(cursor, count);
+        }
         return stockService.getAllStocks(offset, count);
     }
 
+    // 시세 변경 스트림 (scope=all: 전체 종목, scope=watchlist: 로그인 플레이어의 관심 종목)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPrices(@RequestParam(defaultValue = PriceStreamService.SCOPE_ALL) String scope) {
+        return priceStreamService.subscribe(scope);
+    }
+
     @GetMapping("/{id}")
     public Response getStockById(@PathVariable Long id) {
         return stockService.getStockById(id);
     }
 
+    // 집계된 봉 조회 (interval: 1m, 5m, 1h)
+    @GetMapping("/{id}/candles")
+    public Response getCandles(@PathVariable Long id, @RequestParam(defaultValue = "1m") String interval,
+            @RequestParam(defaultValue = "100") int limit) {
+        Response response = new Response();
+        response.setBody(priceHistoryService.getCandles(id, interval, limit));
+        return response;
+    }
+
+    // 최근 틱 조회
+    @GetMapping("/{id}/ticks")
+    public Response getTicks(@PathVariable Long id, @RequestParam(defaultValue = "100") int limit) {
+        Response response = new Response();
+        response.setBody(priceHistoryService.getTicks(id, limit));
+        return response;
+    }
+
+    // 호가창 조회 (가격대별 미체결 수량)
+    @GetMapping("/{id}/orderbook")
+    public Response getOrderBook(@PathVariable Long id, @RequestParam(defaultValue = "10") int depth) {
+        Response response = new Response();
+        response.setBody(orderService.getOrderBook(id, depth));
+        return response;
+    }
+
     @PostMapping
     public Response createStock(@RequestBody Stock stock) {
         return stockService.createStock(stock);
@@ -8,4 +8,5 @@ public class PagedList {
 	private long count;
 	private long offset;
 	private Object list;
+	private String next; // 커서 모드의 다음 페이지 커서, 마지막 페이지면 null
 }
@@ -0,0 +1,15 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchOrderDto {
+    private boolean applied; // 하나 이상의 주문이 반영되었는지
+    private int succeeded;
+    private int failed;
+    private double playerMoney; // 반영 후 잔액
+    private List<OrderResultDto> results = new ArrayList<>();
+}
@@ -0,0 +1,12 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+@Data
+public class CandleDto {
+    private long time; // 구간 시작 시각 (epoch millis)
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+}
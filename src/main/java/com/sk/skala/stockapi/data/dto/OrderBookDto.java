@@ -0,0 +1,13 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class OrderBookDto {
+    private long stockId;
+    private List<PriceLevelDto> bids = new ArrayList<>(); // 높은 가격 순
+    private List<PriceLevelDto> asks = new ArrayList<>(); // 낮은 가격 순
+}
@@ -0,0 +1,21 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+@Data
+public class OrderDto {
+    public static final String STATUS_OPEN = "OPEN";
+    public static final String STATUS_PARTIALLY_FILLED = "PARTIALLY_FILLED";
+    public static final String STATUS_FILLED = "FILLED";
+    public static final String STATUS_CANCELED = "CANCELED";
+
+    private long orderId;
+    private String playerId;
+    private long stockId;
+    private String side;
+    private double limitPrice;
+    private int quantity;
+    private int filledQuantity;
+    private String status;
+    private long createdAt;
+}
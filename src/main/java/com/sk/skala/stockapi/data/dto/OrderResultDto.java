@@ -0,0 +1,14 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+@Data
+public class OrderResultDto {
+    private int index; // 요청 목록에서의 위치
+    private long stockId;
+    private String side;
+    private int stockQuantity;
+    private double stockPrice; // 체결 가격
+    private int code; // 0: 성공
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class PortfolioDto {
+
+    private String playerId;
+    private Double playerMoney;
+    private Double marketValue; // 보유 주식 평가 금액 합계
+    private Double costBasis; // 보유 주식 취득 원가 합계
+    private Double unrealizedPnl;
+    private Double unrealizedPnlRate;
+    private Double totalValue; // 현금 + 평가 금액
+    private List<PositionDto> positions;
+    private long valuedAt; // 평가 시각
+}
@@ -0,0 +1,19 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PositionDto {
+
+    private Long stockId;
+    private String stockName;
+    private Integer quantity;
+    private Double stockPrice;
+    private Double averagePrice; // 평균 취득 단가
+    private Double marketValue; // 수량 x 현재가
+    private Double costBasis; // 취득 원가 합계
+    private Double unrealizedPnl; // 평가 손익
+    private Double unrealizedPnlRate; // 평가 손익률 (원가 대비)
+}
@@ -0,0 +1,12 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PriceLevelDto {
+    private double price;
+    private long quantity; // 미체결 수량 합계
+    private int orders;
+}
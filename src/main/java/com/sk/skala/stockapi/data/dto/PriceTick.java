@@ -0,0 +1,18 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+/**
+ * 한 번의 시세 갱신에서 바뀐 주식 가격 목록입니다.
+ * stockIds[i] 의 새 가격이 prices[i] 입니다.
+ */
+@Data
+public class PriceTick {
+	private final long timestamp;
+	private final long[] stockIds;
+	private final double[] prices;
+
+	public int size() {
+		return stockIds.length;
+	}
+}
@@ -0,0 +1,11 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+@Data
+public class RankingHistoryDto {
+    private long timestamp;
+    private int rank;
+    private double profitRate;
+    private double totalAssets;
+}
@@ -5,7 +5,14 @@ import lombok.Data;
 
 @Data
 public class StockOrder {
+	public static final String SIDE_BUY = "BUY";
+	public static final String SIDE_SELL = "SELL";
+
 	private String playerId;
 	private long stockId;
 	private int stockQuantity;
+
+	// 지정가 주문에만 사용
+	private String side;
+	private double limitPrice;
 }
@@ -0,0 +1,11 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TickDto {
+    private long time;
+    private double price;
+}
@@ -0,0 +1,15 @@
+package com.sk.skala.stockapi.data.dto;
+
+import com.sk.skala.stockapi.data.table.Trade;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TradeListDto {
+
+    private String playerId;
+    private List<Trade> trades;
+    private String next; // 다음 페이지 커서, 마지막 페이지면 null
+}
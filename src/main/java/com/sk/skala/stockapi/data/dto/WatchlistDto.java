@@ -1,7 +1,5 @@
 package com.sk.skala.stockapi.data.dto;
 
-import com.sk.skala.stockapi.data.table.PlayerWatchlist;
-import com.sk.skala.stockapi.data.table.Stock;
 import lombok.Data;
 
 @Data
@@ -11,11 +9,10 @@ public class WatchlistDto {
     private String stockName;
     private Double stockPrice;
 
-    public WatchlistDto(PlayerWatchlist playerWatchlist) {
-        this.id = playerWatchlist.getId();
-        Stock stock = playerWatchlist.getStock();
-        this.stockId = stock.getId();
-        this.stockName = stock.getStockName();
-        this.stockPrice = stock.getStockPrice();
+    // JPQL 생성자 표현식용
+    public WatchlistDto(Long id, Long stockId, String stockName) {
+        this.id = id;
+        this.stockId = stockId;
+        this.stockName = stockName;
     }
 }
@@ -0,0 +1,13 @@
+package com.sk.skala.stockapi.data.dto;
+
+import lombok.Data;
+
+@Data
+public class WindowRankingDto {
+    private int rank;
+    private String playerId;
+    private double profitRate;
+    private double totalAssets;
+    private double profitRateChange;
+    private double totalAssetsChange;
+}
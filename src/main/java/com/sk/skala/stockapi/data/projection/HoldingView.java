@@ -0,0 +1,12 @@
+package com.sk.skala.stockapi.data.projection;
+
+/**
+ * 전체 보유 내역을 플레이어/주식 식별자와 수량만으로 읽는 인터페이스 프로젝션입니다.
+ */
+public interface HoldingView {
+    String getPlayerId();
+
+    Long getStockId();
+
+    int getQuantity();
+}
@@ -0,0 +1,17 @@
+package com.sk.skala.stockapi.data.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 보유 내역과 주식 이름을 조인 한 번으로 읽는 생성자 표현식 프로젝션입니다.
+ * 엔티티를 만들지 않으므로 지연 로딩 프록시를 건드릴 일이 없습니다.
+ */
+@Data
+@AllArgsConstructor
+public class PlayerStockView {
+    private Long stockId;
+    private String stockName;
+    private int quantity;
+    private double costBasis;
+}
@@ -0,0 +1,16 @@
+package com.sk.skala.stockapi.data.request;
+
+import com.sk.skala.stockapi.data.dto.StockOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderRequest {
+    private boolean atomic; // true: 하나라도 실패하면 전체 미반영, false: 성공한 주문만 반영
+    private List<StockOrder> orders;
+}
@@ -2,6 +2,7 @@ package com.sk.skala.stockapi.data.table;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -35,6 +36,12 @@ public class Player {
 	 */
 	private double initialMoney;
 
+	/**
+	 * 동시 수정 감지를 위한 버전입니다.
+	 */
+	@Version
+	private Long version;
+
 	/**
 	 * ID와 초기 금액으로 새 플레이어를 생성하는 생성자입니다.
 	 * @param id 플레이어의 고유 ID.
@@ -1,5 +1,7 @@
 package com.sk.skala.stockapi.data.table;
 
+import com.sk.skala.stockapi.config.Constant;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,27 +13,29 @@ import lombok.NoArgsConstructor;
 @Entity
 @Data
 @NoArgsConstructor
+@Table(name = "player_stock", uniqueConstraints = @UniqueConstraint(name = "uk_player_stock", columnNames = { "player_id", "stock_id" }))
 public class PlayerStock {
 
 	/**
 	 * 이 주식 보유 기록의 고유 식별자입니다.
 	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_stock_seq")
+	@SequenceGenerator(name = "player_stock_seq", sequenceName = "player_stock_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
 	private Long id;
 
 	/**
 	 * 주식을 소유한 플레이어입니다. (지연 로딩)
 	 */
 	@ManyToOne(fetch= FetchType.LAZY)
-	@JoinColumn(name="player_id")
+	@JoinColumn(name="player_id", nullable = false)
 	private Player player;
 
 	/**
 	 * 보유하고 있는 주식입니다. (지연 로딩)
 	 */
 	@ManyToOne(fetch= FetchType.LAZY)
-	@JoinColumn(name="stock_id")
+	@JoinColumn(name="stock_id", nullable = false)
 	private Stock stock;
 
 	/**
@@ -39,15 +43,28 @@ public class PlayerStock {
 	 */
 	private int quantity;
 
+	/**
+	 * 보유 수량의 취득 원가 합계입니다. (평균 단가 x 수량)
+	 */
+	private double costBasis;
+
+	/**
+	 * 동시 수정 감지를 위한 버전입니다.
+	 */
+	@Version
+	private Long version;
+
 	/**
 	 * 새로운 플레이어 주식 보유 기록을 생성하는 생성자입니다.
 	 * @param player 주식을 소유한 플레이어.
 	 * @param stock 보유하고 있는 주식.
 	 * @param quantity 보유 주식 수량.
+	 * @param costBasis 보유 수량의 취득 원가 합계.
 	 */
-	public PlayerStock(Player player, Stock stock, int quantity) {
+	public PlayerStock(Player player, Stock stock, int quantity, double costBasis) {
 		this.player = player;
 		this.stock = stock;
 		this.quantity = quantity;
+		this.costBasis = costBasis;
 	}
 }
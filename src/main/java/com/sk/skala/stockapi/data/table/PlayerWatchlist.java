@@ -1,5 +1,7 @@
 package com.sk.skala.stockapi.data.table;
 
+import com.sk.skala.stockapi.config.Constant;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,11 +13,12 @@ import lombok.NoArgsConstructor;
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name="player_watchlist")
+@Table(name="player_watchlist", uniqueConstraints = @UniqueConstraint(name = "uk_player_watchlist", columnNames = {"player_id", "stock_id"}))
 public class PlayerWatchlist {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_watchlist_seq")
+    @SequenceGenerator(name = "player_watchlist_seq", sequenceName = "player_watchlist_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch=FetchType.LAZY)
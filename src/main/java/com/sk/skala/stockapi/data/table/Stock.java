@@ -1,9 +1,15 @@
 package com.sk.skala.stockapi.data.table;
 
+import com.sk.skala.stockapi.config.Constant;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -14,18 +20,21 @@ import lombok.NoArgsConstructor;
 @Data
 @Entity
 @NoArgsConstructor
+@Table(name = "stock", uniqueConstraints = @UniqueConstraint(name = "uk_stock_name", columnNames = "stock_name"))
 public class Stock {
 
 	/**
 	 * 주식의 고유 식별자입니다.
 	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_seq")
+	@SequenceGenerator(name = "stock_seq", sequenceName = "stock_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
 	private Long id;
 
 	/**
 	 * 주식의 이름입니다.
 	 */
+	@Column(name = "stock_name")
 	private String stockName;
 
 	/**
@@ -0,0 +1,70 @@
+package com.sk.skala.stockapi.data.table;
+
+import com.sk.skala.stockapi.config.Constant;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 체결된 매수/매도 한 건을 나타냅니다.
+ * 이 클래스는 데이터베이스의 "Trade" 테이블에 매핑되는 JPA 엔티티입니다.
+ * 플레이어나 주식이 삭제되어도 이력은 남도록 외래 키 없이 ID 만 보관합니다.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "trade", indexes = @Index(name = "idx_trade_player_executed", columnList = "player_id, executed_at"))
+public class Trade {
+
+	/**
+	 * 체결 기록의 고유 식별자입니다.
+	 */
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+	@SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", allocationSize = Constant.ID_ALLOCATION_SIZE)
+	private Long id;
+
+	/**
+	 * 거래한 플레이어의 ID 입니다.
+	 */
+	@Column(name = "player_id", nullable = false)
+	private String playerId;
+
+	/**
+	 * 거래한 주식의 ID 입니다.
+	 */
+	@Column(name = "stock_id", nullable = false)
+	private long stockId;
+
+	/**
+	 * 매수(BUY) 또는 매도(SELL) 입니다.
+	 */
+	@Column(nullable = false, length = 4)
+	private String side;
+
+	/**
+	 * 체결 수량입니다.
+	 */
+	private int quantity;
+
+	/**
+	 * 체결 가격입니다.
+	 */
+	private double price;
+
+	/**
+	 * 체결 시각 (epoch millis) 입니다.
+	 */
+	@Column(name = "executed_at", nullable = false)
+	private long executedAt;
+
+	public Trade(String playerId, long stockId, String side, int quantity, double price, long executedAt) {
+		this.playerId = playerId;
+		this.stockId = stockId;
+		this.side = side;
+		this.quantity = quantity;
+		this.price = price;
+		this.executedAt = executedAt;
+	}
+}
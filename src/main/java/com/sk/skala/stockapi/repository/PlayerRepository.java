@@ -1,8 +1,14 @@
 package com.sk.skala.stockapi.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.sk.skala.stockapi.data.table.Player;
 
 public interface PlayerRepository extends JpaRepository<Player, String> {
+
+    // 커서 이후 playerId 순 목록 (기본 키 인덱스를 따라 읽으며 COUNT 를 실행하지 않음)
+    List<Player> findByPlayerIdGreaterThanOrderByPlayerIdAsc(String playerId, Pageable pageable);
 }
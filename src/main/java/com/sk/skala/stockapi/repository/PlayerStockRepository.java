@@ -1,8 +1,12 @@
 package com.sk.skala.stockapi.repository;
 
+import com.sk.skala.stockapi.data.projection.HoldingView;
+import com.sk.skala.stockapi.data.projection.PlayerStockView;
 import com.sk.skala.stockapi.data.table.Player;
 import com.sk.skala.stockapi.data.table.Stock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.sk.skala.stockapi.data.table.PlayerStock;
 
@@ -14,4 +18,13 @@ public interface PlayerStockRepository extends JpaRepository<PlayerStock, Long>
     List<PlayerStock> findByPlayer_PlayerId(String playerId);
     Optional<PlayerStock> findByPlayerAndStock(Player plager, Stock stock);
 
-}
\ No newline at end of file
+    // 보유 내역과 주식 이름을 조인 한 번으로 조회 (보유 종목 수와 관계없이 쿼리 1 회)
+    @Query("select new com.sk.skala.stockapi.data.projection.PlayerStockView(s.id, s.stockName, ps.quantity, ps.costBasis)"
+            + " from PlayerStock ps join ps.stock s where ps.player.playerId = :playerId order by s.id")
+    List<PlayerStockView> findViewsByPlayerId(@Param("playerId") String playerId);
+
+    // 전체 보유 내역을 외래 키 값만으로 조회 (순위 초기화용)
+    @Query("select ps.player.playerId as playerId, ps.stock.id as stockId, ps.quantity as quantity from PlayerStock ps")
+    List<HoldingView> findAllHoldings();
+
+}
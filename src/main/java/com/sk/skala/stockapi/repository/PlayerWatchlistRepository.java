@@ -1,7 +1,10 @@
 package com.sk.skala.stockapi.repository;
 
+import com.sk.skala.stockapi.data.dto.WatchlistDto;
 import com.sk.skala.stockapi.data.table.PlayerWatchlist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,13 @@ import java.util.Optional;
 public interface PlayerWatchlistRepository extends JpaRepository<PlayerWatchlist, Long> {
     List<PlayerWatchlist> findByPlayer_PlayerId(String playerId);
     Optional<PlayerWatchlist> findByPlayer_PlayerIdAndStock_Id(String playerId, Long stockId);
-}
\ No newline at end of file
+
+    // 관심 종목과 주식 이름을 조인 한 번으로 조회 (가격은 호출 측에서 채움)
+    @Query("select new com.sk.skala.stockapi.data.dto.WatchlistDto(w.id, s.id, s.stockName)"
+            + " from PlayerWatchlist w join w.stock s where w.player.playerId = :playerId order by w.id")
+    List<WatchlistDto> findDtosByPlayerId(@Param("playerId") String playerId);
+
+    // 관심 종목 식별자만 조회 (외래 키 컬럼만 읽음)
+    @Query("select w.stock.id from PlayerWatchlist w where w.player.playerId = :playerId")
+    List<Long> findStockIdsByPlayerId(@Param("playerId") String playerId);
+}
@@ -1,12 +1,20 @@
 package com.sk.skala.stockapi.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.sk.skala.stockapi.data.table.Stock;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
 
     Optional<Stock> findByStockName(String stockName);
+
+    // 이름 변경 시 자기 자신을 뺀 중복 확인
+    boolean existsByStockNameAndIdNot(String stockName, Long id);
+
+    // 커서 이후 id 순 목록 (COUNT 를 실행하지 않음)
+    List<Stock> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package com.sk.skala.stockapi.repository;
+
+import com.sk.skala.stockapi.data.table.Trade;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TradeRepository extends JpaRepository<Trade, Long> {
+
+    // 최신순 첫 페이지
+    List<Trade> findByPlayerIdOrderByExecutedAtDescIdDesc(String playerId, Pageable pageable);
+
+    // (executedAt, id) 커서 이전의 다음 페이지. executedAt <= 조건으로 (player_id, executed_at) 인덱스 범위를 좁힘
+    @Query("select t from Trade t where t.playerId = :playerId and t.executedAt <= :executedAt"
+            + " and (t.executedAt < :executedAt or t.id < :id) order by t.executedAt desc, t.id desc")
+    List<Trade> findPageBefore(@Param("playerId") String playerId, @Param("executedAt") long executedAt,
+            @Param("id") long id, Pageable pageable);
+}
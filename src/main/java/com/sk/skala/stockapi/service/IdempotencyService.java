@@ -0,0 +1,89 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.tools.ExpiringCache;
+import com.sk.skala.stockapi.tools.JsonTool;
+import com.sk.skala.stockapi.tools.StringTool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 들어온 거래 요청의 결과를 일정 시간 보관합니다.
+ * 같은 플레이어가 같은 키로 다시 요청하면 거래를 다시 실행하지 않고 처음 결과를 돌려주며,
+ * 처음 요청이 아직 실행 중이면 그 결과를 기다립니다. 실패한 요청은 보관하지 않아 같은 키로 다시 시도할 수 있습니다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final SessionHandler sessionHandler;
+    private final ExpiringCache<String, Execution> executions;
+
+    public IdempotencyService(SessionHandler sessionHandler, ApplicationProperties applicationProperties) {
+        this.sessionHandler = sessionHandler;
+        ApplicationProperties.Idempotency config = applicationProperties.getIdempotency();
+        this.executions = new ExpiringCache<>(config.getTtlMillis(), config.getMaxEntries());
+    }
+
+    // operation + request 가 같은 키의 처음 요청과 다르면 IDEMPOTENCY_KEY_REUSED
+    public Response execute(String idempotencyKey, String operation, Object request, Supplier<Response> action) {
+        if (StringTool.isEmpty(idempotencyKey)) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "Idempotency-Key");
+        }
+        String playerId = sessionHandler.getPlayerId();
+        if (playerId == null) {
+            return action.get(); // 인증 오류는 action 에서 처리
+        }
+
+        String key = playerId + ":" + idempotencyKey;
+        Execution execution = new Execution(operation + ":" + JsonTool.toString(request), new CompletableFuture<>());
+        Execution existing = executions.putIfAbsent(key, execution);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(execution.fingerprint)) {
+                throw new ResponseException(Error.IDEMPOTENCY_KEY_REUSED);
+            }
+            log.debug("IdempotencyService.execute: replay {}", key);
+            return await(existing.result);
+        }
+
+        try {
+            Response response = action.get();
+            execution.result.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // java.lang.Error 도 같은 키를 기다리는 요청을 풀어 주고 키를 비움
+            executions.remove(key, execution);
+            execution.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Response await(CompletableFuture<Response> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof java.lang.Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Execution(String fingerprint, CompletableFuture<Response> result) {
+    }
+}
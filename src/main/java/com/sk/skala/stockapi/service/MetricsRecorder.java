@@ -0,0 +1,129 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.aop.ApiLogWriter;
+import com.sk.skala.stockapi.config.Error;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스 지표(Micrometer 미터)를 한곳에서 만들어 둡니다.
+ * 태그 조합별 미터는 기동 시(또는 엔드포인트별로 처음 한 번) 등록해 두고, 기록할 때는 만들어 둔 Timer/Counter 만 써서
+ * 태그 조회나 객체 생성이 없습니다. 분위수(p50/p99/p99.9)는 management.metrics.distribution 설정으로 붙습니다.
+ */
+@Component
+public class MetricsRecorder {
+
+    public static final String API_REQUESTS = "api.requests";
+    public static final String PRICE_TICK = "price.tick";
+    public static final String RANKING_REVALUE = "ranking.revalue";
+    public static final String TRADE_REJECTIONS = "trade.rejections";
+    public static final String CATALOG_REQUESTS = "stock.catalog.requests";
+    public static final String JOURNAL_FAILURES = "journal.append.failures";
+    public static final String API_LOG_WRITTEN = "api.log.written";
+    public static final String API_LOG_DROPPED = "api.log.dropped";
+    public static final String API_LOG_SAMPLED_OUT = "api.log.sampled_out";
+    public static final String API_LOG_PENDING = "api.log.pending";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer priceTick;
+    private final Timer rankingRevalue;
+    private final Error[] errors = Error.values();
+    private final Counter[] rejections;
+    private final Counter catalogHits;
+    private final Counter catalogMisses;
+    private final Counter journalFailures;
+
+    public MetricsRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.priceTick = Timer.builder(PRICE_TICK)
+                .description("시세 반영과 구독 빈 알림에 걸린 시간")
+                .register(meterRegistry);
+        this.rankingRevalue = Timer.builder(RANKING_REVALUE)
+                .description("시세 변경 후 순위 재평가에 걸린 시간")
+                .register(meterRegistry);
+        this.rejections = new Counter[errors.length];
+        for (int i = 0; i < errors.length; i++) {
+            rejections[i] = Counter.builder(TRADE_REJECTIONS)
+                    .description("오류 코드별 거부된 주문 수")
+                    .tag("error", errors[i].name())
+                    .register(meterRegistry);
+        }
+        this.catalogHits = Counter.builder(CATALOG_REQUESTS)
+                .description("주식 목록 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.catalogMisses = Counter.builder(CATALOG_REQUESTS)
+                .description("주식 목록 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.journalFailures = Counter.builder(JOURNAL_FAILURES)
+                .description("저널 기록 실패 수")
+                .register(meterRegistry);
+    }
+
+    // 컨트롤러 메소드, 결과별 응답 시간 (호출 측에서 한 번만 만들어 재사용)
+    public Timer apiTimer(String controller, String outcome) {
+        return Timer.builder(API_REQUESTS)
+                .description("컨트롤러 메소드별 응답 시간")
+                .tag("controller", controller)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // ApiLogWriter 가 세는 값을 수집 시점에 읽어 감 (기록 경로에는 추가 비용 없음)
+    public void registerApiLog(ApiLogWriter apiLogWriter) {
+        FunctionCounter.builder(API_LOG_WRITTEN, apiLogWriter, ApiLogWriter::getWritten)
+                .description("기록된 API 로그 수")
+                .register(meterRegistry);
+        FunctionCounter.builder(API_LOG_DROPPED, apiLogWriter, ApiLogWriter::getDropped)
+                .description("버퍼가 가득 차 버린 API 로그 수")
+                .register(meterRegistry);
+        FunctionCounter.builder(API_LOG_SAMPLED_OUT, apiLogWriter, ApiLogWriter::getSampledOut)
+                .description("샘플링으로 남기지 않은 API 로그 수")
+                .register(meterRegistry);
+        Gauge.builder(API_LOG_PENDING, apiLogWriter, ApiLogWriter::getPending)
+                .description("버퍼에서 기록을 기다리는 API 로그 수")
+                .register(meterRegistry);
+    }
+
+    public void recordPriceTick(long nanos) {
+        priceTick.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRankingRevalue(long nanos) {
+        rankingRevalue.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void catalogHit() {
+        catalogHits.increment();
+    }
+
+    public void catalogMiss() {
+        catalogMisses.increment();
+    }
+
+    public void journalFailure() {
+        journalFailures.increment();
+    }
+
+    public void rejected(Error error) {
+        rejections[error.ordinal()].increment();
+    }
+
+    // ResponseException 은 코드만 가지므로 코드로 찾음 (Error 가 적어 순차 검색)
+    public void rejected(int code) {
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i].getCode() == code) {
+                rejections[i].increment();
+                return;
+            }
+        }
+        rejections[Error.UNDEFINED_ERROR.ordinal()].increment();
+    }
+}
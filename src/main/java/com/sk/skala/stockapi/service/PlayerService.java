@@ -1,20 +1,28 @@
 package com.sk.skala.stockapi.service;
 
+import com.sk.skala.stockapi.config.ApplicationProperties;
 import com.sk.skala.stockapi.config.Error;
 import com.sk.skala.stockapi.data.common.PagedList;
 import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.data.dto.BatchOrderDto;
+import com.sk.skala.stockapi.data.dto.OrderResultDto;
 import com.sk.skala.stockapi.data.dto.PlayerSession;
 import com.sk.skala.stockapi.data.dto.PlayerStockDto;
 import com.sk.skala.stockapi.data.dto.PlayerStockListDto;
 import com.sk.skala.stockapi.data.dto.StockOrder;
+import com.sk.skala.stockapi.data.dto.TradeListDto;
+import com.sk.skala.stockapi.data.request.BatchOrderRequest;
 import com.sk.skala.stockapi.data.table.Player;
 import com.sk.skala.stockapi.data.table.PlayerStock;
 import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.data.table.Trade;
 import com.sk.skala.stockapi.exception.ParameterException;
 import com.sk.skala.stockapi.exception.ResponseException;
 import com.sk.skala.stockapi.repository.PlayerRepository;
 import com.sk.skala.stockapi.repository.PlayerStockRepository;
-import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.repository.TradeRepository;
+import com.sk.skala.stockapi.service.journal.TradeJournal;
+import com.sk.skala.stockapi.service.order.OrderService;
 import com.sk.skala.stockapi.tools.StringTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,19 +36,34 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PlayerService {
     private static final Logger logger = LoggerFactory.getLogger(PlayerService.class);
+    private static final int MAX_TRADES_PER_PAGE = 100;
 
     private final PlayerRepository playerRepository;
-    private final StockRepository stockRepository;
     private final PlayerStockRepository playerStockRepository;
+    private final TradeRepository tradeRepository;
     private final SessionHandler sessionHandler;
+    private final RankingService rankingService;
+    private final PriceBook priceBook;
+    private final OrderService orderService;
+    private final PlayerTradeExecutor playerTradeExecutor;
+    private final ApplicationProperties applicationProperties;
+    private final TradeJournal tradeJournal;
+    private final PortfolioService portfolioService;
+    private final MetricsRecorder metricsRecorder;
+    private final StockCatalog stockCatalog;
 
     // 전체 플레이어 목록 조회
     public Response getAllPlayers(int offset, int count) {
@@ -59,6 +82,34 @@ public class PlayerService {
         return response;
     }
 
+    // 커서 모드 플레이어 목록. 커서 위치에서 playerId 인덱스를 따라 count 건만 읽고 COUNT 는 실행하지 않음
+    // total 은 순위 서비스가 메모리에 들고 있는 플레이어 수 (근사값)
+    public Response getPlayers(String cursor, int count) {
+        if (count <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "count");
+        }
+        String afterId = "";
+        if (!StringTool.isEmpty(cursor)) {
+            afterId = StringTool.fromCursor(cursor);
+            if (afterId == null) {
+                throw new ResponseException(Error.INVALID_PARAMETER, "cursor");
+            }
+        }
+        List<Player> players = playerRepository.findByPlayerIdGreaterThanOrderByPlayerIdAsc(afterId, PageRequest.of(0, count));
+
+        PagedList pagedList = new PagedList();
+        pagedList.setTotal(rankingService.getPlayerCount());
+        pagedList.setCount(players.size());
+        pagedList.setList(players);
+        if (players.size() == count) {
+            pagedList.setNext(StringTool.toCursor(players.get(players.size() - 1).getPlayerId()));
+        }
+
+        Response response = new Response();
+        response.setBody(pagedList);
+        return response;
+    }
+
     // 단일 플레이어 및 주식 목록 조회
     @Transactional(readOnly=true)
     public Response getPlayerById(String playerId) {
@@ -70,12 +121,9 @@ public class PlayerService {
         }
         Player player = optionalPlayer.get();
 
-        List<PlayerStock> playerStockList = playerStockRepository.findByPlayer_PlayerId(playerId);
-
-        List<PlayerStockDto> stockDtos = playerStockList.stream()
-                .map(playerStock -> PlayerStockDto.builder().stockId(playerStock.getStock().getId())
-                        .stockName(playerStock.getStock().getStockName())
-                        .stockPrice(playerStock.getStock().getStockPrice()).quantity(playerStock.getQuantity()).build())
+        List<PlayerStockDto> stockDtos = playerStockRepository.findViewsByPlayerId(playerId).stream()
+                .map(view -> PlayerStockDto.builder().stockId(view.getStockId()).stockName(view.getStockName())
+                        .stockPrice(priceBook.getPrice(view.getStockId())).quantity(view.getQuantity()).build())
                 .collect(Collectors.toList());
 
         PlayerStockListDto playerStockListDto = PlayerStockListDto.builder().playerId(player.getPlayerId())
@@ -87,6 +135,43 @@ public class PlayerService {
         return response;
     }
 
+    // 체결 이력 조회 (최신순). cursor 는 이전 응답의 next 이며, 첫 페이지는 비워서 요청
+    public Response getPlayerTrades(String playerId, String cursor, int count) {
+        if (count <= 0 || count > MAX_TRADES_PER_PAGE) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "count");
+        }
+
+        // 오프셋 없이 커서 위치에서 인덱스를 따라 count 건만 읽으므로 깊은 페이지도 첫 페이지와 비용이 같음
+        Pageable limit = PageRequest.of(0, count);
+        List<Trade> trades;
+        if (StringTool.isEmpty(cursor)) {
+            trades = tradeRepository.findByPlayerIdOrderByExecutedAtDescIdDesc(playerId, limit);
+        }
+        else {
+            long[] position = parseTradeCursor(cursor);
+            trades = tradeRepository.findPageBefore(playerId, position[0], position[1], limit);
+        }
+
+        String next = null;
+        if (trades.size() == count) {
+            Trade last = trades.get(trades.size() - 1);
+            next = last.getExecutedAt() + "_" + last.getId();
+        }
+
+        Response response = new Response();
+        response.setBody(TradeListDto.builder().playerId(playerId).trades(trades).next(next).build());
+        return response;
+    }
+
+    private static long[] parseTradeCursor(String cursor) {
+        int separator = cursor.indexOf('_');
+        try {
+            return new long[] { Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)) };
+        } catch (RuntimeException e) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "cursor");
+        }
+    }
+
     // 플레이어 생성
     public Response createPlayer(Player playerSession) {
         if (StringTool.isAnyEmpty(playerSession.getPlayerId())
@@ -104,7 +189,9 @@ public class PlayerService {
         player.setPlayerMoney(100000);
         player.setInitialMoney(100000);
 
-        playerRepository.save(player);
+        playerTradeExecutor.execute(player.getPlayerId(), () -> playerRepository.save(player),
+                tradeJournal::playerCreated);
+        rankingService.updatePlayer(player.getPlayerId(), player.getPlayerMoney(), player.getInitialMoney());
 
         return new Response();
     }
@@ -124,7 +211,8 @@ public class PlayerService {
         }
 
         Player player = optionalPlayer.get();
-        if (player.getPlayerPassword().equals(playerSession.getPlayerPassword())) {
+        // 비밀번호가 없는 플레이어(기본 데이터)는 로그인할 수 없음
+        if (playerSession.getPlayerPassword().equals(player.getPlayerPassword())) {
             sessionHandler.storeAccessToken(playerSession);
         }
         else {
@@ -144,14 +232,17 @@ public class PlayerService {
             throw new ResponseException(Error.DATA_NOT_FOUND);
         }
 
-        Optional<Player> optionalPlayer = playerRepository.findById(plyr.getPlayerId());
-        if (optionalPlayer.isEmpty()) {
-            throw new ResponseException(Error.DATA_NOT_FOUND);
-        }
-
-        Player player = optionalPlayer.get();
-        player.setPlayerMoney(plyr.getPlayerMoney());
-        playerRepository.save(player);
+        // 저널에는 아직 DB 에 반영되지 않은 체결분과 순서가 바뀌어도 같은 결과가 되도록 증감분으로 기록
+        double[] cashDelta = new double[1];
+        Player player = playerTradeExecutor.execute(plyr.getPlayerId(), () -> {
+            Player found = playerRepository.findById(plyr.getPlayerId())
+                    .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
+            cashDelta[0] = plyr.getPlayerMoney() - found.getPlayerMoney();
+            found.setPlayerMoney(plyr.getPlayerMoney());
+            return playerRepository.save(found);
+        }, saved -> tradeJournal.trade(saved.getPlayerId(), 0, cashDelta[0], 0, 0));
+        portfolioService.invalidate(player.getPlayerId());
+        rankingService.updateCash(player.getPlayerId(), player.getPlayerMoney());
         response.setBody(player);
         return response;
     }
@@ -163,23 +254,227 @@ public class PlayerService {
             throw new ResponseException(Error.DATA_NOT_FOUND);
         }
 
-        playerRepository.deleteById(player.getPlayerId());
+        orderService.cancelPlayerOrders(player.getPlayerId());
+        playerTradeExecutor.execute(player.getPlayerId(), () -> {
+            playerRepository.deleteById(player.getPlayerId());
+            return null;
+        }, deleted -> tradeJournal.playerDeleted(player.getPlayerId()));
+        portfolioService.invalidate(player.getPlayerId());
+        rankingService.removePlayer(player.getPlayerId());
         return new Response();
     }
 
     // 주식 매수
-    @Transactional
     public Response buyPlayerStock(StockOrder order) {
         String playerId = sessionHandler.getPlayerId();
         logger.info("buyPlayerStock called for playerId: {}, order: {}", playerId, order);
+        if (order.getStockQuantity() <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "stockQuantity");
+        }
+
+        Execution execution = playerTradeExecutor.trade(playerId, () -> buy(playerId, order), executed -> {
+            tradeJournal.trade(playerId, order.getStockId(), -executed.amount(), order.getStockQuantity(), executed.cost());
+            tradeJournal.executed(executed.trade());
+        });
+        portfolioService.invalidate(playerId);
+
+        // 지정가 주문에 묶인 현금/주식도 랭킹에는 포함되므로 증감분으로 반영
+        rankingService.applyTrade(playerId, order.getStockId(), -execution.amount(), order.getStockQuantity());
+        return new Response();
+    }
+
+    // 주식 매도
+    public Response sellPlayerStock(StockOrder order) {
+        String playerId = sessionHandler.getPlayerId();
+        if (order.getStockQuantity() <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "stockQuantity");
+        }
 
+        Execution execution = playerTradeExecutor.trade(playerId, () -> sell(playerId, order), executed -> {
+            tradeJournal.trade(playerId, order.getStockId(), executed.amount(), -order.getStockQuantity(), executed.cost());
+            tradeJournal.executed(executed.trade());
+        });
+        portfolioService.invalidate(playerId);
+
+        rankingService.applyTrade(playerId, order.getStockId(), execution.amount(), -order.getStockQuantity());
+        return new Response();
+    }
+
+    // 일괄 주문 (atomic: 하나라도 실패하면 전체 미반영)
+    public Response executeOrders(BatchOrderRequest request) {
+        String playerId = sessionHandler.getPlayerId();
+        List<StockOrder> orders = request.getOrders();
+        if (orders == null || orders.isEmpty() || orders.size() > applicationProperties.getTrade().getMaxBatchOrders()) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "orders");
+        }
+
+        BatchResult result = playerTradeExecutor.trade(playerId, () -> applyOrders(playerId, orders, request.isAtomic()),
+                applied -> {
+                    applied.quantityDeltas().forEach((stockId, quantityDelta) ->
+                            tradeJournal.trade(playerId, stockId, applied.cashDeltas().get(stockId), quantityDelta,
+                                    applied.costDeltas().get(stockId)));
+                    applied.trades().forEach(tradeJournal::executed);
+                });
+        for (OrderResultDto orderResult : result.batch().getResults()) {
+            if (orderResult.getCode() != 0) {
+                metricsRecorder.rejected(orderResult.getCode());
+            }
+        }
+        result.quantityDeltas().forEach((stockId, quantityDelta) ->
+                rankingService.applyTrade(playerId, stockId, result.cashDeltas().get(stockId), quantityDelta));
+        if (result.batch().isApplied()) {
+            portfolioService.invalidate(playerId);
+        }
+
+        Response response = new Response();
+        response.setBody(result.batch());
+        return response;
+    }
+
+    // 플레이어, 주식, 보유 내역을 한 번씩만 읽어 메모리에서 순서대로 적용한 뒤 바뀐 행만 반영 (트랜잭션 안에서 실행)
+    private BatchResult applyOrders(String playerId, List<StockOrder> orders, boolean atomic) {
         Player player = playerRepository.findById(playerId).orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
-        Stock stock = stockRepository.findById(order.getStockId()).orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
+
+        Set<Long> stockIds = new HashSet<>();
+        orders.forEach(order -> stockIds.add(order.getStockId()));
+        Map<Long, Stock> stocks = new HashMap<>();
+        stockIds.forEach(stockId -> stockCatalog.getReference(stockId).ifPresent(stock -> stocks.put(stockId, stock)));
+        Map<Long, PlayerStock> holdings = new HashMap<>();
+        playerStockRepository.findByPlayer_PlayerId(playerId)
+                .forEach(playerStock -> holdings.put(playerStock.getStock().getId(), playerStock));
+
+        double playerMoney = player.getPlayerMoney();
+        Map<Long, Integer> quantities = new HashMap<>(); // 주문으로 바뀐 종목의 현재 수량
+        Map<Long, Double> costs = new HashMap<>(); // 주문으로 바뀐 종목의 현재 취득 원가
+        Map<Long, Double> costDeltas = new LinkedHashMap<>();
+        Map<Long, Double> cashDeltas = new LinkedHashMap<>();
+        Map<Long, Integer> quantityDeltas = new LinkedHashMap<>();
+        List<Trade> trades = new ArrayList<>();
+        long executedAt = System.currentTimeMillis();
+        BatchOrderDto batch = new BatchOrderDto();
+
+        for (int i = 0; i < orders.size(); i++) {
+            StockOrder order = orders.get(i);
+            OrderResultDto result = new OrderResultDto();
+            result.setIndex(i);
+            result.setStockId(order.getStockId());
+            result.setSide(order.getSide());
+            result.setStockQuantity(order.getStockQuantity());
+            batch.getResults().add(result);
+
+            Stock stock = stocks.get(order.getStockId());
+            double stockPrice = stock == null ? Double.NaN : priceBook.getPrice(stock.getId());
+            PlayerStock holding = holdings.get(order.getStockId());
+            int held = quantities.getOrDefault(order.getStockId(), holding == null ? 0 : holding.getQuantity());
+            double heldCost = costs.getOrDefault(order.getStockId(), holding == null ? 0 : holding.getCostBasis());
+            boolean buy = StockOrder.SIDE_BUY.equals(order.getSide());
+            double amount = order.getStockQuantity() * stockPrice;
+
+            if (!buy && !StockOrder.SIDE_SELL.equals(order.getSide())) {
+                fail(batch, result, Error.INVALID_PARAMETER, "side");
+            }
+            else if (order.getStockQuantity() <= 0) {
+                fail(batch, result, Error.INVALID_PARAMETER, "stockQuantity");
+            }
+            else if (Double.isNaN(stockPrice)) {
+                fail(batch, result, Error.DATA_NOT_FOUND, "Stock not found");
+            }
+            else if (buy && playerMoney < amount) {
+                fail(batch, result, Error.INSUFFICIENT_FUNDS, null);
+            }
+            else if (!buy && held == 0) {
+                fail(batch, result, Error.DATA_NOT_FOUND, "Player does not own this stock");
+            }
+            else if (!buy && held < order.getStockQuantity()) {
+                fail(batch, result, Error.INSUFFICIENT_QUANTITY, null);
+            }
+            else {
+                int quantityDelta = buy ? order.getStockQuantity() : -order.getStockQuantity();
+                double cashDelta = buy ? -amount : amount;
+                double costDelta = buy ? amount : -soldCost(heldCost, held, order.getStockQuantity());
+                playerMoney += cashDelta;
+                quantities.put(order.getStockId(), held + quantityDelta);
+                costs.put(order.getStockId(), heldCost + costDelta);
+                quantityDeltas.merge(order.getStockId(), quantityDelta, Integer::sum);
+                cashDeltas.merge(order.getStockId(), cashDelta, Double::sum);
+                costDeltas.merge(order.getStockId(), costDelta, Double::sum);
+                trades.add(new Trade(playerId, order.getStockId(), order.getSide(), order.getStockQuantity(), stockPrice,
+                        executedAt));
+                result.setStockPrice(stockPrice);
+                batch.setSucceeded(batch.getSucceeded() + 1);
+            }
+        }
+
+        if (batch.getSucceeded() == 0 || (atomic && batch.getFailed() > 0)) {
+            for (OrderResultDto result : batch.getResults()) {
+                if (result.getCode() == 0) {
+                    result.setCode(Error.ORDER_NOT_APPLIED.getCode());
+                    result.setMessage(Error.ORDER_NOT_APPLIED.getMessage());
+                }
+            }
+            batch.setPlayerMoney(player.getPlayerMoney());
+            return new BatchResult(batch, Map.of(), Map.of(), Map.of(), List.of());
+        }
+
+        // 바뀐 보유 내역만 모아서 저장 (hibernate.jdbc.batch_size 단위로 묶여 실행)
+        player.setPlayerMoney(playerMoney);
+        List<PlayerStock> created = new ArrayList<>();
+        List<PlayerStock> emptied = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            PlayerStock holding = holdings.get(entry.getKey());
+            if (holding == null) {
+                if (entry.getValue() > 0) {
+                    created.add(new PlayerStock(player, stocks.get(entry.getKey()), entry.getValue(), costs.get(entry.getKey())));
+                }
+            }
+            else if (entry.getValue() == 0) {
+                emptied.add(holding);
+            }
+            else {
+                holding.setQuantity(entry.getValue());
+                holding.setCostBasis(costs.get(entry.getKey()));
+            }
+        }
+        playerStockRepository.saveAll(created);
+        playerStockRepository.deleteAll(emptied);
+        tradeRepository.saveAll(trades);
+
+        batch.setApplied(true);
+        batch.setPlayerMoney(playerMoney);
+        return new BatchResult(batch, cashDeltas, quantityDeltas, costDeltas, trades);
+    }
+
+    private static void fail(BatchOrderDto batch, OrderResultDto result, Error error, String detail) {
+        result.setCode(error.getCode());
+        result.setMessage(detail == null ? error.getMessage() : error.getMessage() + ": " + detail);
+        batch.setFailed(batch.getFailed() + 1);
+    }
+
+    private record BatchResult(BatchOrderDto batch, Map<Long, Double> cashDeltas, Map<Long, Integer> quantityDeltas,
+            Map<Long, Double> costDeltas, List<Trade> trades) {
+    }
+
+    // 체결 대금과 보유 내역 취득 원가의 증감분, 체결 이력
+    private record Execution(double amount, double cost, Trade trade) {
+    }
+
+    // 평균 단가 기준으로 매도 수량만큼의 원가 (전량 매도면 남은 원가 전부)
+    private static double soldCost(double costBasis, int held, int sold) {
+        return sold == held ? costBasis : costBasis * sold / held;
+    }
+
+    // 매수 대금 반환 (트랜잭션 안에서 실행)
+    private Execution buy(String playerId, StockOrder order) {
+        Player player = playerRepository.findById(playerId).orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
+        Stock stock = stockCatalog.getReference(order.getStockId()).orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
+
+        double stockPrice = priceBook.getPrice(stock.getId());
+        double amount = order.getStockQuantity() * stockPrice;
 
         logger.info("Player money before purchase: {}", player.getPlayerMoney());
 
-        if (player.getPlayerMoney() - order.getStockQuantity() * stock.getStockPrice() >= 0) {
-            double playerMoney = player.getPlayerMoney() - order.getStockQuantity() * stock.getStockPrice();
+        if (player.getPlayerMoney() - amount >= 0) {
+            double playerMoney = player.getPlayerMoney() - amount;
             player.setPlayerMoney(playerMoney);
             logger.info("Player money after purchase: {}", player.getPlayerMoney());
         }
@@ -193,45 +488,51 @@ public class PlayerService {
             playerStock.setStock(stock);
             playerStock.setPlayer(player);
             playerStock.setQuantity(order.getStockQuantity());
+            playerStock.setCostBasis(amount);
 
             playerStockRepository.save(playerStock);
         }
         else {
             PlayerStock playerStock = optionalPlayerStock.get();
 
-            int stockQuantity = playerStock.getQuantity() + order.getStockQuantity();
-            playerStock.setQuantity(stockQuantity);
+            playerStock.setQuantity(playerStock.getQuantity() + order.getStockQuantity());
+            playerStock.setCostBasis(playerStock.getCostBasis() + amount);
 
             playerStockRepository.save(playerStock);
         }
-        return new Response();
+        Trade trade = tradeRepository.save(new Trade(playerId, stock.getId(), StockOrder.SIDE_BUY, order.getStockQuantity(),
+                stockPrice, System.currentTimeMillis()));
+        return new Execution(amount, amount, trade);
     }
 
-    @Transactional
-    public Response sellPlayerStock(StockOrder order) {
-        String playerId = sessionHandler.getPlayerId();
-
+    // 매도 대금 반환 (트랜잭션 안에서 실행)
+    private Execution sell(String playerId, StockOrder order) {
         Player player = playerRepository.findById(playerId).orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
-        Stock stock = stockRepository.findById(order.getStockId()).orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
+        Stock stock = stockCatalog.getReference(order.getStockId()).orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
 
         PlayerStock playerStock = playerStockRepository.findByPlayerAndStock(player, stock)
                 .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Player does not own this stock"));
 
-        if (playerStock.getQuantity() < order.getStockQuantity()) {
+        int remainingQuantity = playerStock.getQuantity() - order.getStockQuantity();
+        if (remainingQuantity < 0) {
             throw new ResponseException(Error.INSUFFICIENT_QUANTITY);
         }
-        else if (playerStock.getQuantity() == order.getStockQuantity()) {
+        double soldCost = soldCost(playerStock.getCostBasis(), playerStock.getQuantity(), order.getStockQuantity());
+        if (remainingQuantity == 0) {
             playerStockRepository.delete(playerStock);
         }
         else {
-            playerStock.setQuantity(playerStock.getQuantity() - order.getStockQuantity());
+            playerStock.setQuantity(remainingQuantity);
+            playerStock.setCostBasis(playerStock.getCostBasis() - soldCost);
             playerStockRepository.save(playerStock);
         }
 
-        double playerMoney = player.getPlayerMoney() + order.getStockQuantity() * stock.getStockPrice();
-        player.setPlayerMoney(playerMoney);
-
-        return new Response();
+        double stockPrice = priceBook.getPrice(stock.getId());
+        double amount = order.getStockQuantity() * stockPrice;
+        player.setPlayerMoney(player.getPlayerMoney() + amount);
+        Trade trade = tradeRepository.save(new Trade(playerId, stock.getId(), StockOrder.SIDE_SELL, order.getStockQuantity(),
+                stockPrice, System.currentTimeMillis()));
+        return new Execution(amount, -soldCost, trade);
     }
 
 }
@@ -0,0 +1,104 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.tools.StripedLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 플레이어 잔고/보유 주식을 바꾸는 작업을 플레이어 단위로 직렬화해 트랜잭션으로 실행합니다.
+ * 같은 플레이어의 주문은 잠금 줄무늬 하나로 순서대로 처리되고, 다른 플레이어의 주문은 병렬로 처리됩니다.
+ * 잠금 밖에서 들어오는 변경(체결 반영, 다른 인스턴스)은 Player/PlayerStock 의 @Version 으로 감지해
+ * 새 트랜잭션으로 maxAttempts 번까지 다시 시도합니다.
+ * 주문 체결(trade)은 SettlementFlusher 가 같은 보유 행을 먼저 INSERT 해 생기는 unique 키 충돌도 같은 방식으로 다시 시도합니다.
+ * journal 을 넘기면 변경을 flush 한 뒤 커밋 전에 같은 잠금 안에서 실행하므로, 저널 기록이 실패하면 거래도 롤백됩니다.
+ */
+@Slf4j
+@Component
+public class PlayerTradeExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLock locks;
+    private final int maxAttempts;
+    private final MetricsRecorder metricsRecorder;
+
+    public PlayerTradeExecutor(TransactionTemplate transactionTemplate, ApplicationProperties applicationProperties,
+            MetricsRecorder metricsRecorder) {
+        this.transactionTemplate = transactionTemplate;
+        this.metricsRecorder = metricsRecorder;
+        this.locks = new StripedLock(applicationProperties.getTrade().getLockStripes());
+        this.maxAttempts = Math.max(1, applicationProperties.getTrade().getMaxAttempts());
+    }
+
+    public <T> T execute(String playerId, Supplier<T> action) {
+        return execute(playerId, action, null);
+    }
+
+    public <T> T execute(String playerId, Supplier<T> action, Consumer<T> journal) {
+        return execute(playerId, action, journal, false);
+    }
+
+    // retryInserts: 매 시도마다 다시 읽고 새 엔티티를 만드는 작업만 true (같은 엔티티를 다시 저장하면 merge 로 남의 행을 덮어씀)
+    private <T> T execute(String playerId, Supplier<T> action, Consumer<T> journal, boolean retryInserts) {
+        Lock lock = locks.get(playerId);
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> {
+                        T result = action.get();
+                        if (journal != null) {
+                            status.flush(); // 버전 충돌은 저널에 쓰기 전에 드러나게 함
+                            journal.accept(result);
+                        }
+                        return result;
+                    });
+                } catch (ConcurrencyFailureException e) {
+                    backOff(playerId, attempt, e);
+                } catch (DataIntegrityViolationException e) {
+                    if (!retryInserts) {
+                        throw e;
+                    }
+                    // 다시 읽으면 먼저 들어간 행을 찾아 갱신함
+                    backOff(playerId, attempt, e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backOff(String playerId, int attempt, RuntimeException e) {
+        if (attempt >= maxAttempts) {
+            log.warn("PlayerTradeExecutor.execute: {} gave up after {} attempts", playerId, attempt);
+            throw new ResponseException(Error.TRADE_CONFLICT);
+        }
+        log.debug("PlayerTradeExecutor.execute: {} retry {} {}", playerId, attempt, e.getMessage());
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(1, attempt * 1_000_000L));
+    }
+
+    // 주문 체결용 execute: 거부된 주문을 오류 코드별로 셈
+    public <T> T trade(String playerId, Supplier<T> action) {
+        return trade(playerId, action, null);
+    }
+
+    public <T> T trade(String playerId, Supplier<T> action, Consumer<T> journal) {
+        try {
+            return execute(playerId, action, journal, true);
+        } catch (ResponseException e) {
+            metricsRecorder.rejected(e.getCode());
+            throw e;
+        }
+    }
+}
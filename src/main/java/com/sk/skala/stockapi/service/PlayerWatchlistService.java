@@ -8,8 +8,9 @@ import com.sk.skala.stockapi.data.table.PlayerWatchlist;
 import com.sk.skala.stockapi.exception.ResponseException;
 import com.sk.skala.stockapi.repository.PlayerRepository;
 import com.sk.skala.stockapi.repository.PlayerWatchlistRepository;
-import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.service.journal.TradeJournal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +23,11 @@ public class PlayerWatchlistService {
 
     private final PlayerWatchlistRepository playerWatchlistRepository;
     private final PlayerRepository playerRepository;
-    private final StockRepository stockRepository;
+    private final StockCatalog stockCatalog;
     private final SessionHandler sessionHandler;
+    private final PriceBook priceBook;
+    private final PriceStreamService priceStreamService;
+    private final TradeJournal tradeJournal;
 
     @Transactional
     public Response addStockToWatchlist(Long stockId) {
@@ -31,7 +35,7 @@ public class PlayerWatchlistService {
 
         Player player = playerRepository.findById(playerId)
                 .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Player not found"));
-        Stock stock = stockRepository.findById(stockId)
+        Stock stock = stockCatalog.getReference(stockId)
                 .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Stock not found"));
 
         Optional<PlayerWatchlist> existingWatchlist = playerWatchlistRepository.findByPlayer_PlayerIdAndStock_Id(playerId, stockId);
@@ -40,7 +44,15 @@ public class PlayerWatchlistService {
         }
 
         PlayerWatchlist playerWatchlist = new PlayerWatchlist(player, stock);
-        playerWatchlistRepository.save(playerWatchlist);
+        try {
+            // 동시에 같은 종목을 추가하면 (player_id, stock_id) 유니크 인덱스에서 걸림
+            playerWatchlistRepository.saveAndFlush(playerWatchlist);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseException(Error.DATA_DUPLICATED, "Stock already in watchlist");
+        }
+        // 커밋 전에 기록하므로 저널 기록이 실패하면 추가도 롤백됨
+        tradeJournal.watchAdded(playerId, stockId);
+        priceStreamService.updateWatchlist(playerId, stockId, true);
 
         return new Response();
     }
@@ -51,13 +63,16 @@ public class PlayerWatchlistService {
 
         Player player = playerRepository.findById(playerId)
                 .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Player not found"));
-        Stock stock = stockRepository.findById(stockId)
+        Stock stock = stockCatalog.getReference(stockId)
                 .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Stock not found"));
 
         PlayerWatchlist playerWatchlist = playerWatchlistRepository.findByPlayer_PlayerIdAndStock_Id(playerId, stockId)
                 .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Stock not found in watchlist"));
 
         playerWatchlistRepository.delete(playerWatchlist);
+        playerWatchlistRepository.flush();
+        tradeJournal.watchRemoved(playerId, stockId);
+        priceStreamService.updateWatchlist(playerId, stockId, false);
 
         return new Response();
     }
@@ -66,11 +81,8 @@ public class PlayerWatchlistService {
     public Response getWatchlist() {
         String playerId = sessionHandler.getPlayerId();
 
-        List<PlayerWatchlist> watchlist = playerWatchlistRepository.findByPlayer_PlayerId(playerId);
-
-        List<com.sk.skala.stockapi.data.dto.WatchlistDto> watchlistDto = watchlist.stream()
-                .map(com.sk.skala.stockapi.data.dto.WatchlistDto::new)
-                .collect(java.util.stream.Collectors.toList());
+        List<com.sk.skala.stockapi.data.dto.WatchlistDto> watchlistDto = playerWatchlistRepository.findDtosByPlayerId(playerId);
+        watchlistDto.forEach(dto -> dto.setStockPrice(priceBook.getPrice(dto.getStockId())));
 
         Response response = new Response();
         response.setBody(watchlistDto);
@@ -0,0 +1,148 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.dto.PortfolioDto;
+import com.sk.skala.stockapi.data.dto.PositionDto;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.PlayerStockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 플레이어별 포트폴리오 평가(종목별 평가 금액, 취득 원가, 평가 손익)를 캐시합니다.
+ * 보유 내역은 그 플레이어의 거래가 DB 에 반영되어 invalidate 될 때만 다시 읽고,
+ * 평가 금액은 보유 종목의 시세가 바뀔 때만 캐시된 보유 내역과 PriceBook 으로 다시 계산합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioService implements PriceTickListener {
+
+    private final PlayerRepository playerRepository;
+    private final PlayerStockRepository playerStockRepository;
+    private final PriceBook priceBook;
+
+    private final Map<String, Holdings> cache = new ConcurrentHashMap<>();
+    // 주식 id → 그 주식을 보유한 캐시된 플레이어
+    private final Map<Long, Set<String>> holders = new ConcurrentHashMap<>();
+
+    public PortfolioDto getPortfolio(String playerId) {
+        // 같은 키의 invalidate 는 읽는 동안 기다리므로, 읽기 전에 바뀐 내역이 캐시에 남지 않음
+        Holdings holdings = cache.computeIfAbsent(playerId, this::load);
+        PortfolioDto valuation = holdings.valuation;
+        if (valuation == null) {
+            int ticks = holdings.ticks;
+            valuation = holdings.value(priceBook);
+            synchronized (holdings) {
+                if (holdings.ticks == ticks) {
+                    holdings.valuation = valuation;
+                }
+            }
+        }
+        return valuation;
+    }
+
+    // 플레이어의 현금/보유 내역이 바뀐 뒤 호출
+    public void invalidate(String playerId) {
+        Holdings removed = cache.remove(playerId);
+        if (removed != null) {
+            for (Position position : removed.positions) {
+                holders.computeIfPresent(position.stockId, (stockId, players) -> {
+                    players.remove(playerId);
+                    return players.isEmpty() ? null : players;
+                });
+            }
+        }
+    }
+
+    // 주식 이름 변경 등 보유 내역 밖의 정보가 바뀐 경우
+    public void invalidateStock(long stockId) {
+        Set<String> players = holders.get(stockId);
+        if (players != null) {
+            new ArrayList<>(players).forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        for (long stockId : tick.getStockIds()) {
+            Set<String> players = holders.get(stockId);
+            if (players == null) {
+                continue;
+            }
+            for (String playerId : players) {
+                Holdings holdings = cache.get(playerId);
+                if (holdings != null) {
+                    synchronized (holdings) {
+                        holdings.ticks++;
+                        holdings.valuation = null;
+                    }
+                }
+            }
+        }
+    }
+
+    private Holdings load(String playerId) {
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Player not found"));
+        List<Position> positions = new ArrayList<>();
+        playerStockRepository.findViewsByPlayerId(playerId).forEach(view -> positions.add(new Position(
+                view.getStockId(), view.getStockName(), view.getQuantity(), view.getCostBasis())));
+        for (Position position : positions) {
+            holders.computeIfAbsent(position.stockId, stockId -> ConcurrentHashMap.newKeySet()).add(playerId);
+        }
+        return new Holdings(playerId, player.getPlayerMoney(), positions);
+    }
+
+    private record Position(long stockId, String stockName, int quantity, double costBasis) {
+    }
+
+    private static class Holdings {
+        private final String playerId;
+        private final double playerMoney;
+        private final List<Position> positions;
+        private volatile PortfolioDto valuation; // null 이면 다시 계산
+        private volatile int ticks; // 계산 중에 시세가 바뀌었는지 확인하는 용도
+
+        private Holdings(String playerId, double playerMoney, List<Position> positions) {
+            this.playerId = playerId;
+            this.playerMoney = playerMoney;
+            this.positions = positions;
+        }
+
+        private PortfolioDto value(PriceBook priceBook) {
+            List<PositionDto> positionDtos = new ArrayList<>(positions.size());
+            double marketValue = 0;
+            double costBasis = 0;
+            for (Position position : positions) {
+                double price = priceBook.getPrice(position.stockId);
+                double value = Double.isNaN(price) ? 0 : price * position.quantity;
+                double pnl = value - position.costBasis;
+                positionDtos.add(PositionDto.builder().stockId(position.stockId).stockName(position.stockName)
+                        .quantity(position.quantity).stockPrice(Double.isNaN(price) ? null : price)
+                        .averagePrice(position.quantity == 0 ? 0 : position.costBasis / position.quantity)
+                        .marketValue(value).costBasis(position.costBasis).unrealizedPnl(pnl)
+                        .unrealizedPnlRate(rate(pnl, position.costBasis)).build());
+                marketValue += value;
+                costBasis += position.costBasis;
+            }
+            double pnl = marketValue - costBasis;
+            return PortfolioDto.builder().playerId(playerId).playerMoney(playerMoney).marketValue(marketValue)
+                    .costBasis(costBasis).unrealizedPnl(pnl).unrealizedPnlRate(rate(pnl, costBasis))
+                    .totalValue(playerMoney + marketValue).positions(positionDtos).valuedAt(System.currentTimeMillis())
+                    .build();
+        }
+
+        private static double rate(double pnl, double costBasis) {
+            return costBasis > 0 ? pnl / costBasis : 0;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.repository.StockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 주식 id 를 인덱스로 하는 기본형 배열 시세표입니다.
+ * 현재가 조회의 기준이며, 변경된 가격은 PriceBookFlusher 가 주기적으로 DB 에 반영합니다.
+ * 읽기는 잠금 없이, 쓰기는 this 로 직렬화합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PriceBook {
+
+    private static final long EMPTY = 0L; // 가격은 항상 0 보다 크므로 0.0 의 비트값을 빈 칸으로 사용
+
+    private final StockRepository stockRepository;
+
+    // Double.doubleToRawLongBits 값 (배열이 커질 때만 교체)
+    private volatile AtomicLongArray prices = new AtomicLongArray(64);
+
+    // 아래 상태는 this 로 보호됩니다.
+    private final BitSet present = new BitSet();
+    private BitSet dirty = new BitSet();
+
+    // 다른 빈이 시세를 읽기 전에 적재
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        int count = 0;
+        for (Stock stock : stockRepository.findAll()) {
+            putPrice(stock.getId(), stock.getStockPrice());
+            count++;
+        }
+        log.info("PriceBook.load: {} stocks", count);
+    }
+
+    // 현재가, 없으면 NaN
+    public double getPrice(long stockId) {
+        AtomicLongArray current = prices;
+        long bits = stockId >= 0 && stockId < current.length() ? current.get((int) stockId) : EMPTY;
+        return bits == EMPTY ? Double.NaN : Double.longBitsToDouble(bits);
+    }
+
+    public boolean contains(long stockId) {
+        return !Double.isNaN(getPrice(stockId));
+    }
+
+    // 엔티티 가격을 현재가로 덮어씀 (영속 상태가 아닌 엔티티에만 사용)
+    public Stock applyPrice(Stock stock) {
+        double price = getPrice(stock.getId());
+        if (!Double.isNaN(price)) {
+            stock.setStockPrice(price);
+        }
+        return stock;
+    }
+
+    public synchronized long[] getStockIds() {
+        long[] stockIds = new long[present.cardinality()];
+        int i = 0;
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1)) {
+            stockIds[i++] = id;
+        }
+        return stockIds;
+    }
+
+    // 이미 DB 에 저장된 가격 반영 (쓰기 지연 대상 아님)
+    public synchronized void putPrice(long stockId, double price) {
+        store(stockId, price);
+        dirty.clear((int) stockId);
+    }
+
+    // 시세 변경 반영, 다음 flush 때 DB 에 저장
+    public synchronized void setPrices(PriceTick tick) {
+        long[] stockIds = tick.getStockIds();
+        double[] newPrices = tick.getPrices();
+        for (int i = 0; i < stockIds.length; i++) {
+            if (present.get((int) stockIds[i])) {
+                store(stockIds[i], newPrices[i]);
+                dirty.set((int) stockIds[i]);
+            }
+        }
+    }
+
+    public synchronized void remove(long stockId) {
+        if (stockId >= 0 && stockId < prices.length()) {
+            prices.set((int) stockId, EMPTY);
+            present.clear((int) stockId);
+            dirty.clear((int) stockId);
+        }
+    }
+
+    // flush 대상 가격을 꺼내고 변경 표시를 초기화
+    public synchronized PriceTick drainDirty() {
+        BitSet drained = dirty;
+        dirty = new BitSet();
+
+        long[] stockIds = new long[drained.cardinality()];
+        double[] values = new double[stockIds.length];
+        int i = 0;
+        for (int id = drained.nextSetBit(0); id >= 0; id = drained.nextSetBit(id + 1)) {
+            stockIds[i] = id;
+            values[i] = Double.longBitsToDouble(prices.get(id));
+            i++;
+        }
+        return new PriceTick(System.currentTimeMillis(), stockIds, values);
+    }
+
+    // flush 실패 시 다시 변경 표시 (그 사이 삭제된 주식은 제외)
+    public synchronized void markDirty(long[] stockIds) {
+        for (long stockId : stockIds) {
+            if (present.get((int) stockId)) {
+                dirty.set((int) stockId);
+            }
+        }
+    }
+
+    private void store(long stockId, double price) {
+        if (stockId < 0 || stockId > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("stockId out of range: " + stockId);
+        }
+        AtomicLongArray current = prices;
+        if (stockId >= current.length()) {
+            long[] grown = new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(stockId + 1, current.length() * 2L))];
+            for (int i = 0; i < current.length(); i++) {
+                grown[i] = current.get(i);
+            }
+            current = new AtomicLongArray(grown);
+            prices = current;
+        }
+        current.set((int) stockId, Double.doubleToRawLongBits(price));
+        present.set((int) stockId);
+    }
+}
@@ -0,0 +1,56 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PriceBook 에서 바뀐 가격만 모아 JDBC 배치 UPDATE 로 Stock 테이블에 반영합니다. (write-behind)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceBookFlusher {
+
+    private static final String UPDATE_PRICE = "update stock set stock_price = ? where id = ?";
+    private static final int BATCH_SIZE = 500;
+
+    private final PriceBook priceBook;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(fixedDelayString = "${application.price.flush-millis:5000}")
+    public synchronized void flush() {
+        PriceTick changed = priceBook.drainDirty();
+        if (changed.size() == 0) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(changed.size());
+        for (int i = 0; i < changed.size(); i++) {
+            args.add(new Object[] { changed.getPrices()[i], changed.getStockIds()[i] });
+        }
+
+        try {
+            for (int from = 0; from < args.size(); from += BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(UPDATE_PRICE, args.subList(from, Math.min(args.size(), from + BATCH_SIZE)));
+            }
+            log.debug("PriceBookFlusher.flush: {} stocks", changed.size());
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도
+            priceBook.markDirty(changed.getStockIds());
+            log.error("PriceBookFlusher.flush: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,234 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.dto.CandleDto;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.dto.TickDto;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.tools.MappedTickFile;
+import com.sk.skala.stockapi.tools.StringTool;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목별 시세 이력을 고정 크기 링 버퍼에 보관하고, 틱이 들어올 때마다 1분/5분/1시간 봉을 증분 집계합니다.
+ * 링 버퍼에서 밀려난 틱은 spillDir 이 지정된 경우 종목별 메모리 매핑 파일에 이어 씁니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryService implements PriceTickListener {
+
+    private static final Map<String, Long> INTERVALS = new LinkedHashMap<>();
+
+    static {
+        INTERVALS.put("1m", 60L * 1000);
+        INTERVALS.put("5m", 5L * 60 * 1000);
+        INTERVALS.put("1h", 60L * 60 * 1000);
+    }
+
+    private final ApplicationProperties applicationProperties;
+    private final PriceBook priceBook;
+
+    private final Map<Long, StockHistory> histories = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        for (int i = 0; i < tick.size(); i++) {
+            histories.computeIfAbsent(tick.getStockIds()[i], this::newStockHistory)
+                    .add(tick.getTimestamp(), tick.getPrices()[i]);
+        }
+    }
+
+    // 최근 limit 개 봉 (오래된 것 → 최신 순)
+    public List<CandleDto> getCandles(long stockId, String interval, int limit) {
+        if (!INTERVALS.containsKey(interval) || limit <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "interval, limit");
+        }
+        if (!priceBook.contains(stockId)) {
+            throw new ResponseException(Error.DATA_NOT_FOUND, "Stock not found");
+        }
+
+        StockHistory history = histories.get(stockId);
+        if (history == null) {
+            return new ArrayList<>();
+        }
+        return history.getCandles(interval, limit);
+    }
+
+    // 메모리에 남아 있는 최근 limit 개 틱 (오래된 것 → 최신 순)
+    public List<TickDto> getTicks(long stockId, int limit) {
+        if (limit <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "limit");
+        }
+        if (!priceBook.contains(stockId)) {
+            throw new ResponseException(Error.DATA_NOT_FOUND, "Stock not found");
+        }
+
+        StockHistory history = histories.get(stockId);
+        if (history == null) {
+            return new ArrayList<>();
+        }
+        return history.getTicks(limit);
+    }
+
+    @PreDestroy
+    public void close() {
+        histories.values().forEach(StockHistory::close);
+    }
+
+    private StockHistory newStockHistory(long stockId) {
+        ApplicationProperties.History config = applicationProperties.getHistory();
+
+        MappedTickFile spill = null;
+        if (!StringTool.isEmpty(config.getSpillDir())) {
+            try {
+                Path dir = Files.createDirectories(Path.of(config.getSpillDir()));
+                spill = new MappedTickFile(dir.resolve("ticks-" + stockId + ".bin"), config.getSpillSegmentBytes());
+            } catch (IOException e) {
+                log.error("PriceHistoryService.newStockHistory: {} {}", stockId, e.getMessage());
+            }
+        }
+        return new StockHistory(stockId, config.getTickCapacity(), config.getCandleCapacity(), spill);
+    }
+
+    private static class StockHistory {
+        private final long stockId;
+        private final long[] tickTimes;
+        private final double[] tickPrices;
+        private int tickHead; // 다음에 쓸 위치
+        private int tickCount;
+        private final Map<String, CandleSeries> candles = new LinkedHashMap<>();
+        private MappedTickFile spill;
+
+        private StockHistory(long stockId, int tickCapacity, int candleCapacity, MappedTickFile spill) {
+            this.stockId = stockId;
+            this.tickTimes = new long[tickCapacity];
+            this.tickPrices = new double[tickCapacity];
+            this.spill = spill;
+            INTERVALS.forEach((name, millis) -> candles.put(name, new CandleSeries(millis, candleCapacity)));
+        }
+
+        private synchronized void add(long timestamp, double price) {
+            if (tickCount == tickTimes.length) {
+                spill(tickTimes[tickHead], tickPrices[tickHead]);
+            }
+            else {
+                tickCount++;
+            }
+            tickTimes[tickHead] = timestamp;
+            tickPrices[tickHead] = price;
+            tickHead = (tickHead + 1) % tickTimes.length;
+
+            for (CandleSeries series : candles.values()) {
+                series.add(timestamp, price);
+            }
+        }
+
+        private synchronized List<TickDto> getTicks(int limit) {
+            int size = Math.min(limit, tickCount);
+            List<TickDto> list = new ArrayList<>(size);
+            for (int i = size; i > 0; i--) {
+                int index = Math.floorMod(tickHead - i, tickTimes.length);
+                list.add(new TickDto(tickTimes[index], tickPrices[index]));
+            }
+            return list;
+        }
+
+        private synchronized List<CandleDto> getCandles(String interval, int limit) {
+            return candles.get(interval).toList(limit);
+        }
+
+        private void spill(long timestamp, double price) {
+            if (spill == null) {
+                return;
+            }
+            try {
+                spill.append(timestamp, price);
+            } catch (IOException e) {
+                log.error("PriceHistoryService.spill: {} {}", stockId, e.getMessage());
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            if (spill != null) {
+                try {
+                    spill.close();
+                } catch (IOException e) {
+                    log.error("PriceHistoryService.close: {} {}", stockId, e.getMessage());
+                }
+                spill = null;
+            }
+        }
+    }
+
+    // 봉 하나를 열 단위 배열의 한 칸으로 보관하는 링 버퍼
+    private static class CandleSeries {
+        private final long intervalMillis;
+        private final long[] times;
+        private final double[] opens;
+        private final double[] highs;
+        private final double[] lows;
+        private final double[] closes;
+        private int last = -1; // 현재(가장 최신) 봉 위치
+        private int count;
+
+        private CandleSeries(long intervalMillis, int capacity) {
+            this.intervalMillis = intervalMillis;
+            this.times = new long[capacity];
+            this.opens = new double[capacity];
+            this.highs = new double[capacity];
+            this.lows = new double[capacity];
+            this.closes = new double[capacity];
+        }
+
+        private void add(long timestamp, double price) {
+            long start = timestamp - timestamp % intervalMillis;
+            if (count > 0 && times[last] == start) {
+                highs[last] = Math.max(highs[last], price);
+                lows[last] = Math.min(lows[last], price);
+                closes[last] = price;
+                return;
+            }
+            if (count > 0 && start < times[last]) {
+                return; // 순서가 뒤바뀐 틱은 무시
+            }
+            last = (last + 1) % times.length;
+            count = Math.min(count + 1, times.length);
+            times[last] = start;
+            opens[last] = price;
+            highs[last] = price;
+            lows[last] = price;
+            closes[last] = price;
+        }
+
+        private List<CandleDto> toList(int limit) {
+            int size = Math.min(limit, count);
+            List<CandleDto> list = new ArrayList<>(size);
+            for (int i = size - 1; i >= 0; i--) {
+                int index = Math.floorMod(last - i, times.length);
+                CandleDto candle = new CandleDto();
+                candle.setTime(times[index]);
+                candle.setOpen(opens[index]);
+                candle.setHigh(highs[index]);
+                candle.setLow(lows[index]);
+                candle.setClose(closes[index]);
+                list.add(candle);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.dto.StockPriceDto;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.repository.PlayerWatchlistRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 시세 변경분을 SSE 로 구독자에게 전송합니다.
+ * 구독자마다 주식별 최신 가격만 남기는 대기 맵을 두어, 느린 구독자는 중간 가격을 건너뛰고
+ * 최신 가격만 받습니다. 전송은 별도 스레드 풀에서 하므로 시세 갱신 스레드는 막히지 않습니다.
+ */
+@Slf4j
+@Service
+public class PriceStreamService implements PriceTickListener {
+
+    public static final String SCOPE_ALL = "all";
+    public static final String SCOPE_WATCHLIST = "watchlist";
+
+    private final PriceBook priceBook;
+    private final PlayerWatchlistRepository playerWatchlistRepository;
+    private final SessionHandler sessionHandler;
+    private final ApplicationProperties applicationProperties;
+    private final ExecutorService sender;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public PriceStreamService(PriceBook priceBook, PlayerWatchlistRepository playerWatchlistRepository,
+            SessionHandler sessionHandler, ApplicationProperties applicationProperties) {
+        this.priceBook = priceBook;
+        this.playerWatchlistRepository = playerWatchlistRepository;
+        this.sessionHandler = sessionHandler;
+        this.applicationProperties = applicationProperties;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(applicationProperties.getStream().getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "price-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 구독 시작: 현재가를 먼저 보내고 이후 변경분만 전송
+    public SseEmitter subscribe(String scope) {
+        Set<Long> filter;
+        String playerId = null;
+        if (SCOPE_ALL.equals(scope)) {
+            filter = null;
+        }
+        else if (SCOPE_WATCHLIST.equals(scope)) {
+            playerId = sessionHandler.getPlayerId();
+            filter = ConcurrentHashMap.newKeySet();
+            filter.addAll(playerWatchlistRepository.findStockIdsByPlayerId(playerId));
+        }
+        else {
+            throw new ResponseException(Error.INVALID_PARAMETER, "scope");
+        }
+
+        SseEmitter emitter = new SseEmitter(applicationProperties.getStream().getTimeoutMillis());
+        Subscriber subscriber = new Subscriber(emitter, playerId, filter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        for (long stockId : priceBook.getStockIds()) {
+            if (subscriber.accepts(stockId)) {
+                subscriber.pending.put(stockId, priceBook.getPrice(stockId));
+            }
+        }
+        schedule(subscriber);
+
+        return emitter;
+    }
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        for (Subscriber subscriber : subscribers) {
+            boolean changed = false;
+            for (int i = 0; i < tick.size(); i++) {
+                if (subscriber.accepts(tick.getStockIds()[i])) {
+                    subscriber.pending.put(tick.getStockIds()[i], tick.getPrices()[i]);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // 관심 종목 변경을 해당 플레이어의 구독에 반영
+    public void updateWatchlist(String playerId, long stockId, boolean watched) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter != null && playerId.equals(subscriber.playerId)) {
+                if (watched) {
+                    subscriber.filter.add(stockId);
+                }
+                else {
+                    subscriber.filter.remove(stockId);
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    // 구독자당 전송 작업은 최대 하나만 대기/실행
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            List<StockPriceDto> prices = new ArrayList<>(subscriber.pending.size());
+            for (Map.Entry<Long, Double> entry : subscriber.pending.entrySet()) {
+                Double price = subscriber.pending.remove(entry.getKey());
+                if (price != null) {
+                    prices.add(new StockPriceDto(entry.getKey(), price));
+                }
+            }
+            if (!prices.isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().name("price").data(prices));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("PriceStreamService.drain: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.pending.clear();
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // 전송 중에 쌓인 변경분이 있으면 다시 예약
+        if (!subscriber.pending.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final String playerId;
+        private final Set<Long> filter; // null 이면 전체 종목
+        private final Map<Long, Double> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String playerId, Set<Long> filter) {
+            this.emitter = emitter;
+            this.playerId = playerId;
+            this.filter = filter;
+        }
+
+        private boolean accepts(long stockId) {
+            return filter == null || filter.contains(stockId);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.data.dto.PriceTick;
+
+/**
+ * 시세 갱신 알림을 받는 빈이 구현합니다.
+ * 시세 갱신 스레드에서 호출되므로 오래 걸리는 작업은 별도 스레드로 넘겨야 합니다.
+ */
+public interface PriceTickListener {
+
+    void onPriceTick(PriceTick tick);
+}
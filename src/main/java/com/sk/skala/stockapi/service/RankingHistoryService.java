@@ -0,0 +1,224 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.common.PagedList;
+import com.sk.skala.stockapi.data.dto.RankingHistoryDto;
+import com.sk.skala.stockapi.data.dto.WindowRankingDto;
+import com.sk.skala.stockapi.exception.ResponseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 순위 스냅샷을 주기적으로 저장하고 기간별(일간/주간) 순위를 계산합니다.
+ * 최근 스냅샷은 주기 그대로, 오래된 스냅샷은 archiveMillis 간격으로 솎아 보관하므로
+ * 메모리 사용량은 (recentSnapshots + archiveSnapshots) 개 스냅샷으로 제한됩니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RankingHistoryService {
+
+    private static final Map<String, Long> PERIODS = Map.of(
+            "day", 24L * 60 * 60 * 1000,
+            "week", 7L * 24 * 60 * 60 * 1000);
+
+    private final RankingService rankingService;
+    private final ApplicationProperties applicationProperties;
+
+    // 아래 상태는 모두 this 로 보호됩니다. (오래된 것 → 최신 순)
+    private final Deque<RankingSnapshot> recent = new ArrayDeque<>();
+    private final Deque<RankingSnapshot> archive = new ArrayDeque<>();
+    private final Map<String, WindowRanking> windowCache = new HashMap<>();
+
+    @Scheduled(fixedRateString = "${application.ranking.snapshot-millis:60000}",
+            initialDelayString = "${application.ranking.snapshot-millis:60000}")
+    public void takeSnapshot() {
+        addSnapshot(rankingService.captureSnapshot());
+    }
+
+    public synchronized void addSnapshot(RankingSnapshot snapshot) {
+        ApplicationProperties.Ranking config = applicationProperties.getRanking();
+
+        recent.addLast(snapshot);
+        while (recent.size() > config.getRecentSnapshots()) {
+            RankingSnapshot evicted = recent.removeFirst();
+            // 마지막 보관본과 archiveMillis 이상 차이 나는 것만 남기고 버림
+            if (archive.isEmpty() || evicted.getTimestamp() - archive.getLast().getTimestamp() >= config.getArchiveMillis()) {
+                archive.addLast(evicted);
+            }
+        }
+        while (archive.size() > config.getArchiveSnapshots()) {
+            archive.removeFirst();
+        }
+        dropRemovedPlayers();
+        windowCache.clear();
+    }
+
+    // 삭제된 플레이어를 보관 스냅샷에서 지운 뒤에야 그 인덱스를 재사용하게 함
+    private void dropRemovedPlayers() {
+        int[] removed = rankingService.getRetiredIndexes();
+        if (removed.length == 0) {
+            return;
+        }
+        replaceAll(recent, removed);
+        replaceAll(archive, removed);
+        rankingService.releaseIndexes(removed);
+    }
+
+    private static void replaceAll(Deque<RankingSnapshot> snapshots, int[] removed) {
+        int count = snapshots.size();
+        for (int i = 0; i < count; i++) {
+            snapshots.addLast(snapshots.removeFirst().withoutPlayers(removed));
+        }
+    }
+
+    // 기간 내 수익률 변화량 기준 순위 (가장 최근 스냅샷 기준)
+    public PagedList getWindowRanking(String period, int offset, int limit) {
+        long window = toWindowMillis(period);
+        if (offset < 0 || limit <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "offset, limit");
+        }
+
+        WindowRanking ranking;
+        synchronized (this) {
+            ranking = windowCache.computeIfAbsent(period, key -> computeWindowRanking(window));
+        }
+
+        List<WindowRankingDto> list = new ArrayList<>();
+        int end = (int) Math.min(ranking.size(), (long) offset + limit);
+        for (int i = offset; i < end; i++) {
+            list.add(ranking.toDto(i, rankingService.getPlayerId(ranking.playerIndexes[i])));
+        }
+
+        PagedList pagedList = new PagedList();
+        pagedList.setTotal(ranking.size());
+        pagedList.setCount(list.size());
+        pagedList.setOffset(offset);
+        pagedList.setList(list);
+        return pagedList;
+    }
+
+    // 기간 내 플레이어의 순위 변화
+    public List<RankingHistoryDto> getPlayerHistory(String playerId, String period) {
+        long from = System.currentTimeMillis() - toWindowMillis(period);
+        int playerIndex = rankingService.getPlayerIndex(playerId);
+        if (playerIndex < 0) {
+            throw new ResponseException(Error.DATA_NOT_FOUND, "Player not found");
+        }
+
+        List<RankingHistoryDto> history = new ArrayList<>();
+        for (RankingSnapshot snapshot : getSnapshots()) {
+            int rank = snapshot.rankOf(playerIndex);
+            if (snapshot.getTimestamp() < from || rank == 0) {
+                continue;
+            }
+            RankingHistoryDto dto = new RankingHistoryDto();
+            dto.setTimestamp(snapshot.getTimestamp());
+            dto.setRank(rank);
+            dto.setTotalAssets(snapshot.getTotalAssets()[rank - 1]);
+            dto.setProfitRate(snapshot.getProfitRates()[rank - 1]);
+            history.add(dto);
+        }
+        return history;
+    }
+
+    private synchronized List<RankingSnapshot> getSnapshots() {
+        List<RankingSnapshot> snapshots = new ArrayList<>(archive.size() + recent.size());
+        snapshots.addAll(archive);
+        snapshots.addAll(recent);
+        return snapshots;
+    }
+
+    private WindowRanking computeWindowRanking(long window) {
+        List<RankingSnapshot> snapshots = getSnapshots();
+        if (snapshots.isEmpty()) {
+            return new WindowRanking(new int[0], new double[0], new double[0], new double[0], new double[0]);
+        }
+
+        RankingSnapshot latest = snapshots.get(snapshots.size() - 1);
+        // 기간 시작 시점 이전의 마지막 스냅샷, 없으면 가장 오래된 스냅샷
+        RankingSnapshot base = snapshots.get(0);
+        for (RankingSnapshot snapshot : snapshots) {
+            if (snapshot.getTimestamp() > latest.getTimestamp() - window) {
+                break;
+            }
+            base = snapshot;
+        }
+
+        double[] rateChanges = new double[latest.size()];
+        double[] assetsChanges = new double[latest.size()];
+        List<Integer> order = new ArrayList<>(latest.size());
+        for (int i = 0; i < latest.size(); i++) {
+            if (latest.getPlayerIndexes()[i] < 0) {
+                continue;
+            }
+            int baseRank = base.rankOf(latest.getPlayerIndexes()[i]);
+            // 기간 중 새로 생긴 플레이어는 초기 자본(수익률 0) 기준
+            double baseRate = baseRank > 0 ? base.getProfitRates()[baseRank - 1] : 0;
+            double baseAssets = baseRank > 0 ? base.getTotalAssets()[baseRank - 1]
+                    : initialAssets(latest.getTotalAssets()[i], latest.getProfitRates()[i]);
+            rateChanges[i] = latest.getProfitRates()[i] - baseRate;
+            assetsChanges[i] = latest.getTotalAssets()[i] - baseAssets;
+            order.add(i);
+        }
+        // 스냅샷은 이미 현재 순위 순이므로 안정 정렬로 동률 시 현재 순위를 유지
+        order.sort(Comparator.comparingDouble((Integer i) -> rateChanges[i]).reversed());
+
+        int size = order.size();
+        int[] playerIndexes = new int[size];
+        double[] profitRates = new double[size];
+        double[] totalAssets = new double[size];
+        double[] sortedRateChanges = new double[size];
+        double[] sortedAssetsChanges = new double[size];
+        for (int i = 0; i < size; i++) {
+            int from = order.get(i);
+            playerIndexes[i] = latest.getPlayerIndexes()[from];
+            profitRates[i] = latest.getProfitRates()[from];
+            totalAssets[i] = latest.getTotalAssets()[from];
+            sortedRateChanges[i] = rateChanges[from];
+            sortedAssetsChanges[i] = assetsChanges[from];
+        }
+        return new WindowRanking(playerIndexes, profitRates, totalAssets, sortedRateChanges, sortedAssetsChanges);
+    }
+
+    // 총자산과 수익률로 초기 자본을 역산
+    private static double initialAssets(double totalAssets, double profitRate) {
+        return profitRate > -1 ? totalAssets / (1 + profitRate) : 0;
+    }
+
+    private static long toWindowMillis(String period) {
+        Long window = PERIODS.get(period);
+        if (window == null) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "period");
+        }
+        return window;
+    }
+
+    private record WindowRanking(int[] playerIndexes, double[] profitRates, double[] totalAssets,
+            double[] profitRateChanges, double[] totalAssetsChanges) {
+
+        int size() {
+            return playerIndexes.length;
+        }
+
+        WindowRankingDto toDto(int i, String playerId) {
+            WindowRankingDto dto = new WindowRankingDto();
+            dto.setRank(i + 1);
+            dto.setPlayerId(playerId);
+            dto.setProfitRate(profitRates[i]);
+            dto.setTotalAssets(totalAssets[i]);
+            dto.setProfitRateChange(profitRateChanges[i]);
+            dto.setTotalAssetsChange(totalAssetsChanges[i]);
+            return dto;
+        }
+    }
+}
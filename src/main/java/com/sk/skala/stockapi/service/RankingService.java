@@ -1,59 +1,416 @@
 package com.sk.skala.stockapi.service;
 
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.common.PagedList;
+import com.sk.skala.stockapi.data.dto.PriceTick;
 import com.sk.skala.stockapi.data.dto.RankingDto;
+import com.sk.skala.stockapi.data.projection.HoldingView;
 import com.sk.skala.stockapi.data.table.Player;
-import com.sk.skala.stockapi.data.table.PlayerStock;
+import com.sk.skala.stockapi.exception.ResponseException;
 import com.sk.skala.stockapi.repository.PlayerRepository;
 import com.sk.skala.stockapi.repository.PlayerStockRepository;
+import com.sk.skala.stockapi.tools.RankTree;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * 플레이어 순위를 메모리에서 증분 관리합니다.
+ * 매수/매도, 주가 변동 시점에 영향을 받는 플레이어만 재평가하고,
+ * 수익률 순으로 정렬된 순위 트리에서 상위 k 명/개별 순위를 O(log n + k) 로 조회합니다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class RankingService {
+public class RankingService implements PriceTickListener {
+
+    // 수익률 내림차순, 동률이면 playerId 오름차순
+    private static final Comparator<PlayerAssets> RANKING_ORDER = Comparator
+            .comparingDouble((PlayerAssets assets) -> assets.profitRate).reversed()
+            .thenComparing(assets -> assets.playerId);
 
     private final PlayerRepository playerRepository;
     private final PlayerStockRepository playerStockRepository;
+    private final PriceBook priceBook;
+    private final MetricsRecorder metricsRecorder;
+
+    // 아래 상태는 모두 lock 으로 보호됩니다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PlayerAssets> players = new HashMap<>();
+    private final Map<Long, Set<String>> holders = new HashMap<>();
+    private final RankTree<PlayerAssets> rankTree = new RankTree<>(RANKING_ORDER);
+
+    // 스냅샷용 플레이어 정수 인덱스
+    // 삭제된 플레이어의 인덱스는 retired 에 두었다가 RankingHistoryService 가 보관 스냅샷에서 지운 뒤 재사용
+    private final Map<String, Integer> playerIndexes = new HashMap<>();
+    private final List<String> playerIds = new ArrayList<>();
+    private final List<Integer> retiredIndexes = new ArrayList<>();
+    private final Deque<Integer> freeIndexes = new ArrayDeque<>();
 
+    // 전체 순위 목록 캐시, 순위가 바뀌면 쓰기 잠금 안에서 null 로 비움
+    private volatile List<RankingDto> fullRanking;
+
+    // 기동 시 한 번만 DB 전체를 읽어 초기 상태를 구성
     @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            players.clear();
+            holders.clear();
+            rankTree.clear();
+            fullRanking = null;
+
+            for (Player player : playerRepository.findAll()) {
+                players.put(player.getPlayerId(), newPlayerAssets(player.getPlayerId(), player.getPlayerMoney(),
+                        player.getInitialMoney()));
+            }
+            // 엔티티와 프록시를 만들지 않고 외래 키 값만 읽음
+            for (HoldingView holding : playerStockRepository.findAllHoldings()) {
+                PlayerAssets assets = players.get(holding.getPlayerId());
+                if (assets != null) {
+                    setHolding(assets, holding.getStockId(), holding.getQuantity());
+                }
+            }
+            players.values().forEach(this::revalue);
+
+            log.info("RankingService.load: {} players", players.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 전체 순위 조회 (DB 접근 없음), 순위가 바뀌지 않았으면 캐시한 목록을 그대로 반환
     public List<RankingDto> getRanking() {
-        List<Player> players = playerRepository.findAll();
-        List<PlayerStock> playerStocks = playerStockRepository.findAll();
+        List<RankingDto> rankings = fullRanking;
+        if (rankings != null) {
+            return rankings;
+        }
 
-        List<RankingDto> rankings = new ArrayList<>();
-        for (Player player : players) {
-            double stockAssets = playerStocks.stream()
-                    .filter(ps -> ps.getPlayer().getPlayerId().equals(player.getPlayerId()))
-                    .mapToDouble(ps -> ps.getQuantity() * ps.getStock().getStockPrice())
-                    .sum();
+        lock.readLock().lock();
+        try {
+            // 읽기 잠금 동안에는 비워지지 않으므로 동시에 만든 목록 중 어느 것을 남겨도 같음
+            rankings = Collections.unmodifiableList(toRankingList(0, rankTree.size()));
+            fullRanking = rankings;
+            return rankings;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // offset 부터 limit 명의 순위 조회
+    public PagedList getRanking(int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "offset, limit");
+        }
+
+        lock.readLock().lock();
+        try {
+            List<RankingDto> rankings = toRankingList(offset, limit);
+
+            PagedList pagedList = new PagedList();
+            pagedList.setTotal(rankTree.size());
+            pagedList.setCount(rankings.size());
+            pagedList.setOffset(offset);
+            pagedList.setList(rankings);
+            return pagedList;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 메모리에 올라온 플레이어 수 (목록 API 의 근사 total 용, DB 접근 없음)
+    public int getPlayerCount() {
+        lock.readLock().lock();
+        try {
+            return players.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-            double totalAssets = player.getPlayerMoney() + stockAssets;
-            double profitRate = 0;
-            if (player.getInitialMoney() > 0) {
-                profitRate = (totalAssets - player.getInitialMoney()) / player.getInitialMoney();
+    // 단일 플레이어 순위 조회
+    public RankingDto getPlayerRanking(String playerId) {
+        lock.readLock().lock();
+        try {
+            PlayerAssets assets = players.get(playerId);
+            if (assets == null) {
+                throw new ResponseException(Error.DATA_NOT_FOUND, "Player not found");
             }
+            return toRankingDto(assets, rankTree.indexOf(assets) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 현재 순위표를 열 단위 스냅샷으로 복사
+    public RankingSnapshot captureSnapshot() {
+        lock.readLock().lock();
+        try {
+            int size = rankTree.size();
+            int[] indexes = new int[size];
+            double[] totalAssets = new double[size];
+            double[] profitRates = new double[size];
+
+            int i = 0;
+            for (PlayerAssets assets : rankTree.range(0, size)) {
+                indexes[i] = assets.index;
+                totalAssets[i] = assets.totalAssets;
+                profitRates[i] = assets.profitRate;
+                i++;
+            }
+            return new RankingSnapshot(System.currentTimeMillis(), indexes, totalAssets, profitRates,
+                    playerIds.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getPlayerId(int playerIndex) {
+        lock.readLock().lock();
+        try {
+            return playerIds.get(playerIndex);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-            RankingDto rankingDto = new RankingDto();
-            rankingDto.setPlayerId(player.getPlayerId());
-            rankingDto.setTotalAssets(totalAssets);
-            rankingDto.setProfitRate(profitRate);
-            rankings.add(rankingDto);
+    // 없으면 -1
+    public int getPlayerIndex(String playerId) {
+        lock.readLock().lock();
+        try {
+            return playerIndexes.getOrDefault(playerId, -1);
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        rankings.sort(Comparator.comparingDouble(RankingDto::getProfitRate).reversed());
+    // 삭제되었지만 아직 재사용할 수 없는 플레이어 인덱스
+    public int[] getRetiredIndexes() {
+        lock.readLock().lock();
+        try {
+            return retiredIndexes.stream().mapToInt(Integer::intValue).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-        int rank = 1;
-        for (RankingDto ranking : rankings) {
-            ranking.setRank(rank++);
+    // 보관 스냅샷에서 지워진 인덱스를 새 플레이어에게 다시 배정할 수 있게 함
+    public void releaseIndexes(int[] indexes) {
+        lock.writeLock().lock();
+        try {
+            for (int index : indexes) {
+                if (retiredIndexes.remove(Integer.valueOf(index))) {
+                    playerIds.set(index, null);
+                    freeIndexes.addLast(index);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
+    }
 
+    // 플레이어 생성 또는 현금 변경
+    public void updatePlayer(String playerId, double playerMoney, double initialMoney) {
+        lock.writeLock().lock();
+        try {
+            PlayerAssets assets = players.computeIfAbsent(playerId,
+                    id -> newPlayerAssets(id, playerMoney, initialMoney));
+            assets.cash = playerMoney;
+            assets.initialMoney = initialMoney;
+            revalue(assets);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 플레이어 현금 변경
+    public void updateCash(String playerId, double playerMoney) {
+        lock.writeLock().lock();
+        try {
+            PlayerAssets assets = players.get(playerId);
+            if (assets != null) {
+                assets.cash = playerMoney;
+                revalue(assets);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 보유 수량 변경 (0 이면 보유 해제)
+    public void updateHolding(String playerId, long stockId, int quantity) {
+        lock.writeLock().lock();
+        try {
+            PlayerAssets assets = players.get(playerId);
+            if (assets != null) {
+                setHolding(assets, stockId, quantity);
+                revalue(assets);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 체결 반영: 현금과 보유 수량 증감
+    public void applyTrade(String playerId, long stockId, double cashDelta, int quantityDelta) {
+        lock.writeLock().lock();
+        try {
+            PlayerAssets assets = players.get(playerId);
+            if (assets != null) {
+                assets.cash += cashDelta;
+                setHolding(assets, stockId, assets.holdings.getOrDefault(stockId, 0) + quantityDelta);
+                revalue(assets);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removePlayer(String playerId) {
+        lock.writeLock().lock();
+        try {
+            PlayerAssets assets = players.remove(playerId);
+            if (assets != null) {
+                rankTree.remove(assets);
+                fullRanking = null;
+                playerIndexes.remove(playerId);
+                retiredIndexes.add(assets.index);
+                for (Long stockId : assets.holdings.keySet()) {
+                    Set<String> ids = holders.get(stockId);
+                    if (ids != null) {
+                        ids.remove(playerId);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 주가 변경: 해당 주식을 보유한 플레이어만 재평가 (가격은 PriceBook 에 이미 반영됨)
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            Set<PlayerAssets> affected = new HashSet<>();
+            for (long stockId : tick.getStockIds()) {
+                Set<String> ids = holders.get(stockId);
+                if (ids != null) {
+                    for (String playerId : ids) {
+                        affected.add(players.get(playerId));
+                    }
+                }
+            }
+            affected.forEach(this::revalue);
+        } finally {
+            lock.writeLock().unlock();
+            metricsRecorder.recordRankingRevalue(System.nanoTime() - started);
+        }
+    }
+
+    // applyTrade 증감분은 순서가 바뀌어 도착할 수 있으므로 일시적인 음수 수량도 보관
+    private void setHolding(PlayerAssets assets, long stockId, int quantity) {
+        if (quantity != 0) {
+            assets.holdings.put(stockId, quantity);
+            holders.computeIfAbsent(stockId, id -> new HashSet<>()).add(assets.playerId);
+        }
+        else {
+            assets.holdings.remove(stockId);
+            Set<String> ids = holders.get(stockId);
+            if (ids != null) {
+                ids.remove(assets.playerId);
+            }
+        }
+    }
+
+    // 보유 종목 수만큼만 계산 (부동소수 누적 오차를 피하기 위해 증분 합산 대신 재계산)
+    // 정렬 키가 바뀌므로 트리에서 뺐다가 다시 넣음
+    private void revalue(PlayerAssets assets) {
+        rankTree.remove(assets);
+        fullRanking = null;
+
+        double stockAssets = 0;
+        for (Map.Entry<Long, Integer> holding : assets.holdings.entrySet()) {
+            double price = priceBook.getPrice(holding.getKey());
+            if (!Double.isNaN(price)) {
+                stockAssets += holding.getValue() * price;
+            }
+        }
+        assets.totalAssets = assets.cash + stockAssets;
+        assets.profitRate = 0;
+        if (assets.initialMoney > 0) {
+            assets.profitRate = (assets.totalAssets - assets.initialMoney) / assets.initialMoney;
+        }
+
+        rankTree.add(assets);
+    }
+
+    private PlayerAssets newPlayerAssets(String playerId, double cash, double initialMoney) {
+        Integer index = playerIndexes.get(playerId);
+        if (index == null) {
+            index = freeIndexes.pollFirst();
+            if (index == null) {
+                index = playerIds.size();
+                playerIds.add(playerId);
+            }
+            else {
+                playerIds.set(index, playerId);
+            }
+            playerIndexes.put(playerId, index);
+        }
+        return new PlayerAssets(playerId, index, cash, initialMoney);
+    }
+
+    private List<RankingDto> toRankingList(int offset, int limit) {
+        List<RankingDto> rankings = new ArrayList<>();
+        int rank = offset + 1;
+        for (PlayerAssets assets : rankTree.range(offset, limit)) {
+            rankings.add(toRankingDto(assets, rank++));
+        }
         return rankings;
     }
+
+    private RankingDto toRankingDto(PlayerAssets assets, int rank) {
+        RankingDto rankingDto = new RankingDto();
+        rankingDto.setRank(rank);
+        rankingDto.setPlayerId(assets.playerId);
+        rankingDto.setTotalAssets(assets.totalAssets);
+        rankingDto.setProfitRate(assets.profitRate);
+        return rankingDto;
+    }
+
+    private static class PlayerAssets {
+        private final String playerId;
+        private final int index;
+        private final Map<Long, Integer> holdings = new HashMap<>();
+        private double cash;
+        private double initialMoney;
+        private double totalAssets;
+        private double profitRate;
+
+        private PlayerAssets(String playerId, int index, double cash, double initialMoney) {
+            this.playerId = playerId;
+            this.index = index;
+            this.cash = cash;
+            this.initialMoney = initialMoney;
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.sk.skala.stockapi.service;
+
+import lombok.Getter;
+
+/**
+ * 특정 시점의 순위표를 열(column) 단위 기본형 배열로 보관합니다.
+ * 배열 i 번째 원소가 (i + 1) 위 플레이어이며, 플레이어는 RankingService 의 정수 인덱스로 식별합니다.
+ * 삭제된 플레이어의 자리는 인덱스를 -1 로 바꿔 남기므로 다른 플레이어의 당시 순위는 그대로입니다.
+ */
+@Getter
+public class RankingSnapshot {
+
+    private final long timestamp;
+    private final int[] playerIndexes;
+    private final double[] totalAssets;
+    private final double[] profitRates;
+
+    // 플레이어 인덱스 → 순위(1 부터), 0 이면 스냅샷에 없음
+    private final int[] ranks;
+
+    public RankingSnapshot(long timestamp, int[] playerIndexes, double[] totalAssets, double[] profitRates,
+            int indexCount) {
+        this.timestamp = timestamp;
+        this.playerIndexes = playerIndexes;
+        this.totalAssets = totalAssets;
+        this.profitRates = profitRates;
+        this.ranks = new int[indexCount];
+        for (int i = 0; i < playerIndexes.length; i++) {
+            if (playerIndexes[i] >= 0) {
+                ranks[playerIndexes[i]] = i + 1;
+            }
+        }
+    }
+
+    // 주어진 플레이어 인덱스를 지운 사본, 지울 것이 없으면 this
+    public RankingSnapshot withoutPlayers(int[] removed) {
+        int[] kept = null;
+        for (int playerIndex : removed) {
+            int rank = rankOf(playerIndex);
+            if (rank > 0) {
+                if (kept == null) {
+                    kept = playerIndexes.clone();
+                }
+                kept[rank - 1] = -1;
+            }
+        }
+        return kept == null ? this : new RankingSnapshot(timestamp, kept, totalAssets, profitRates, ranks.length);
+    }
+
+    public int size() {
+        return playerIndexes.length;
+    }
+
+    public int rankOf(int playerIndex) {
+        return playerIndex >= 0 && playerIndex < ranks.length ? ranks[playerIndex] : 0;
+    }
+}
@@ -4,28 +4,58 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import com.sk.skala.stockapi.config.ApplicationProperties;
 import com.sk.skala.stockapi.config.Constant;
 import com.sk.skala.stockapi.config.Error;
 import com.sk.skala.stockapi.data.dto.PlayerSession;
 import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.tools.ExpiringCache;
 import com.sk.skala.stockapi.tools.JsonTool;
 import com.sk.skala.stockapi.tools.JwtTool;
+import com.sk.skala.stockapi.tools.SessionTokenTool;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 
+/**
+ * 요청의 access 토큰 쿠키에서 플레이어 세션을 꺼냅니다.
+ * 꺼낸 세션은 요청 속성에 두어 한 요청 안에서는 한 번만 해석하고,
+ * 검증을 통과한 토큰은 만료 전까지 잠시 캐시해 같은 토큰의 다음 요청은 서명 검증을 건너뜁니다.
+ * 새로 발급하는 토큰 형식은 application.session.token-format 으로 고르며, 검증은 두 형식 모두 받습니다.
+ */
 @Component
 public class SessionHandler {
 
+	public static final String TOKEN_FORMAT_JWT = "jwt";
+	public static final String TOKEN_FORMAT_COMPACT = "compact";
+
+	private static final String SESSION_ATTRIBUTE = SessionHandler.class.getName() + ".playerSession";
+
+	private final boolean compactToken;
+	private final ExpiringCache<String, VerifiedSession> verifiedTokens;
+
+	public SessionHandler(ApplicationProperties applicationProperties) {
+		ApplicationProperties.Session config = applicationProperties.getSession();
+		this.compactToken = TOKEN_FORMAT_COMPACT.equals(config.getTokenFormat());
+		this.verifiedTokens = new ExpiringCache<>(config.getCacheTtlMillis(), config.getCacheMaxEntries());
+	}
+
 	public PlayerSession getPlayerSession() {
 		ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
 		HttpServletRequest request = attributes.getRequest();
+		Object resolved = request.getAttribute(SESSION_ATTRIBUTE);
+		if (resolved instanceof PlayerSession playerSession) {
+			return playerSession;
+		}
+
 		Cookie[] cookies = request.getCookies();
 		if (cookies != null) {
 			for (Cookie cookie : cookies) {
 				if (Constant.JWT_ACCESS_COOKIE.equals(cookie.getName())) {
-					String payload = JwtTool.getValidPayload(cookie.getValue());
-					return JsonTool.toObject(payload, PlayerSession.class);
+					PlayerSession playerSession = verify(cookie.getValue());
+					request.setAttribute(SESSION_ATTRIBUTE, playerSession);
+					return playerSession;
 				}
 			}
 		}
@@ -41,7 +71,14 @@ public class SessionHandler {
 		// hide password
 		playerSession.setPlayerPassword("");
 
-		String token = JwtTool.generateToken(playerSession.getPlayerId(), playerSession);
+		String token;
+		if (compactToken) {
+			long now = System.currentTimeMillis();
+			token = SessionTokenTool.generateToken(playerSession.getPlayerId(), now, now + Constant.JWT_TTL_MILLIS);
+		}
+		else {
+			token = JwtTool.generateToken(playerSession.getPlayerId(), playerSession);
+		}
 		Cookie cookie = new Cookie(Constant.JWT_ACCESS_COOKIE, token);
 		cookie.setMaxAge(Constant.JWT_ACCESS_TTL);
 		cookie.setPath("/");
@@ -53,4 +90,31 @@ public class SessionHandler {
 		return playerSession;
 	}
 
-}
\ No newline at end of file
+	// 캐시에 있고 아직 만료되지 않은 토큰은 검증 없이 사용
+	private PlayerSession verify(String token) {
+		VerifiedSession verified = verifiedTokens.get(token);
+		if (verified != null && verified.expiresAt() > System.currentTimeMillis()) {
+			return verified.playerSession();
+		}
+
+		if (SessionTokenTool.isCompact(token)) {
+			SessionTokenTool.Token compact = SessionTokenTool.verify(token);
+			PlayerSession playerSession = new PlayerSession();
+			playerSession.setPlayerId(compact.playerId());
+			playerSession.setPlayerPassword("");
+			verifiedTokens.put(token, new VerifiedSession(playerSession, compact.expiresAt()));
+			return playerSession;
+		}
+
+		// 이전 형식 (JWT) 토큰도 계속 받음
+		Claims claims = JwtTool.getValidClaims(token);
+		PlayerSession playerSession = JsonTool.toObject(claims.getAudience(), PlayerSession.class);
+		if (claims.getExpiration() != null) {
+			verifiedTokens.put(token, new VerifiedSession(playerSession, claims.getExpiration().getTime()));
+		}
+		return playerSession;
+	}
+
+	private record VerifiedSession(PlayerSession playerSession, long expiresAt) {
+	}
+}
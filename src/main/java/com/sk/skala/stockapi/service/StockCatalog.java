@@ -0,0 +1,252 @@
+package com.sk.skala.stockapi.service;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.common.PagedList;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.tools.ExpiringCache;
+import com.sk.skala.stockapi.tools.StringTool;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주식 목록(id, 이름, 현재가)을 메모리에 두는 읽기 캐시입니다.
+ * 없는 항목만 DB 에서 읽어 채우고(read-through), 등록/수정/삭제 시 해당 항목과 전체 목록을 무효화합니다.
+ * 가격은 시세 틱마다 캐시된 항목에 바로 덮어쓰므로 틱으로 무효화하지 않습니다.
+ * 호출 측에는 항상 복사본을 돌려주어 캐시 항목이 바뀌지 않게 합니다.
+ */
+@Service
+public class StockCatalog implements PriceTickListener {
+
+    private final StockRepository stockRepository;
+    private final PriceBook priceBook;
+    private final MetricsRecorder metricsRecorder;
+    private final int maxEntries;
+
+    private final ExpiringCache<Long, Entry> entries;
+    private volatile List<Entry> listing; // id 순 전체 목록, null 이면 다시 읽음
+    // 읽는 중에 무효화가 일어나면 읽은 값을 캐시에 넣지 않기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    public StockCatalog(StockRepository stockRepository, PriceBook priceBook, MetricsRecorder metricsRecorder,
+            ApplicationProperties applicationProperties) {
+        this.stockRepository = stockRepository;
+        this.priceBook = priceBook;
+        this.metricsRecorder = metricsRecorder;
+        ApplicationProperties.Catalog config = applicationProperties.getCatalog();
+        this.maxEntries = config.getMaxEntries();
+        this.entries = new ExpiringCache<>(config.getTtlMillis(), config.getMaxEntries());
+    }
+
+    // 주식 한 건 (복사본). 시세표에 없는 주식은 DB 를 보지 않고 없음으로 처리
+    public Optional<Stock> getStock(long stockId) {
+        Entry entry = getEntry(stockId);
+        return entry == null ? Optional.empty() : Optional.of(entry.toStock());
+    }
+
+    public boolean contains(long stockId) {
+        return getEntry(stockId) != null;
+    }
+
+    // 연관 관계 설정용 프록시 (트랜잭션 안에서 호출, DB 조회 없음)
+    public Optional<Stock> getReference(long stockId) {
+        if (getEntry(stockId) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(stockRepository.getReferenceById(stockId));
+    }
+
+    // id 순 page 번째 페이지 (PageRequest 와 같은 번호 체계)
+    public PagedList getStocks(int page, int count) {
+        List<Entry> all = getListing();
+        List<Stock> stocks = new ArrayList<>();
+        long total;
+        if (all != null) {
+            total = all.size();
+            long from = (long) page * count;
+            for (long i = from; i < Math.min(total, from + count); i++) {
+                stocks.add(all.get((int) i).toStock());
+            }
+        }
+        else {
+            // 캐시 크기를 넘는 목록은 DB 에서 페이지 단위로 읽음
+            Page<Stock> paged = stockRepository.findAll(PageRequest.of(page, count, Sort.by(Sort.Order.asc("id"))));
+            total = paged.getTotalElements();
+            paged.getContent().forEach(stock -> stocks.add(priceBook.applyPrice(stock)));
+        }
+
+        PagedList pagedList = new PagedList();
+        pagedList.setTotal(total);
+        pagedList.setCount(stocks.size());
+        pagedList.setOffset(page);
+        pagedList.setList(stocks);
+        return pagedList;
+    }
+
+    // afterId 다음부터 id 순 count 건 (커서 모드). total 은 메모리 목록/시세표 크기로 채우는 근사값
+    public PagedList getStocksAfter(long afterId, int count) {
+        List<Entry> all = getListing();
+        List<Stock> stocks = new ArrayList<>();
+        long total;
+        if (all != null) {
+            total = all.size();
+            for (int i = indexAfter(all, afterId); i < all.size() && stocks.size() < count; i++) {
+                stocks.add(all.get(i).toStock());
+            }
+        }
+        else {
+            total = priceBook.getStockIds().length;
+            stockRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, count))
+                    .forEach(stock -> stocks.add(priceBook.applyPrice(stock)));
+        }
+
+        PagedList pagedList = new PagedList();
+        pagedList.setTotal(total);
+        pagedList.setCount(stocks.size());
+        pagedList.setList(stocks);
+        if (stocks.size() == count) {
+            pagedList.setNext(StringTool.toCursor(String.valueOf(stocks.get(stocks.size() - 1).getId())));
+        }
+        return pagedList;
+    }
+
+    // 등록/수정/삭제 후 호출
+    public void invalidate(long stockId) {
+        generation.incrementAndGet();
+        entries.remove(stockId);
+        listing = null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        for (int i = 0; i < tick.size(); i++) {
+            Entry entry = entries.get(tick.getStockIds()[i]);
+            if (entry != null) {
+                entry.price = tick.getPrices()[i];
+            }
+        }
+        List<Entry> all = listing;
+        if (all != null) {
+            for (int i = 0; i < tick.size(); i++) {
+                Entry entry = find(all, tick.getStockIds()[i]);
+                if (entry != null) {
+                    entry.price = tick.getPrices()[i];
+                }
+            }
+        }
+    }
+
+    private Entry getEntry(long stockId) {
+        if (!priceBook.contains(stockId)) {
+            return null;
+        }
+        Entry entry = entries.get(stockId);
+        if (entry != null) {
+            metricsRecorder.catalogHit();
+            return entry;
+        }
+        metricsRecorder.catalogMiss();
+
+        long loadedGeneration = generation.get();
+        Stock stock = stockRepository.findById(stockId).orElse(null);
+        if (stock == null) {
+            return null;
+        }
+        entry = new Entry(stock.getId(), stock.getStockName(), priceBook.getPrice(stockId));
+        if (generation.get() == loadedGeneration) {
+            Entry existing = entries.putIfAbsent(stockId, entry);
+            return existing != null ? existing : entry;
+        }
+        return entry;
+    }
+
+    private List<Entry> getListing() {
+        List<Entry> all = listing;
+        if (all != null) {
+            metricsRecorder.catalogHit();
+            return all;
+        }
+        metricsRecorder.catalogMiss();
+        if (stockRepository.count() > maxEntries) {
+            return null;
+        }
+
+        long loadedGeneration = generation.get();
+        all = new ArrayList<>();
+        for (Stock stock : stockRepository.findAll(Sort.by(Sort.Order.asc("id")))) {
+            double price = priceBook.getPrice(stock.getId());
+            all.add(new Entry(stock.getId(), stock.getStockName(), Double.isNaN(price) ? stock.getStockPrice() : price));
+        }
+        all = List.copyOf(all);
+        if (generation.get() == loadedGeneration) {
+            listing = all;
+        }
+        return all;
+    }
+
+    // id 순 목록에서 이진 탐색
+    private static Entry find(List<Entry> all, long stockId) {
+        int low = 0;
+        int high = all.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = all.get(mid).id;
+            if (id < stockId) {
+                low = mid + 1;
+            }
+            else if (id > stockId) {
+                high = mid - 1;
+            }
+            else {
+                return all.get(mid);
+            }
+        }
+        return null;
+    }
+
+    // id 가 afterId 보다 큰 첫 위치
+    private static int indexAfter(List<Entry> all, long afterId) {
+        int low = 0;
+        int high = all.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (all.get(mid).id <= afterId) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static class Entry {
+        private final long id;
+        private final String name;
+        private volatile double price; // 시세 틱마다 덮어씀
+
+        private Entry(long id, String name, double price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+        }
+
+        private Stock toStock() {
+            Stock stock = new Stock(name, price);
+            stock.setId(id);
+            return stock;
+        }
+    }
+}
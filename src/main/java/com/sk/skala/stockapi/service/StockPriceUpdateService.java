@@ -1,32 +1,64 @@
 package com.sk.skala.stockapi.service;
 
-import com.sk.skala.stockapi.data.table.Stock;
-import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.service.market.MarketSimulator;
+import com.sk.skala.stockapi.service.market.TickReplayer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Random;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StockPriceUpdateService {
 
-    private final StockRepository stockRepository;
-    private final Random random = new Random();
+    private final PriceBook priceBook;
+    private final List<PriceTickListener> priceTickListeners;
+    private final MarketSimulator marketSimulator;
+    private final ApplicationProperties applicationProperties;
+    private final MetricsRecorder metricsRecorder;
 
-    @Transactional
-    @Scheduled(fixedRate = 5000) // 5초마다 실행
+    // DB 는 PriceBookFlusher 가 따로 반영하므로 트랜잭션 없이 시세표만 갱신
+    @Scheduled(fixedRateString = "${application.market.tick-millis:5000}")
     public void updateStockPrices() {
-        List<Stock> stocks = stockRepository.findAll();
-        for (Stock stock : stocks) {
-            double currentPrice = stock.getStockPrice();
-            double changePercent = (random.nextDouble() - 0.5) * 0.1; // -5% ~ +5% 변동
-            double newPrice = currentPrice * (1 + changePercent);
-            stock.setStockPrice(Math.round(newPrice * 100.0) / 100.0); // 소수점 둘째 자리까지 반올림
+        ApplicationProperties.Market config = applicationProperties.getMarket();
+        if (!config.isEnabled() || TickReplayer.isReplayMode(config)) {
+            return; // 재생 모드에서는 TickReplayer 가 시세를 공급
         }
-        stockRepository.saveAll(stocks);
+        long started = System.nanoTime();
+
+        long[] stockIds = priceBook.getStockIds();
+        double[] currentPrices = new double[stockIds.length];
+        for (int i = 0; i < stockIds.length; i++) {
+            currentPrices[i] = priceBook.getPrice(stockIds[i]);
+        }
+        publish(marketSimulator.simulate(stockIds, currentPrices));
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        if (elapsedMillis > config.getTickMillis()) {
+            log.warn("StockPriceUpdateService.updateStockPrices: {} stocks took {}ms (tick {}ms)",
+                    stockIds.length, elapsedMillis, config.getTickMillis());
+        }
+    }
+
+    // 시세표 반영 후 구독 빈에 알림
+    public void publish(PriceTick tick) {
+        if (tick.size() == 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        priceBook.setPrices(tick);
+        for (PriceTickListener listener : priceTickListeners) {
+            try {
+                listener.onPriceTick(tick);
+            } catch (RuntimeException e) {
+                log.error("StockPriceUpdateService.publish: {} {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        metricsRecorder.recordPriceTick(System.nanoTime() - started);
     }
 }
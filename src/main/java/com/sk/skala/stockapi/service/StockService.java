@@ -1,18 +1,18 @@
 package com.sk.skala.stockapi.service;
 
 import com.sk.skala.stockapi.config.Error;
-import com.sk.skala.stockapi.data.common.PagedList;
 import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.data.dto.PriceTick;
 import com.sk.skala.stockapi.data.table.Stock;
 import com.sk.skala.stockapi.exception.ParameterException;
 import com.sk.skala.stockapi.exception.ResponseException;
 import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.service.journal.TradeJournal;
+import com.sk.skala.stockapi.service.order.OrderService;
 import com.sk.skala.stockapi.tools.StringTool;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,25 +23,44 @@ import java.util.Optional;
 public class StockService {
 
     private final StockRepository stockRepository;
-
-    // 전체 주식 목록 조회
+    private final PriceBook priceBook;
+    private final StockPriceUpdateService stockPriceUpdateService;
+    private final OrderService orderService;
+    private final TradeJournal tradeJournal;
+    private final PortfolioService portfolioService;
+    private final StockCatalog stockCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    // 전체 주식 목록 조회 (StockCatalog 캐시)
     public Response getAllStocks(int offset, int count) {
-        Pageable pageable = PageRequest.of(offset, count, Sort.by(Sort.Order.asc("id")));
-        Page<Stock> paged = stockRepository.findAll(pageable);
-
-        PagedList pagedList = new PagedList();
-        pagedList.setTotal(paged.getTotalElements());
-        pagedList.setCount(paged.getNumberOfElements());
-        pagedList.setOffset(offset);
-        pagedList.setList(paged.getContent());
+        if (offset < 0 || count <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "offset, count");
+        }
+        Response response = new Response();
+        response.setBody(stockCatalog.getStocks(offset, count));
+        return response;
+    }
 
+    // 커서 모드 목록. cursor 는 이전 응답의 next 이며, 첫 페이지는 비워서 요청
+    public Response getStocks(String cursor, int count) {
+        if (count <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "count");
+        }
+        long afterId = 0;
+        if (!StringTool.isEmpty(cursor)) {
+            try {
+                afterId = Long.parseLong(StringTool.fromCursor(cursor));
+            } catch (RuntimeException e) {
+                throw new ResponseException(Error.INVALID_PARAMETER, "cursor");
+            }
+        }
         Response response = new Response();
-        response.setBody(pagedList);
+        response.setBody(stockCatalog.getStocksAfter(afterId, count));
         return response;
     }
 
     public Response getStockById(Long id) {
-        Optional<Stock> stock = stockRepository.findById(id);
+        Optional<Stock> stock = stockCatalog.getStock(id);
         Response response = new Response();
 
         if (stock.isPresent()) {
@@ -66,7 +85,9 @@ public class StockService {
         }
 
         stock.setId(0L);
-        stockRepository.save(stock);
+        Stock saved = saveAndJournal(stock);
+        priceBook.putPrice(saved.getId(), saved.getStockPrice());
+        stockCatalog.invalidate(saved.getId());
 
         return new Response();
     }
@@ -81,7 +102,14 @@ public class StockService {
         if (option.isEmpty()) {
             throw new ResponseException(Error.DATA_NOT_FOUND);
         }
-        stockRepository.save(stock);
+        if (stockRepository.existsByStockNameAndIdNot(stock.getStockName(), stock.getId())) {
+            throw new ResponseException(Error.DATA_DUPLICATED);
+        }
+        saveAndJournal(stock);
+        stockCatalog.invalidate(stock.getId());
+        portfolioService.invalidateStock(stock.getId());
+        stockPriceUpdateService.publish(new PriceTick(System.currentTimeMillis(),
+                new long[] { stock.getId() }, new double[] { stock.getStockPrice() }));
         return new Response();
     }
 
@@ -91,8 +119,30 @@ public class StockService {
         if (option.isEmpty()) {
             throw new ResponseException(Error.DATA_NOT_FOUND);
         }
-        stockRepository.deleteById(stock.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            stockRepository.deleteById(stock.getId());
+            status.flush();
+            tradeJournal.stockDeleted(stock.getId());
+        });
+        priceBook.remove(stock.getId());
+        stockCatalog.invalidate(stock.getId());
+        orderService.closeBook(stock.getId());
         return new Response();
     }
 
+    // 저널 기록을 커밋 전에 해서, 기록에 실패하면 DB 변경도 롤백됨 (캐시와 시세는 커밋 후에 갱신)
+    private Stock saveAndJournal(Stock stock) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Stock saved = stockRepository.save(stock);
+                status.flush(); // 제약 위반은 저널에 쓰기 전에 드러나게 함
+                tradeJournal.stockSaved(saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 같은 이름으로 등록/변경하면 uk_stock_name 에서 걸림
+            throw new ResponseException(Error.DATA_DUPLICATED);
+        }
+    }
+
 }
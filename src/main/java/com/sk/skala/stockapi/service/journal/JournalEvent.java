@@ -0,0 +1,61 @@
+package com.sk.skala.stockapi.service.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 저널에 기록하는 이벤트 하나입니다.
+ * TRADE 는 현금(cash), 보유 수량(quantity), 취득 원가(cost)의 증감분이고, stockId 가 0 이면 현금만 바뀐 것입니다.
+ * EXECUTED 는 체결 이력(trade 테이블) 한 건이며 timestamp 가 체결 시각입니다. 잔고 변화는 같은 체결의 TRADE 가 맡습니다.
+ * 비밀번호는 DB 에 저장한 값을 그대로 기록하므로 저널 디렉터리는 소유자만 읽을 수 있게 만듭니다.
+ */
+record JournalEvent(long sequence, long timestamp, byte type, String playerId, long stockId, double cash,
+        int quantity, double cost, String text) {
+
+    static final byte PLAYER_CREATED = 1; // cash: 초기 자본금, text: 비밀번호
+    static final byte PLAYER_DELETED = 2;
+    static final byte STOCK_SAVED = 3; // cash: 가격, text: 이름
+    static final byte STOCK_DELETED = 4;
+    static final byte TRADE = 5;
+    static final byte EXECUTED = 6; // cash: 체결 가격, quantity: 체결 수량, text: BUY/SELL
+    static final byte WATCH_ADDED = 7;
+    static final byte WATCH_REMOVED = 8;
+
+    void encode(ByteBuffer buffer) {
+        buffer.putLong(sequence);
+        buffer.putLong(timestamp);
+        buffer.put(type);
+        putString(buffer, playerId);
+        buffer.putLong(stockId);
+        buffer.putDouble(cash);
+        buffer.putInt(quantity);
+        buffer.putDouble(cost);
+        putString(buffer, text);
+    }
+
+    static JournalEvent decode(ByteBuffer buffer) {
+        return new JournalEvent(buffer.getLong(), buffer.getLong(), buffer.get(), getString(buffer), buffer.getLong(),
+                buffer.getDouble(), buffer.getInt(), buffer.getDouble(), getString(buffer));
+    }
+
+    // 길이 -1 은 null
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,32 @@
+package com.sk.skala.stockapi.service.journal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/health 의 journal 항목입니다.
+ * 저널 파일이 열려 있지 않거나 기동 후 기록에 실패한 적이 있으면 DOWN 입니다. (다시 기동해 복구하면 UP)
+ */
+@Component
+@RequiredArgsConstructor
+public class JournalHealthIndicator implements HealthIndicator {
+
+    private final TradeJournal tradeJournal;
+
+    @Override
+    public Health health() {
+        if (!tradeJournal.isEnabled()) {
+            return Health.unknown().withDetail("enabled", false).build();
+        }
+        Health.Builder builder = tradeJournal.isHealthy() ? Health.up() : Health.down();
+        builder.withDetail("sequence", tradeJournal.getSequence())
+                .withDetail("failures", tradeJournal.getFailures());
+        String lastFailure = tradeJournal.getLastFailure();
+        if (lastFailure != null) {
+            builder.withDetail("lastFailure", lastFailure);
+        }
+        return builder.build();
+    }
+}
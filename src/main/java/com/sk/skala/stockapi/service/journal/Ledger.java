@@ -0,0 +1,203 @@
+package com.sk.skala.stockapi.service.journal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 저널 이벤트를 순서대로 적용해 만든 플레이어 현금/보유 내역/관심 종목, 주식 목록과 체결 이력입니다.
+ * 체결 이력은 플레이어나 주식이 삭제되어도 남으므로(trade 테이블과 같음) 스냅샷이 이력만큼 커집니다.
+ * 스냅샷은 이 상태를 그대로 파일에 쓰고 읽습니다. 동기화는 호출 측 책임입니다.
+ */
+class Ledger {
+
+    private static final int SNAPSHOT_MAGIC = 0x534B534E; // "SKSN"
+    private static final int SNAPSHOT_VERSION = 3;
+
+    final Map<String, Account> accounts = new LinkedHashMap<>();
+    final Map<Long, Listing> stocks = new LinkedHashMap<>();
+    final List<Execution> trades = new ArrayList<>(); // 체결 순서
+    long sequence; // 마지막으로 적용한 이벤트 번호
+
+    void apply(JournalEvent event) {
+        sequence = event.sequence();
+        switch (event.type()) {
+            case JournalEvent.PLAYER_CREATED ->
+                    accounts.put(event.playerId(), new Account(event.text(), event.cash(), event.cash()));
+            case JournalEvent.PLAYER_DELETED -> accounts.remove(event.playerId());
+            case JournalEvent.STOCK_SAVED -> stocks.put(event.stockId(), new Listing(event.text(), event.cash()));
+            case JournalEvent.STOCK_DELETED -> {
+                stocks.remove(event.stockId());
+                accounts.values().forEach(account -> {
+                    account.holdings.remove(event.stockId());
+                    account.watchlist.remove(event.stockId());
+                });
+            }
+            case JournalEvent.TRADE -> {
+                // 그 사이 삭제된 플레이어나 주식은 DB 반영과 같이 건너뜀
+                Account account = accounts.get(event.playerId());
+                if (account == null) {
+                    return;
+                }
+                account.money += event.cash();
+                if (event.quantity() != 0 && stocks.containsKey(event.stockId())) {
+                    Holding holding = account.holdings.computeIfAbsent(event.stockId(), id -> new Holding(0, 0));
+                    holding.quantity += event.quantity();
+                    holding.cost += event.cost();
+                    if (holding.quantity == 0) {
+                        account.holdings.remove(event.stockId());
+                    }
+                }
+            }
+            case JournalEvent.EXECUTED -> trades.add(new Execution(event.playerId(), event.stockId(), event.text(),
+                    event.quantity(), event.cash(), event.timestamp()));
+            case JournalEvent.WATCH_ADDED -> {
+                Account account = accounts.get(event.playerId());
+                if (account != null && stocks.containsKey(event.stockId())) {
+                    account.watchlist.add(event.stockId());
+                }
+            }
+            case JournalEvent.WATCH_REMOVED -> {
+                Account account = accounts.get(event.playerId());
+                if (account != null) {
+                    account.watchlist.remove(event.stockId());
+                }
+            }
+            default -> throw new IllegalStateException("unknown journal event: " + event.type());
+        }
+    }
+
+    Ledger copy() {
+        Ledger copy = new Ledger();
+        copy.sequence = sequence;
+        stocks.forEach((id, listing) -> copy.stocks.put(id, new Listing(listing.name, listing.price)));
+        accounts.forEach((id, account) -> {
+            Account copied = new Account(account.password, account.money, account.initialMoney);
+            account.holdings.forEach((stockId, holding) ->
+                    copied.holdings.put(stockId, new Holding(holding.quantity, holding.cost)));
+            copied.watchlist.addAll(account.watchlist);
+            copy.accounts.put(id, copied);
+        });
+        copy.trades.addAll(trades); // Execution 은 불변이라 참조만 복사
+        return copy;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeLong(sequence);
+        out.writeInt(stocks.size());
+        for (Map.Entry<Long, Listing> entry : stocks.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeUTF(entry.getValue().name);
+            out.writeDouble(entry.getValue().price);
+        }
+        out.writeInt(accounts.size());
+        for (Map.Entry<String, Account> entry : accounts.entrySet()) {
+            Account account = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeBoolean(account.password != null);
+            if (account.password != null) {
+                out.writeUTF(account.password);
+            }
+            out.writeDouble(account.money);
+            out.writeDouble(account.initialMoney);
+            out.writeInt(account.holdings.size());
+            for (Map.Entry<Long, Holding> holding : account.holdings.entrySet()) {
+                out.writeLong(holding.getKey());
+                out.writeInt(holding.getValue().quantity);
+                out.writeDouble(holding.getValue().cost);
+            }
+            out.writeInt(account.watchlist.size());
+            for (long stockId : account.watchlist) {
+                out.writeLong(stockId);
+            }
+        }
+        out.writeInt(trades.size());
+        for (Execution trade : trades) {
+            out.writeUTF(trade.playerId());
+            out.writeLong(trade.stockId());
+            out.writeUTF(trade.side());
+            out.writeInt(trade.quantity());
+            out.writeDouble(trade.price());
+            out.writeLong(trade.executedAt());
+        }
+    }
+
+    static Ledger read(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("not a snapshot file");
+        }
+        Ledger ledger = new Ledger();
+        ledger.sequence = in.readLong();
+        int stockCount = in.readInt();
+        for (int i = 0; i < stockCount; i++) {
+            long id = in.readLong();
+            ledger.stocks.put(id, new Listing(in.readUTF(), in.readDouble()));
+        }
+        int accountCount = in.readInt();
+        for (int i = 0; i < accountCount; i++) {
+            String playerId = in.readUTF();
+            String password = in.readBoolean() ? in.readUTF() : null;
+            Account account = new Account(password, in.readDouble(), in.readDouble());
+            int holdingCount = in.readInt();
+            for (int j = 0; j < holdingCount; j++) {
+                account.holdings.put(in.readLong(), new Holding(in.readInt(), in.readDouble()));
+            }
+            int watchCount = in.readInt();
+            for (int j = 0; j < watchCount; j++) {
+                account.watchlist.add(in.readLong());
+            }
+            ledger.accounts.put(playerId, account);
+        }
+        int tradeCount = in.readInt();
+        for (int i = 0; i < tradeCount; i++) {
+            ledger.trades.add(new Execution(in.readUTF(), in.readLong(), in.readUTF(), in.readInt(), in.readDouble(),
+                    in.readLong()));
+        }
+        return ledger;
+    }
+
+    static class Account {
+        final String password;
+        double money;
+        final double initialMoney;
+        final Map<Long, Holding> holdings = new LinkedHashMap<>();
+        final Set<Long> watchlist = new LinkedHashSet<>(); // 추가한 순서
+
+        Account(String password, double money, double initialMoney) {
+            this.password = password;
+            this.money = money;
+            this.initialMoney = initialMoney;
+        }
+    }
+
+    static class Holding {
+        int quantity;
+        double cost; // 취득 원가 합계
+
+        Holding(int quantity, double cost) {
+            this.quantity = quantity;
+            this.cost = cost;
+        }
+    }
+
+    record Execution(String playerId, long stockId, String side, int quantity, double price, long executedAt) {
+    }
+
+    static class Listing {
+        final String name;
+        double price;
+
+        Listing(String name, double price) {
+            this.name = name;
+            this.price = price;
+        }
+    }
+}
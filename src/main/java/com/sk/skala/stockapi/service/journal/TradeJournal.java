@@ -0,0 +1,424 @@
+package com.sk.skala.stockapi.service.journal;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Constant;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.data.table.Trade;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.service.MetricsRecorder;
+import com.sk.skala.stockapi.service.PriceBook;
+import com.sk.skala.stockapi.tools.JournalFile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 플레이어 현금, 보유 수량, 관심 종목, 주식 목록의 모든 변경과 체결 이력을 추가 전용 저널 파일에 순서대로 기록합니다.
+ * 저널을 적용한 상태(Ledger)를 메모리에 유지하면서 주기적으로 스냅샷을 쓰고, 스냅샷 이전의 저널은 지웁니다.
+ * 시작할 때는 마지막 스냅샷에 이후 저널을 적용해 상태를 다시 만들고 DB 에 채워 넣습니다.
+ * DB 는 조회와 거래 검증에 쓰는 작업 사본이고, 재시작 후에 남는 기록은 저널과 스냅샷입니다.
+ * 지정가 주문의 차감(예약)은 기록하지 않으므로 복구한 상태에는 미체결 주문이 없습니다.
+ * 기록에 실패하면 호출 측에 예외를 던지고(거래는 PlayerTradeExecutor 가 롤백) 새 파일로 넘어가며,
+ * 실패 횟수는 지표와 헬스 체크(journal)로 드러냅니다.
+ */
+@Slf4j
+@Service
+public class TradeJournal {
+
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private static final String INSERT_STOCK = "insert into stock (id, stock_name, stock_price) values (?, ?, ?)";
+    private static final String RESTART_STOCK_ID = "alter sequence stock_seq restart with ";
+    private static final String INSERT_PLAYER = "insert into player (player_id, player_password, player_money, initial_money, version)"
+            + " values (?, ?, ?, ?, 0)";
+    private static final String INSERT_PLAYER_STOCK = "insert into player_stock (id, player_id, stock_id, quantity, cost_basis, version)"
+            + " values (next value for player_stock_seq, ?, ?, ?, ?, 0)";
+    private static final String INSERT_PLAYER_WATCHLIST = "insert into player_watchlist (id, player_id, stock_id)"
+            + " values (next value for player_watchlist_seq, ?, ?)";
+    private static final String INSERT_TRADE = "insert into trade (id, player_id, stock_id, side, quantity, price, executed_at)"
+            + " values (next value for trade_seq, ?, ?, ?, ?, ?, ?)";
+
+    private final ApplicationProperties.Journal config;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceBook priceBook;
+    private final MetricsRecorder metricsRecorder;
+
+    private final ByteBuffer encodeBuffer = ByteBuffer.allocate(JournalFile.MAX_RECORD_SIZE);
+    private final Object snapshotLock = new Object();
+    private Ledger ledger = new Ledger();
+    private long sequence;
+    private Path dir;
+    private JournalFile file; // null 이면 비활성 또는 복구 전
+    private long fileSequence; // 현재 저널 파일의 첫 이벤트 번호
+    private long failures; // 기동 후 기록 실패 횟수
+    private String lastFailure;
+
+    public TradeJournal(ApplicationProperties applicationProperties, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, PriceBook priceBook, MetricsRecorder metricsRecorder) {
+        this.config = applicationProperties.getJournal();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.priceBook = priceBook;
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    // 스냅샷 + 저널로 상태를 복구해 DB 에 채우고 새 저널을 엶. 복구한 상태가 있으면 true
+    public boolean recover() {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        synchronized (snapshotLock) {
+            synchronized (this) {
+                try {
+                    dir = Files.createDirectories(Path.of(config.getDir()).toAbsolutePath());
+                    restrictToOwner(dir);
+                    ledger = loadSnapshot();
+                    long snapshotSequence = ledger.sequence;
+                    long replayed = 0;
+                    for (Path journal : list(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+                        replayed += JournalFile.read(journal, body -> {
+                            JournalEvent event = JournalEvent.decode(body);
+                            if (event.sequence() > ledger.sequence) {
+                                ledger.apply(event);
+                            }
+                        });
+                    }
+                    sequence = ledger.sequence;
+                    log.info("TradeJournal.recover: snapshot {}, {} events, {} players, {} stocks, {} trades from {}",
+                            snapshotSequence, replayed, ledger.accounts.size(), ledger.stocks.size(), ledger.trades.size(),
+                            dir);
+
+                    boolean recovered = sequence > 0;
+                    if (recovered) {
+                        restore(ledger);
+                    }
+                    // 복구한 상태를 새 스냅샷으로 남기고 이전 파일은 정리
+                    writeSnapshot(ledger.copy());
+                    deleteBefore(sequence + 1);
+                    for (Path journal : list(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+                        Files.deleteIfExists(journal);
+                    }
+                    open();
+                    return recovered;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("TradeJournal.recover: " + dir, e);
+                }
+            }
+        }
+    }
+
+    // 비밀번호는 DB 에 저장한 값을 그대로 기록 (저널 디렉터리는 소유자 전용)
+    public void playerCreated(Player player) {
+        append(JournalEvent.PLAYER_CREATED, player.getPlayerId(), 0, player.getInitialMoney(), 0, 0,
+                player.getPlayerPassword());
+    }
+
+    public void playerDeleted(String playerId) {
+        append(JournalEvent.PLAYER_DELETED, playerId, 0, 0, 0, 0, null);
+    }
+
+    public void stockSaved(Stock stock) {
+        append(JournalEvent.STOCK_SAVED, null, stock.getId(), stock.getStockPrice(), 0, 0, stock.getStockName());
+    }
+
+    public void stockDeleted(long stockId) {
+        append(JournalEvent.STOCK_DELETED, null, stockId, 0, 0, 0, null);
+    }
+
+    // 현금/수량/취득 원가 증감 (stockId 0 은 현금만)
+    public void trade(String playerId, long stockId, double cash, int quantity, double cost) {
+        append(JournalEvent.TRADE, playerId, stockId, cash, quantity, cost, null);
+    }
+
+    // 체결 이력 한 건 (잔고 변화는 trade 로 따로 기록)
+    public void executed(Trade trade) {
+        executed(trade.getPlayerId(), trade.getStockId(), trade.getSide(), trade.getQuantity(), trade.getPrice(),
+                trade.getExecutedAt());
+    }
+
+    public void executed(String playerId, long stockId, String side, int quantity, double price, long executedAt) {
+        append(JournalEvent.EXECUTED, executedAt, playerId, stockId, price, quantity, 0, side);
+    }
+
+    public void watchAdded(String playerId, long stockId) {
+        append(JournalEvent.WATCH_ADDED, playerId, stockId, 0, 0, 0, null);
+    }
+
+    public void watchRemoved(String playerId, long stockId) {
+        append(JournalEvent.WATCH_REMOVED, playerId, stockId, 0, 0, 0, null);
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    // 파일이 열려 있고 기동 후 기록 실패가 없으면 true
+    public synchronized boolean isHealthy() {
+        return file != null && failures == 0;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized String getLastFailure() {
+        return lastFailure;
+    }
+
+    // 현재 상태를 스냅샷으로 쓰고 새 저널 파일로 넘어간 뒤, 스냅샷에 포함된 이전 파일을 지움
+    @Scheduled(fixedDelayString = "${application.journal.snapshot-millis:60000}")
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            Ledger copy;
+            synchronized (this) {
+                if (file == null) {
+                    return;
+                }
+                copy = ledger.copy();
+                try {
+                    // 현재 파일에 기록한 이벤트가 없으면 그대로 이어 씀
+                    if (sequence >= fileSequence) {
+                        file.close();
+                        open();
+                    }
+                } catch (IOException e) {
+                    // 이후 기록은 파일이 없어 실패로 알려짐
+                    failed("snapshot", e);
+                    file = null;
+                    return;
+                }
+            }
+            // 시세는 저널에 남기지 않으므로 스냅샷 시점의 현재가를 기록
+            copy.stocks.forEach((stockId, listing) -> {
+                if (priceBook.contains(stockId)) {
+                    listing.price = priceBook.getPrice(stockId);
+                }
+            });
+            try {
+                writeSnapshot(copy);
+                deleteBefore(copy.sequence + 1);
+            } catch (IOException e) {
+                log.error("TradeJournal.snapshot: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        snapshot();
+        synchronized (this) {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    log.error("TradeJournal.close: {}", e.getMessage());
+                }
+                file = null;
+            }
+        }
+    }
+
+    private void append(byte type, String playerId, long stockId, double cash, int quantity, double cost, String text) {
+        append(type, System.currentTimeMillis(), playerId, stockId, cash, quantity, cost, text);
+    }
+
+    // 실패하면 ResponseException(SYSTEM_ERROR) 을 던짐. 거래는 커밋 전에 호출되므로 함께 롤백됨
+    private synchronized void append(byte type, long timestamp, String playerId, long stockId, double cash, int quantity,
+            double cost, String text) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (file == null) {
+            throw failed("event " + type, new IllegalStateException("journal is not open"));
+        }
+        JournalEvent event = new JournalEvent(sequence + 1, timestamp, type, playerId, stockId, cash, quantity, cost,
+                text);
+        try {
+            encodeBuffer.clear();
+            event.encode(encodeBuffer);
+            encodeBuffer.flip();
+            file.append(encodeBuffer);
+        } catch (IOException | RuntimeException e) {
+            ResponseException failure = failed(event.toString(), e);
+            reopen();
+            throw failure;
+        }
+        sequence = event.sequence();
+        ledger.apply(event);
+    }
+
+    private ResponseException failed(String what, Exception e) {
+        failures++;
+        lastFailure = what + ": " + e;
+        metricsRecorder.journalFailure();
+        log.error("TradeJournal: {} failed ({} failures) {}", what, failures, e.toString());
+        return new ResponseException(Error.SYSTEM_ERROR, "journal");
+    }
+
+    // 실패한 파일을 닫고(기록한 데까지 잘림) 다음 이벤트 번호로 새 파일을 엶
+    private void reopen() {
+        try {
+            file.close();
+        } catch (IOException | RuntimeException e) {
+            log.warn("TradeJournal.reopen: {}", e.getMessage());
+        }
+        file = null;
+        try {
+            // 기록한 이벤트가 없는 파일은 새 파일과 이름이 같으므로 지움
+            if (sequence < fileSequence) {
+                Files.deleteIfExists(journalPath(fileSequence));
+            }
+            open();
+        } catch (IOException e) {
+            log.error("TradeJournal.reopen: {}", e.getMessage());
+        }
+    }
+
+    private void open() throws IOException {
+        fileSequence = sequence + 1;
+        file = new JournalFile(journalPath(fileSequence), config.getSegmentBytes());
+    }
+
+    private Ledger loadSnapshot() throws IOException {
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshots.get(i))))) {
+                return Ledger.read(in);
+            } catch (IOException e) {
+                log.warn("TradeJournal.loadSnapshot: {} {}", snapshots.get(i), e.getMessage());
+            }
+        }
+        return new Ledger();
+    }
+
+    // 임시 파일에 쓴 뒤 이름을 바꿔, 쓰다 만 스냅샷이 남지 않게 함
+    private void writeSnapshot(Ledger snapshot) throws IOException {
+        Path target = dir.resolve(SNAPSHOT_PREFIX + format(snapshot.sequence) + SNAPSHOT_SUFFIX);
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            snapshot.write(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("TradeJournal.writeSnapshot: {}", target);
+    }
+
+    // 스냅샷 번호가 sequence 보다 작은 스냅샷과, sequence 이전에 시작한 저널 파일 삭제
+    private void deleteBefore(long sequence) throws IOException {
+        List<Path> snapshots = list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        for (Path snapshot : snapshots) {
+            long snapshotSequence = parse(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (snapshotSequence >= 0 && snapshotSequence < sequence - 1) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        for (Path journal : list(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+            long journalSequence = parse(journal, JOURNAL_PREFIX, JOURNAL_SUFFIX);
+            if (journalSequence >= 0 && journalSequence < sequence) {
+                Files.deleteIfExists(journal);
+            }
+        }
+    }
+
+    // DB 가 비어 있을 때만 채움 (인메모리 H2 는 재시작하면 비어 있음)
+    private void restore(Ledger state) {
+        Long existing = jdbcTemplate.queryForObject("select (select count(*) from player) + (select count(*) from stock)",
+                Long.class);
+        if (existing != null && existing > 0) {
+            log.warn("TradeJournal.restore: database is not empty, skipped");
+            return;
+        }
+
+        List<Object[]> stockArgs = new ArrayList<>(state.stocks.size());
+        state.stocks.forEach((id, listing) -> stockArgs.add(new Object[] { id, listing.name, listing.price }));
+        List<Object[]> playerArgs = new ArrayList<>(state.accounts.size());
+        List<Object[]> holdingArgs = new ArrayList<>();
+        List<Object[]> watchlistArgs = new ArrayList<>();
+        for (Map.Entry<String, Ledger.Account> entry : state.accounts.entrySet()) {
+            Ledger.Account account = entry.getValue();
+            playerArgs.add(new Object[] { entry.getKey(), account.password, account.money, account.initialMoney });
+            account.holdings.forEach((stockId, holding) ->
+                    holdingArgs.add(new Object[] { entry.getKey(), stockId, holding.quantity, holding.cost }));
+            account.watchlist.forEach(stockId -> watchlistArgs.add(new Object[] { entry.getKey(), stockId }));
+        }
+        // 체결 순서대로 넣어 같은 시각의 체결도 ID 순서가 유지되게 함
+        List<Object[]> tradeArgs = new ArrayList<>(state.trades.size());
+        state.trades.forEach(trade -> tradeArgs.add(new Object[] { trade.playerId(), trade.stockId(), trade.side(),
+                trade.quantity(), trade.price(), trade.executedAt() }));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_STOCK, stockArgs);
+            jdbcTemplate.batchUpdate(INSERT_PLAYER, playerArgs);
+            jdbcTemplate.batchUpdate(INSERT_PLAYER_STOCK, holdingArgs);
+            jdbcTemplate.batchUpdate(INSERT_PLAYER_WATCHLIST, watchlistArgs);
+            jdbcTemplate.batchUpdate(INSERT_TRADE, tradeArgs);
+        });
+        // 새로 등록하는 주식이 복구한 ID 와 겹치지 않게 함
+        // pooled 시퀀스는 받은 값 v 에 대해 (v - 할당 크기, v] 범위를 쓰므로 최대 ID + 할당 크기부터 시작
+        long maxStockId = state.stocks.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        jdbcTemplate.execute(RESTART_STOCK_ID + (maxStockId + Constant.ID_ALLOCATION_SIZE));
+    }
+
+    // 저널과 스냅샷에는 DB 와 같이 비밀번호가 들어 있으므로 다른 사용자가 읽지 못하게 함 (POSIX 파일 시스템만)
+    private static void restrictToOwner(Path path) throws IOException {
+        if (Files.getFileStore(path).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)
+                            && path.getFileName().toString().endsWith(suffix))
+                    .sorted(Comparator.comparingLong(path -> parse(path, prefix, suffix)))
+                    .toList();
+        }
+    }
+
+    private Path journalPath(long firstSequence) {
+        return dir.resolve(JOURNAL_PREFIX + format(firstSequence) + JOURNAL_SUFFIX);
+    }
+
+    private static String format(long sequence) {
+        return String.format("%019d", sequence);
+    }
+
+    private static long parse(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
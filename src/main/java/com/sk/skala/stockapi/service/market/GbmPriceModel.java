@@ -0,0 +1,30 @@
+package com.sk.skala.stockapi.service.market;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * 기하 브라운 운동: S(t+dt) = S(t) * exp((mu - sigma^2 / 2) dt + sigma sqrt(dt) Z)
+ */
+@Component
+@RequiredArgsConstructor
+public class GbmPriceModel implements PriceModel {
+
+	private final ApplicationProperties applicationProperties;
+
+	@Override
+	public String getName() {
+		return "gbm";
+	}
+
+	@Override
+	public double next(double price, double anchor, double dt, SplittableRandom random) {
+		ApplicationProperties.Market config = applicationProperties.getMarket();
+		double sigma = config.getVolatility();
+		double drift = (config.getDrift() - 0.5 * sigma * sigma) * dt;
+		return price * Math.exp(drift + sigma * Math.sqrt(dt) * PriceModel.nextGaussian(random));
+	}
+}
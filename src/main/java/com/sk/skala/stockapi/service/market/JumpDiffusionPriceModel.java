@@ -0,0 +1,51 @@
+package com.sk.skala.stockapi.service.market;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * Merton 점프 확산: 기하 브라운 운동에 포아송 빈도(jumpIntensity)의 로그 정규 점프를 더합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JumpDiffusionPriceModel implements PriceModel {
+
+	private final ApplicationProperties applicationProperties;
+
+	@Override
+	public String getName() {
+		return "jump-diffusion";
+	}
+
+	@Override
+	public double next(double price, double anchor, double dt, SplittableRandom random) {
+		ApplicationProperties.Market config = applicationProperties.getMarket();
+		double sigma = config.getVolatility();
+		double logReturn = (config.getDrift() - 0.5 * sigma * sigma) * dt
+				+ sigma * Math.sqrt(dt) * PriceModel.nextGaussian(random);
+
+		int jumps = nextPoisson(config.getJumpIntensity() * dt, random);
+		for (int i = 0; i < jumps; i++) {
+			logReturn += config.getJumpMean() + config.getJumpVolatility() * PriceModel.nextGaussian(random);
+		}
+		return price * Math.exp(logReturn);
+	}
+
+	// Knuth 방식 (lambda 가 작을 때 사용)
+	private static int nextPoisson(double lambda, SplittableRandom random) {
+		if (lambda <= 0) {
+			return 0;
+		}
+		double limit = Math.exp(-lambda);
+		double product = random.nextDouble();
+		int count = 0;
+		while (product > limit) {
+			product *= random.nextDouble();
+			count++;
+		}
+		return count;
+	}
+}
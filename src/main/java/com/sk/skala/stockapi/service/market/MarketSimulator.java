@@ -0,0 +1,112 @@
+package com.sk.skala.stockapi.service.market;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 설정한 시세 모델로 종목별 다음 가격을 생성합니다.
+ * 종목마다 (seed, 주식 id) 로 정해지는 독립 난수열을 쓰므로, 같은 시드와 같은 시작 가격이면
+ * 생성 순서나 병렬 여부와 무관하게 같은 시세가 재현됩니다.
+ * simulate 는 시세 갱신 스케줄러 한 스레드에서만 호출합니다.
+ */
+@Slf4j
+@Component
+public class MarketSimulator {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final ApplicationProperties.Market config;
+	private final PriceModel model;
+	private final ForkJoinPool pool;
+	private final long seed;
+
+	// 주식 id 별 상태 (pooled 시퀀스라 id 가 띄엄띄엄하므로 배열 인덱스로 쓰지 않음)
+	private final Map<Long, StockState> states = new HashMap<>();
+
+	public MarketSimulator(ApplicationProperties applicationProperties, List<PriceModel> models) {
+		this.config = applicationProperties.getMarket();
+		this.model = models.stream()
+				.filter(candidate -> candidate.getName().equals(config.getModel()))
+				.findFirst()
+				.orElseThrow(() -> new IllegalStateException("Unknown market model: " + config.getModel()));
+		this.pool = new ForkJoinPool(Math.max(1, config.getParallelism()));
+		this.seed = config.getSeed() != 0 ? config.getSeed() : new SplittableRandom().nextLong();
+		log.info("MarketSimulator: model={}, seed={}, tick={}ms", model.getName(), seed, config.getTickMillis());
+	}
+
+	public PriceTick simulate(long[] stockIds, double[] currentPrices) {
+		StockState[] tickStates = prepare(stockIds, currentPrices);
+
+		double dt = config.getTickMillis() / 1000.0;
+		double[] prices = new double[stockIds.length];
+		if (stockIds.length < config.getParallelThreshold()) {
+			for (int i = 0; i < stockIds.length; i++) {
+				prices[i] = step(tickStates[i], currentPrices[i], dt);
+			}
+		}
+		else {
+			try {
+				pool.submit(() -> IntStream.range(0, stockIds.length).parallel()
+						.forEach(i -> prices[i] = step(tickStates[i], currentPrices[i], dt))).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		return new PriceTick(System.currentTimeMillis(), stockIds, prices);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+
+	private double step(StockState state, double price, double dt) {
+		double next = model.next(price, state.anchor(), dt, state.random());
+		next = Math.round(next * 100.0) / 100.0; // 소수점 둘째 자리까지 반올림
+		return Math.max(0.01, next);
+	}
+
+	// 이번 틱 종목 순서대로 상태를 모아 병렬 구간 전에 준비, 새 종목은 난수열과 기준 가격을 만들고 삭제된 종목은 버림
+	private StockState[] prepare(long[] stockIds, double[] currentPrices) {
+		StockState[] tickStates = new StockState[stockIds.length];
+		for (int i = 0; i < stockIds.length; i++) {
+			long stockId = stockIds[i];
+			double price = currentPrices[i];
+			tickStates[i] = states.computeIfAbsent(stockId,
+					id -> new StockState(new SplittableRandom(mix64(seed + id * GOLDEN_GAMMA)), price));
+		}
+		if (states.size() > stockIds.length) {
+			Set<Long> current = new HashSet<>(stockIds.length * 2);
+			for (long stockId : stockIds) {
+				current.add(stockId);
+			}
+			states.keySet().retainAll(current);
+		}
+		return tickStates;
+	}
+
+	private record StockState(SplittableRandom random, double anchor) {
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return z ^ (z >>> 33);
+	}
+}
@@ -0,0 +1,30 @@
+package com.sk.skala.stockapi.service.market;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * 로그 가격의 Ornstein-Uhlenbeck 과정: 시작 가격(anchor) 쪽으로 reversionSpeed 만큼 끌려갑니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MeanReversionPriceModel implements PriceModel {
+
+	private final ApplicationProperties applicationProperties;
+
+	@Override
+	public String getName() {
+		return "mean-reversion";
+	}
+
+	@Override
+	public double next(double price, double anchor, double dt, SplittableRandom random) {
+		ApplicationProperties.Market config = applicationProperties.getMarket();
+		double x = Math.log(price);
+		double pull = config.getReversionSpeed() * (Math.log(anchor) - x) * dt;
+		return Math.exp(x + pull + config.getVolatility() * Math.sqrt(dt) * PriceModel.nextGaussian(random));
+	}
+}
@@ -0,0 +1,28 @@
+package com.sk.skala.stockapi.service.market;
+
+import java.util.SplittableRandom;
+
+/**
+ * 한 종목의 다음 가격을 만드는 시세 모델입니다.
+ * 빈으로 등록하면 application.market.model 의 이름으로 선택할 수 있습니다.
+ * 여러 스레드에서 동시에 호출되므로 상태를 두지 않고, 난수는 종목별로 넘겨받은 것만 사용합니다.
+ */
+public interface PriceModel {
+
+	String getName();
+
+	/**
+	 * @param price 현재가
+	 * @param anchor 시뮬레이션 시작 시점 가격 (평균 회귀 기준)
+	 * @param dt 틱 간격 (초)
+	 * @param random 종목 전용 난수
+	 */
+	double next(double price, double anchor, double dt, SplittableRandom random);
+
+	// 표준 정규 난수 (Box-Muller)
+	static double nextGaussian(SplittableRandom random) {
+		double u = 1.0 - random.nextDouble(); // (0, 1]
+		double v = random.nextDouble();
+		return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+	}
+}
@@ -0,0 +1,66 @@
+package com.sk.skala.stockapi.service.market;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.service.PriceTickListener;
+import com.sk.skala.stockapi.tools.StringTool;
+import com.sk.skala.stockapi.tools.TickFileWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * application.market.record-file 이 지정되면 발생한 시세 틱을 TickReplayer 가 재생할 수 있는 형식으로 기록합니다.
+ */
+@Slf4j
+@Component
+public class TickRecorder implements PriceTickListener {
+
+	private static final int SEGMENT_BYTES = 4 * 1024 * 1024;
+
+	private TickFileWriter writer;
+
+	public TickRecorder(ApplicationProperties applicationProperties) {
+		String recordFile = applicationProperties.getMarket().getRecordFile();
+		if (StringTool.isEmpty(recordFile)) {
+			return;
+		}
+		try {
+			Path path = Path.of(recordFile).toAbsolutePath();
+			Files.createDirectories(path.getParent());
+			writer = new TickFileWriter(path, SEGMENT_BYTES);
+			log.info("TickRecorder: recording to {}", path);
+		} catch (IOException e) {
+			log.error("TickRecorder: {} {}", recordFile, e.getMessage());
+		}
+	}
+
+	@Override
+	public synchronized void onPriceTick(PriceTick tick) {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.write(tick.getTimestamp(), tick.getStockIds(), tick.getPrices());
+		} catch (IOException e) {
+			log.error("TickRecorder.onPriceTick: {}", e.getMessage());
+			close();
+		}
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				log.error("TickRecorder.close: {}", e.getMessage());
+			}
+			writer = null;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.sk.skala.stockapi.service.market;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.service.PriceBook;
+import com.sk.skala.stockapi.service.StockPriceUpdateService;
+import com.sk.skala.stockapi.tools.StringTool;
+import com.sk.skala.stockapi.tools.TickFileReader;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * application.market.mode 가 replay 면 기록된 틱 파일을 원래 간격 / replaySpeed 로 재생합니다.
+ * 재생 틱은 시뮬레이션 틱과 같은 경로(StockPriceUpdateService.publish)로 반영되며,
+ * 시세표에 없는 종목은 건너뜁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickReplayer {
+
+	public static final String MODE_REPLAY = "replay";
+
+	private final ApplicationProperties applicationProperties;
+	private final StockPriceUpdateService stockPriceUpdateService;
+	private final PriceBook priceBook;
+
+	private Thread thread;
+
+	public static boolean isReplayMode(ApplicationProperties.Market config) {
+		return MODE_REPLAY.equals(config.getMode());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		ApplicationProperties.Market config = applicationProperties.getMarket();
+		if (!config.isEnabled() || !isReplayMode(config)) {
+			return;
+		}
+		if (StringTool.isEmpty(config.getReplayFile())) {
+			log.error("TickReplayer.start: replay-file is not set");
+			return;
+		}
+		thread = new Thread(() -> replay(Path.of(config.getReplayFile()), config), "tick-replay");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	private void replay(Path path, ApplicationProperties.Market config) {
+		double speed = config.getReplaySpeed();
+		long frames = 0;
+		try (TickFileReader reader = new TickFileReader(path)) {
+			log.info("TickReplayer.replay: {} speed={}", path, speed > 0 ? speed + "x" : "max");
+			do {
+				long firstTimestamp = -1;
+				long startNanos = System.nanoTime();
+				while (reader.next() && !Thread.currentThread().isInterrupted()) {
+					if (firstTimestamp < 0) {
+						firstTimestamp = reader.getTimestamp();
+					}
+					if (speed > 0) {
+						long dueNanos = startNanos + (long) ((reader.getTimestamp() - firstTimestamp) * 1_000_000 / speed);
+						long waitNanos = dueNanos - System.nanoTime();
+						if (waitNanos > 0) {
+							Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+						}
+					}
+					stockPriceUpdateService.publish(knownStocks(reader.getStockIds(), reader.getPrices()));
+					frames++;
+				}
+				reader.rewind();
+			} while (config.isReplayLoop() && !Thread.currentThread().isInterrupted());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException | RuntimeException e) {
+			log.error("TickReplayer.replay: {} {}", path, e.getMessage());
+		}
+		log.info("TickReplayer.replay: {} frames", frames);
+	}
+
+	// 시세표에 있는 종목만 남긴 현재 시각 틱
+	private PriceTick knownStocks(long[] stockIds, double[] prices) {
+		int count = 0;
+		for (long stockId : stockIds) {
+			if (priceBook.contains(stockId)) {
+				count++;
+			}
+		}
+		long[] knownIds = new long[count];
+		double[] knownPrices = new double[count];
+		int j = 0;
+		for (int i = 0; i < stockIds.length; i++) {
+			if (priceBook.contains(stockIds[i])) {
+				knownIds[j] = stockIds[i];
+				knownPrices[j] = prices[i];
+				j++;
+			}
+		}
+		return new PriceTick(System.currentTimeMillis(), knownIds, knownPrices);
+	}
+}
@@ -0,0 +1,23 @@
+package com.sk.skala.stockapi.service.market;
+
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * 기존 동작: 틱마다 -5% ~ +5% 균등 분포로 변동합니다.
+ */
+@Component
+public class UniformPriceModel implements PriceModel {
+
+	@Override
+	public String getName() {
+		return "uniform";
+	}
+
+	@Override
+	public double next(double price, double anchor, double dt, SplittableRandom random) {
+		double changePercent = (random.nextDouble() - 0.5) * 0.1;
+		return price * (1 + changePercent);
+	}
+}
@@ -0,0 +1,70 @@
+package com.sk.skala.stockapi.service.order;
+
+import com.sk.skala.stockapi.data.dto.OrderDto;
+import com.sk.skala.stockapi.data.dto.StockOrder;
+
+/**
+ * 호가창에 들어가는 지정가 주문입니다. 가격은 센트 단위 정수(tick)로 다룹니다.
+ * 주문이 속한 종목의 매칭 스레드에서만 변경합니다.
+ */
+class Order {
+    final long orderId;
+    final String playerId;
+    final long stockId;
+    final boolean buy;
+    final long limitTicks;
+    final int quantity;
+    final long createdAt;
+
+    int filledQuantity;
+    boolean canceled;
+    double reservedCost; // 매도 주문 접수 시 보유 내역에서 뺀 취득 원가 (취소분 반환용)
+
+    // 같은 가격대 안의 시간 순 연결 리스트
+    PriceLevel level;
+    Order prev;
+    Order next;
+
+    Order(long orderId, String playerId, long stockId, boolean buy, long limitTicks, int quantity) {
+        this.orderId = orderId;
+        this.playerId = playerId;
+        this.stockId = stockId;
+        this.buy = buy;
+        this.limitTicks = limitTicks;
+        this.quantity = quantity;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    int remaining() {
+        return quantity - filledQuantity;
+    }
+
+    OrderDto toDto() {
+        OrderDto dto = new OrderDto();
+        dto.setOrderId(orderId);
+        dto.setPlayerId(playerId);
+        dto.setStockId(stockId);
+        dto.setSide(buy ? StockOrder.SIDE_BUY : StockOrder.SIDE_SELL);
+        dto.setLimitPrice(limitTicks / 100.0);
+        dto.setQuantity(quantity);
+        dto.setFilledQuantity(filledQuantity);
+        if (canceled) {
+            dto.setStatus(OrderDto.STATUS_CANCELED);
+        }
+        else if (filledQuantity == quantity) {
+            dto.setStatus(OrderDto.STATUS_FILLED);
+        }
+        else if (filledQuantity > 0) {
+            dto.setStatus(OrderDto.STATUS_PARTIALLY_FILLED);
+        }
+        else {
+            dto.setStatus(OrderDto.STATUS_OPEN);
+        }
+        dto.setCreatedAt(createdAt);
+        return dto;
+    }
+
+    static long toTicks(double price) {
+        return Math.round(price * 100.0);
+    }
+}
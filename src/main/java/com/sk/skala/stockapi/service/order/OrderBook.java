@@ -0,0 +1,185 @@
+package com.sk.skala.stockapi.service.order;
+
+import com.sk.skala.stockapi.data.dto.OrderBookDto;
+import com.sk.skala.stockapi.data.dto.PriceLevelDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목 하나의 호가창 (가격 우선, 시간 우선)
+ * 시장가(시세)는 무한 유동성으로 보아, 시세와 교차하는 주문은 시세로 즉시 체결하고
+ * 남은 주문은 시세가 지정가에 닿을 때 체결합니다. 따라서 호가창에 남은 매수는 항상 시세보다 낮고
+ * 매도는 항상 시세보다 높습니다.
+ * 스레드 안전하지 않으며, 종목을 맡은 매칭 스레드에서만 사용합니다.
+ */
+class OrderBook {
+
+    interface FillHandler {
+        // counter 가 null 이면 시세와의 체결
+        void onFill(Order order, Order counter, int quantity, long priceTicks);
+    }
+
+    final long stockId;
+    private final Levels bids = new Levels(true);
+    private final Levels asks = new Levels(false);
+    private final Map<Long, Order> orders = new HashMap<>();
+
+    OrderBook(long stockId) {
+        this.stockId = stockId;
+    }
+
+    // marketTicks: 현재 시세, 없으면 0 이하
+    void submit(Order order, long marketTicks, FillHandler handler) {
+        if (marketTicks > 0 && crosses(order, marketTicks)) {
+            int quantity = order.remaining();
+            order.filledQuantity += quantity;
+            handler.onFill(order, null, quantity, marketTicks);
+            return;
+        }
+
+        Levels opposite = order.buy ? asks : bids;
+        PriceLevel level;
+        while (order.remaining() > 0 && (level = opposite.best()) != null && crosses(order, level.price)) {
+            Order resting = level.head;
+            int quantity = Math.min(order.remaining(), resting.remaining());
+            order.filledQuantity += quantity;
+            resting.filledQuantity += quantity;
+            level.quantity -= quantity;
+            if (resting.remaining() == 0) {
+                remove(resting);
+            }
+            handler.onFill(order, resting, quantity, level.price);
+        }
+
+        if (order.remaining() > 0) {
+            (order.buy ? bids : asks).getOrCreate(order.limitTicks).append(order);
+            orders.put(order.orderId, order);
+        }
+    }
+
+    // 시세 변경: 시세에 닿은 주문을 시세로 체결
+    void onMarketPrice(long marketTicks, FillHandler handler) {
+        fillAgainstMarket(bids, marketTicks, handler);
+        fillAgainstMarket(asks, marketTicks, handler);
+    }
+
+    Order get(long orderId) {
+        return orders.get(orderId);
+    }
+
+    Order cancel(long orderId) {
+        Order order = orders.get(orderId);
+        if (order != null) {
+            remove(order);
+            order.canceled = true;
+        }
+        return order;
+    }
+
+    List<Order> cancelAll() {
+        List<Order> canceled = new ArrayList<>(orders.values());
+        canceled.forEach(order -> cancel(order.orderId));
+        return canceled;
+    }
+
+    Collection<Order> getOrders() {
+        return orders.values();
+    }
+
+    boolean isEmpty() {
+        return orders.isEmpty();
+    }
+
+    OrderBookDto toDto(int depth) {
+        OrderBookDto dto = new OrderBookDto();
+        dto.setStockId(stockId);
+        bids.collect(depth, dto.getBids());
+        asks.collect(depth, dto.getAsks());
+        return dto;
+    }
+
+    private void fillAgainstMarket(Levels side, long marketTicks, FillHandler handler) {
+        PriceLevel level;
+        while ((level = side.best()) != null && crosses(level.head, marketTicks)) {
+            Order order = level.head;
+            int quantity = order.remaining();
+            remove(order);
+            order.filledQuantity += quantity;
+            handler.onFill(order, null, quantity, marketTicks);
+        }
+    }
+
+    private void remove(Order order) {
+        PriceLevel level = order.level;
+        level.unlink(order);
+        if (level.isEmpty()) {
+            (order.buy ? bids : asks).remove(level);
+        }
+        orders.remove(order.orderId);
+    }
+
+    private static boolean crosses(Order order, long priceTicks) {
+        return order.buy ? priceTicks <= order.limitTicks : priceTicks >= order.limitTicks;
+    }
+
+    /**
+     * 가격을 기본형 long 키로 정렬해 두는 가격대 배열입니다.
+     * 최우선 호가가 배열 끝에 오도록 매수는 가격, 매도는 -가격 오름차순으로 두어
+     * 최우선 호가 조회/제거가 O(1) 입니다.
+     */
+    private static class Levels {
+        private final boolean buy;
+        private long[] keys = new long[16];
+        private PriceLevel[] levels = new PriceLevel[16];
+        private int size;
+
+        private Levels(boolean buy) {
+            this.buy = buy;
+        }
+
+        private PriceLevel best() {
+            return size == 0 ? null : levels[size - 1];
+        }
+
+        private PriceLevel getOrCreate(long price) {
+            long key = buy ? price : -price;
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return levels[index];
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                levels = Arrays.copyOf(levels, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(levels, index, levels, index + 1, size - index);
+            keys[index] = key;
+            levels[index] = new PriceLevel(price);
+            size++;
+            return levels[index];
+        }
+
+        private void remove(PriceLevel level) {
+            int index = size - 1;
+            if (levels[index] != level) {
+                index = Arrays.binarySearch(keys, 0, size, buy ? level.price : -level.price);
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(levels, index + 1, levels, index, size - index - 1);
+            size--;
+            levels[size] = null;
+        }
+
+        private void collect(int depth, List<PriceLevelDto> list) {
+            for (int i = size - 1; i >= 0 && list.size() < depth; i--) {
+                list.add(new PriceLevelDto(levels[i].price / 100.0, levels[i].quantity, levels[i].count));
+            }
+        }
+    }
+}
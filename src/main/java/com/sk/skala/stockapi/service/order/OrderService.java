@@ -0,0 +1,397 @@
+package com.sk.skala.stockapi.service.order;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.dto.OrderBookDto;
+import com.sk.skala.stockapi.data.dto.OrderDto;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.dto.StockOrder;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.PlayerStock;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.PlayerStockRepository;
+import com.sk.skala.stockapi.service.PlayerTradeExecutor;
+import com.sk.skala.stockapi.service.PortfolioService;
+import com.sk.skala.stockapi.service.PriceBook;
+import com.sk.skala.stockapi.service.PriceTickListener;
+import com.sk.skala.stockapi.service.RankingService;
+import com.sk.skala.stockapi.service.SessionHandler;
+import com.sk.skala.stockapi.service.StockCatalog;
+import com.sk.skala.stockapi.service.journal.TradeJournal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 지정가 주문 접수/취소와 체결을 처리합니다.
+ * 종목은 stockId % threads 로 매칭 스레드에 나뉘며, 각 호가창은 맡은 스레드 하나만 변경하므로 잠금이 없습니다.
+ * 주문 접수 시 매수 대금(수량 x 지정가) 또는 매도 주식을 DB 에서 먼저 차감하고,
+ * 체결/취소 결과(주식, 차액 환급, 매도 대금)는 SettlementFlusher 가 모아서 반영합니다.
+ * 랭킹에는 체결 시점에 바로 반영합니다.
+ * 저널에는 차감(예약)을 남기지 않고 체결된 만큼의 순 변화만 기록하므로,
+ * 저널로 복구한 상태는 미체결 주문을 모두 취소해 차감분을 돌려준 것과 같습니다. (종료 시 취소와 같은 결과)
+ */
+@Slf4j
+@Service
+public class OrderService implements PriceTickListener {
+
+    private final PlayerRepository playerRepository;
+    private final PlayerStockRepository playerStockRepository;
+    private final StockCatalog stockCatalog;
+    private final PriceBook priceBook;
+    private final RankingService rankingService;
+    private final SessionHandler sessionHandler;
+    private final SettlementFlusher settlementFlusher;
+    private final PlayerTradeExecutor playerTradeExecutor;
+    private final TradeJournal tradeJournal;
+    private final PortfolioService portfolioService;
+
+    private final Shard[] shards;
+    private final AtomicLong orderSequence = new AtomicLong();
+
+    // 미체결 주문 id → 주식 id (취소 시 매칭 스레드를 찾는 용도)
+    private final Map<Long, Long> openOrders = new ConcurrentHashMap<>();
+
+    public OrderService(PlayerRepository playerRepository, PlayerStockRepository playerStockRepository,
+            StockCatalog stockCatalog, PriceBook priceBook, RankingService rankingService,
+            SessionHandler sessionHandler, SettlementFlusher settlementFlusher,
+            PlayerTradeExecutor playerTradeExecutor, TradeJournal tradeJournal, PortfolioService portfolioService,
+            ApplicationProperties applicationProperties) {
+        this.playerRepository = playerRepository;
+        this.playerStockRepository = playerStockRepository;
+        this.stockCatalog = stockCatalog;
+        this.priceBook = priceBook;
+        this.rankingService = rankingService;
+        this.sessionHandler = sessionHandler;
+        this.settlementFlusher = settlementFlusher;
+        this.playerTradeExecutor = playerTradeExecutor;
+        this.tradeJournal = tradeJournal;
+        this.portfolioService = portfolioService;
+
+        this.shards = new Shard[Math.max(1, applicationProperties.getOrder().getThreads())];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    // 지정가 주문 접수
+    public OrderDto submitOrder(StockOrder stockOrder) {
+        String playerId = sessionHandler.getPlayerId();
+        boolean buy;
+        if (StockOrder.SIDE_BUY.equals(stockOrder.getSide())) {
+            buy = true;
+        }
+        else if (StockOrder.SIDE_SELL.equals(stockOrder.getSide())) {
+            buy = false;
+        }
+        else {
+            throw new ResponseException(Error.INVALID_PARAMETER, "side");
+        }
+        long limitTicks = Order.toTicks(stockOrder.getLimitPrice());
+        if (stockOrder.getStockQuantity() <= 0 || limitTicks <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "stockQuantity, limitPrice");
+        }
+        if (!priceBook.contains(stockOrder.getStockId())) {
+            throw new ResponseException(Error.DATA_NOT_FOUND, "Stock not found");
+        }
+
+        Order order = new Order(orderSequence.incrementAndGet(), playerId, stockOrder.getStockId(), buy, limitTicks,
+                stockOrder.getStockQuantity());
+        playerTradeExecutor.trade(playerId, () -> {
+            reserve(order);
+            return null;
+        });
+        portfolioService.invalidate(playerId);
+
+        openOrders.put(order.orderId, order.stockId);
+        try {
+            return call(order.stockId, shard -> {
+                long marketTicks = Order.toTicks(priceBook.getPrice(order.stockId)); // 시세가 없으면 NaN → 0
+                OrderBook book = shard.books.computeIfAbsent(order.stockId, OrderBook::new);
+                try {
+                    book.submit(order, marketTicks, this::settle);
+                } catch (RuntimeException e) {
+                    book.cancel(order.orderId); // 호가창에 들어갔다면 뺌
+                    throw e;
+                }
+                return order.toDto();
+            });
+        } catch (RuntimeException e) {
+            // 매칭 스레드가 거부했거나 호가창 처리 중 실패하면 남은 차감분을 돌려줌
+            log.error("OrderService.submitOrder: {} {}", order.orderId, e.toString());
+            release(order);
+            throw e;
+        }
+    }
+
+    // 미체결 주문 취소
+    public OrderDto cancelOrder(long orderId) {
+        String playerId = sessionHandler.getPlayerId();
+        Long stockId = openOrders.get(orderId);
+        if (stockId == null) {
+            throw new ResponseException(Error.DATA_NOT_FOUND, "Order not found");
+        }
+
+        return call(stockId, shard -> {
+            OrderBook book = shard.books.get(stockId);
+            Order order = book == null ? null : book.get(orderId);
+            if (order == null) {
+                throw new ResponseException(Error.DATA_NOT_FOUND, "Order not found");
+            }
+            if (!order.playerId.equals(playerId)) {
+                throw new ResponseException(Error.NOT_AUTHORIZED);
+            }
+            release(book.cancel(orderId));
+            return order.toDto();
+        });
+    }
+
+    // 로그인 플레이어의 미체결 주문
+    public List<OrderDto> getOpenOrders() {
+        String playerId = sessionHandler.getPlayerId();
+        List<OrderDto> list = new ArrayList<>();
+        for (Shard shard : shards) {
+            list.addAll(shard.call(() -> {
+                List<OrderDto> orders = new ArrayList<>();
+                for (OrderBook book : shard.books.values()) {
+                    for (Order order : book.getOrders()) {
+                        if (order.playerId.equals(playerId)) {
+                            orders.add(order.toDto());
+                        }
+                    }
+                }
+                return orders;
+            }));
+        }
+        list.sort(Comparator.comparingLong(OrderDto::getOrderId));
+        return list;
+    }
+
+    public OrderBookDto getOrderBook(long stockId, int depth) {
+        if (depth <= 0) {
+            throw new ResponseException(Error.INVALID_PARAMETER, "depth");
+        }
+        if (!priceBook.contains(stockId)) {
+            throw new ResponseException(Error.DATA_NOT_FOUND, "Stock not found");
+        }
+        return call(stockId, shard -> {
+            OrderBook book = shard.books.get(stockId);
+            return book == null ? new OrderBook(stockId).toDto(depth) : book.toDto(depth);
+        });
+    }
+
+    // 플레이어 삭제 시 미체결 주문 정리
+    public void cancelPlayerOrders(String playerId) {
+        for (Shard shard : shards) {
+            shard.call(() -> {
+                for (OrderBook book : shard.books.values()) {
+                    List<Order> orders = new ArrayList<>();
+                    for (Order order : book.getOrders()) {
+                        if (order.playerId.equals(playerId)) {
+                            orders.add(order);
+                        }
+                    }
+                    orders.forEach(order -> release(book.cancel(order.orderId)));
+                }
+                return null;
+            });
+        }
+    }
+
+    // 주식 삭제 시 호가창 정리
+    public void closeBook(long stockId) {
+        call(stockId, shard -> {
+            OrderBook book = shard.books.remove(stockId);
+            if (book != null) {
+                book.cancelAll().forEach(this::release);
+            }
+            return null;
+        });
+    }
+
+    // 시세에 닿은 미체결 주문 체결
+    @Override
+    public void onPriceTick(PriceTick tick) {
+        if (openOrders.isEmpty()) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.executor.execute(() -> {
+                for (int i = 0; i < tick.size(); i++) {
+                    OrderBook book = shard.books.get(tick.getStockIds()[i]);
+                    if (book != null && !book.isEmpty()) {
+                        book.onMarketPrice(Order.toTicks(tick.getPrices()[i]), this::settle);
+                    }
+                }
+            });
+        }
+    }
+
+    // 종료 전에 미체결 주문을 취소해 차감해 둔 현금/주식을 돌려줌
+    @PreDestroy
+    public void shutdown() {
+        for (Shard shard : shards) {
+            if (shard.executor.isShutdown()) {
+                continue; // 이미 종료함
+            }
+            try {
+                shard.call(() -> {
+                    shard.books.values().forEach(book -> book.cancelAll().forEach(this::release));
+                    shard.books.clear();
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.error("OrderService.shutdown: {}", e.getMessage());
+            }
+            shard.executor.shutdown();
+        }
+    }
+
+    // 주문에 필요한 현금/주식 차감
+    private void reserve(Order order) {
+        Player player = playerRepository.findById(order.playerId)
+                .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
+        if (order.buy) {
+            double amount = order.quantity * order.limitTicks / 100.0;
+            if (player.getPlayerMoney() < amount) {
+                throw new ResponseException(Error.INSUFFICIENT_FUNDS);
+            }
+            player.setPlayerMoney(player.getPlayerMoney() - amount);
+            playerRepository.save(player);
+            return;
+        }
+
+        Stock stock = stockCatalog.getReference(order.stockId)
+                .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND));
+        PlayerStock playerStock = playerStockRepository.findByPlayerAndStock(player, stock)
+                .orElseThrow(() -> new ResponseException(Error.DATA_NOT_FOUND, "Player does not own this stock"));
+        int remainingQuantity = playerStock.getQuantity() - order.quantity;
+        if (remainingQuantity < 0) {
+            throw new ResponseException(Error.INSUFFICIENT_QUANTITY);
+        }
+        else if (remainingQuantity == 0) {
+            order.reservedCost = playerStock.getCostBasis();
+            playerStockRepository.delete(playerStock);
+        }
+        else {
+            // 평균 단가 기준으로 매도 수량만큼의 원가를 뺌
+            order.reservedCost = playerStock.getCostBasis() * order.quantity / playerStock.getQuantity();
+            playerStock.setQuantity(remainingQuantity);
+            playerStock.setCostBasis(playerStock.getCostBasis() - order.reservedCost);
+            playerStockRepository.save(playerStock);
+        }
+    }
+
+    // 체결된 양쪽 주문 반영 (매칭 스레드)
+    private void settle(Order order, Order counter, int quantity, long priceTicks) {
+        settle(order, quantity, priceTicks);
+        if (counter != null) {
+            settle(counter, quantity, priceTicks);
+        }
+    }
+
+    private void settle(Order order, int quantity, long priceTicks) {
+        double amount = quantity * priceTicks / 100.0;
+        String side = order.buy ? StockOrder.SIDE_BUY : StockOrder.SIDE_SELL;
+        long executedAt = System.currentTimeMillis();
+        settlementFlusher.addTrade(order.playerId, order.stockId, side, quantity, priceTicks / 100.0, executedAt);
+        journalExecution(order, side, quantity, priceTicks / 100.0, executedAt);
+        if (order.buy) {
+            journal(order, -amount, quantity, amount);
+            rankingService.applyTrade(order.playerId, order.stockId, -amount, quantity);
+            // 지정가로 차감해 둔 대금과 체결 대금의 차액 환급
+            settlementFlusher.add(order.playerId, order.stockId, quantity * (order.limitTicks - priceTicks) / 100.0, quantity,
+                    amount);
+        }
+        else {
+            // 접수 때 뺀 취득 원가 중 체결 수량만큼
+            journal(order, amount, -quantity, -order.reservedCost * quantity / order.quantity);
+            rankingService.applyTrade(order.playerId, order.stockId, amount, -quantity);
+            settlementFlusher.add(order.playerId, order.stockId, amount, 0, 0);
+        }
+        if (order.remaining() == 0) {
+            openOrders.remove(order.orderId);
+        }
+    }
+
+    // 이미 체결된 결과라 되돌릴 수 없으므로 기록 실패로 매칭을 멈추지 않음 (실패는 TradeJournal 이 지표/헬스로 알림)
+    private void journal(Order order, double cash, int quantity, double cost) {
+        try {
+            tradeJournal.trade(order.playerId, order.stockId, cash, quantity, cost);
+        } catch (RuntimeException e) {
+            log.error("OrderService.journal: order {} not journaled {}", order.orderId, e.getMessage());
+        }
+    }
+
+    private void journalExecution(Order order, String side, int quantity, double price, long executedAt) {
+        try {
+            tradeJournal.executed(order.playerId, order.stockId, side, quantity, price, executedAt);
+        } catch (RuntimeException e) {
+            log.error("OrderService.journalExecution: order {} not journaled {}", order.orderId, e.getMessage());
+        }
+    }
+
+    // 취소된 주문의 남은 수량만큼 차감분 반환 (매칭 스레드)
+    private void release(Order order) {
+        if (order == null) {
+            return;
+        }
+        if (order.buy) {
+            settlementFlusher.add(order.playerId, order.stockId, order.remaining() * order.limitTicks / 100.0, 0, 0);
+        }
+        else {
+            settlementFlusher.add(order.playerId, order.stockId, 0, order.remaining(),
+                    order.reservedCost * order.remaining() / order.quantity);
+        }
+        openOrders.remove(order.orderId);
+    }
+
+    private <T> T call(long stockId, ShardTask<T> task) {
+        Shard shard = shards[(int) Math.floorMod(stockId, (long) shards.length)];
+        return shard.call(() -> task.run(shard));
+    }
+
+    private interface ShardTask<T> {
+        T run(Shard shard);
+    }
+
+    // 매칭 스레드 하나와 그 스레드가 맡은 호가창
+    private static class Shard {
+        private final ExecutorService executor;
+        private final Map<Long, OrderBook> books = new HashMap<>();
+
+        private Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "order-match-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private <T> T call(Supplier<T> supplier) {
+            try {
+                return CompletableFuture.supplyAsync(supplier, executor).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
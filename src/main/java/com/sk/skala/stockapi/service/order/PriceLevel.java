@@ -0,0 +1,55 @@
+package com.sk.skala.stockapi.service.order;
+
+/**
+ * 한 가격대의 주문 큐 (먼저 들어온 주문이 head)
+ */
+class PriceLevel {
+    final long price;
+    Order head;
+    Order tail;
+    long quantity;
+    int count;
+
+    PriceLevel(long price) {
+        this.price = price;
+    }
+
+    void append(Order order) {
+        order.level = this;
+        order.prev = tail;
+        order.next = null;
+        if (tail == null) {
+            head = order;
+        }
+        else {
+            tail.next = order;
+        }
+        tail = order;
+        quantity += order.remaining();
+        count++;
+    }
+
+    void unlink(Order order) {
+        if (order.prev == null) {
+            head = order.next;
+        }
+        else {
+            order.prev.next = order.next;
+        }
+        if (order.next == null) {
+            tail = order.prev;
+        }
+        else {
+            order.next.prev = order.prev;
+        }
+        quantity -= order.remaining();
+        count--;
+        order.level = null;
+        order.prev = null;
+        order.next = null;
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+}
@@ -0,0 +1,142 @@
+package com.sk.skala.stockapi.service.order;
+
+import com.sk.skala.stockapi.service.PortfolioService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 지정가 주문의 체결/취소 결과를 모아 주기적으로 DB 에 반영합니다. (write-behind)
+ * 주문 시점에 필요한 현금/주식을 미리 차감해 두므로 여기서 반영하는 값은 모두 증가분이고,
+ * 반영이 늦어지더라도 DB 잔고가 실제보다 커지는 일은 없습니다.
+ * JPA 로 같은 행을 읽고 쓰는 거래가 변경을 덮어쓰지 않도록 version 도 함께 올립니다.
+ * 저널 기록은 OrderService 가 체결 시점에 하므로 여기서는 DB 만 다룹니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementFlusher {
+
+    private static final String UPDATE_MONEY = "update player set player_money = player_money + ?, version = version + 1 where player_id = ?";
+    private static final String UPDATE_QUANTITY = "update player_stock set quantity = quantity + ?, cost_basis = cost_basis + ?,"
+            + " version = version + 1 where player_id = ? and stock_id = ?";
+    // 그 사이 삭제된 플레이어나 주식은 건너뜀
+    // ID 는 엔티티와 같은 시퀀스에서 받음 (받은 값 하나만 쓰므로 Hibernate 가 당겨 간 범위와 겹치지 않음)
+    private static final String INSERT_TRADE = "insert into trade (id, player_id, stock_id, side, quantity, price, executed_at)"
+            + " values (next value for trade_seq, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_QUANTITY = "insert into player_stock (id, player_id, stock_id, quantity, cost_basis, version)"
+            + " select next value for player_stock_seq, ?, ?, ?, ?, 0"
+            + " where exists (select 1 from player where player_id = ?) and exists (select 1 from stock where id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PortfolioService portfolioService;
+
+    private final Queue<Settlement> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Object[]> trades = new ConcurrentLinkedQueue<>(); // INSERT_TRADE 인자
+
+    // 현금, 보유 수량과 그 취득 원가의 증가분
+    public void add(String playerId, long stockId, double cash, int quantity, double cost) {
+        pending.add(new Settlement(playerId, stockId, cash, quantity, cost));
+    }
+
+    // 체결 이력 (잔고 반영과 같은 주기에 기록)
+    public void addTrade(String playerId, long stockId, String side, int quantity, double price, long executedAt) {
+        trades.add(new Object[] { playerId, stockId, side, quantity, price, executedAt });
+    }
+
+    @Scheduled(fixedDelayString = "${application.order.flush-millis:200}")
+    public synchronized void flush() {
+        // 플레이어별 현금, (플레이어, 주식)별 수량으로 합침
+        Map<String, Double> cash = new HashMap<>();
+        Map<Holding, Settlement> quantities = new HashMap<>();
+        Settlement settlement;
+        while ((settlement = pending.poll()) != null) {
+            if (settlement.cash() != 0) {
+                cash.merge(settlement.playerId(), settlement.cash(), Double::sum);
+            }
+            if (settlement.quantity() != 0) {
+                quantities.merge(new Holding(settlement.playerId(), settlement.stockId()), settlement, Settlement::plus);
+            }
+        }
+        List<Object[]> tradeArgs = new ArrayList<>();
+        Object[] trade;
+        while ((trade = trades.poll()) != null) {
+            tradeArgs.add(trade);
+        }
+        if (cash.isEmpty() && quantities.isEmpty() && tradeArgs.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                write(cash, quantities);
+                jdbcTemplate.batchUpdate(INSERT_TRADE, tradeArgs);
+            });
+            log.debug("SettlementFlusher.flush: {} players, {} holdings", cash.size(), quantities.size());
+            cash.keySet().forEach(portfolioService::invalidate);
+            quantities.keySet().forEach(key -> portfolioService.invalidate(key.playerId()));
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도
+            cash.forEach((playerId, amount) -> pending.add(new Settlement(playerId, 0, amount, 0, 0)));
+            quantities.forEach((key, delta) ->
+                    pending.add(new Settlement(key.playerId(), key.stockId(), 0, delta.quantity(), delta.cost())));
+            trades.addAll(tradeArgs);
+            log.error("SettlementFlusher.flush: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(Map<String, Double> cash, Map<Holding, Settlement> quantities) {
+        List<Object[]> moneyArgs = new ArrayList<>(cash.size());
+        cash.forEach((playerId, amount) -> moneyArgs.add(new Object[] { amount, playerId }));
+        jdbcTemplate.batchUpdate(UPDATE_MONEY, moneyArgs);
+
+        List<Holding> keys = new ArrayList<>(quantities.keySet());
+        List<Object[]> quantityArgs = new ArrayList<>(keys.size());
+        for (Holding key : keys) {
+            Settlement settlement = quantities.get(key);
+            quantityArgs.add(new Object[] { settlement.quantity(), settlement.cost(), key.playerId(), key.stockId() });
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_QUANTITY, quantityArgs);
+
+        List<Object[]> insertArgs = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] == 0) {
+                Holding key = keys.get(i);
+                Settlement settlement = quantities.get(key);
+                insertArgs.add(new Object[] { key.playerId(), key.stockId(), settlement.quantity(), settlement.cost(),
+                        key.playerId(), key.stockId() });
+            }
+        }
+        if (!insertArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_QUANTITY, insertArgs);
+        }
+    }
+
+    private record Settlement(String playerId, long stockId, double cash, int quantity, double cost) {
+
+        // 같은 보유 내역의 수량/원가 합산 (현금은 플레이어 단위로 따로 합침)
+        private Settlement plus(Settlement other) {
+            return new Settlement(playerId, stockId, 0, quantity + other.quantity, cost + other.cost);
+        }
+    }
+
+    private record Holding(String playerId, long stockId) {
+    }
+}
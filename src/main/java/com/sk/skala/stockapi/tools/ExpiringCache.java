@@ -0,0 +1,100 @@
+package com.sk.skala.stockapi.tools;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 크기 제한과 만료 시간이 있는 동시성 캐시입니다.
+ * 항목은 넣은 뒤 ttlMillis 가 지나면 만료되고, maxSize 를 넘으면 가장 오래된 항목부터 밀려납니다.
+ * 만료 시간이 모두 같으므로 넣은 순서가 곧 만료 순서이며, 정리는 쓰기 시점에 앞에서부터 필요한 만큼만 합니다.
+ */
+public class ExpiringCache<K, V> {
+
+	private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+	private final Deque<Node<K, V>> order = new ArrayDeque<>(); // 넣은 순서, order 로 동기화
+	private final long ttlMillis;
+	private final int maxSize;
+
+	public ExpiringCache(long ttlMillis, int maxSize) {
+		this.ttlMillis = ttlMillis;
+		this.maxSize = Math.max(1, maxSize);
+	}
+
+	public V get(K key) {
+		Entry<V> entry = map.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAt <= System.currentTimeMillis()) {
+			map.remove(key, entry);
+			return null;
+		}
+		return entry.value;
+	}
+
+	public void put(K key, V value) {
+		Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttlMillis);
+		map.put(key, entry);
+		added(key, entry);
+	}
+
+	// 이미 살아 있는 값이 있으면 그 값을, 없으면 value 를 넣고 null 반환
+	public V putIfAbsent(K key, V value) {
+		long now = System.currentTimeMillis();
+		Entry<V> entry = new Entry<>(value, now + ttlMillis);
+		while (true) {
+			Entry<V> existing = map.putIfAbsent(key, entry);
+			if (existing == null) {
+				added(key, entry);
+				return null;
+			}
+			if (existing.expiresAt > now) {
+				return existing.value;
+			}
+			if (map.replace(key, existing, entry)) {
+				added(key, entry);
+				return null;
+			}
+		}
+	}
+
+	public void remove(K key) {
+		map.remove(key);
+	}
+
+	// 현재 값이 value 일 때만 제거
+	public void remove(K key, V value) {
+		map.computeIfPresent(key, (k, entry) -> entry.value == value ? null : entry);
+	}
+
+	public void clear() {
+		map.clear();
+		synchronized (order) {
+			order.clear();
+		}
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	private void added(K key, Entry<V> entry) {
+		long now = System.currentTimeMillis();
+		synchronized (order) {
+			order.addLast(new Node<>(key, entry));
+			Node<K, V> head;
+			while ((head = order.peekFirst()) != null
+					&& (head.entry.expiresAt <= now || map.size() > maxSize || head.entry != map.get(head.key))) {
+				order.pollFirst();
+				map.remove(head.key, head.entry);
+			}
+		}
+	}
+
+	private record Entry<V>(V value, long expiresAt) {
+	}
+
+	private record Node<K, V>(K key, Entry<V> entry) {
+	}
+}
@@ -0,0 +1,118 @@
+package com.sk.skala.stockapi.tools;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 가변 길이 레코드를 메모리 매핑 파일 끝에 순서대로 이어 붙이는 추가 전용 로그입니다.
+ * 레코드는 (int 길이, int CRC32, 본문) 이며, 길이 0 이나 CRC 가 맞지 않는 레코드를 로그의 끝으로 봅니다.
+ * 파일은 segmentBytes 단위로 매핑하고, 닫을 때 실제 기록한 길이로 잘라냅니다. 동기화는 호출 측 책임입니다.
+ */
+public class JournalFile implements Closeable {
+
+	public static final int HEADER_SIZE = Integer.BYTES * 2;
+	public static final int MAX_RECORD_SIZE = 1 << 20;
+
+	private final FileChannel channel;
+	private final int segmentBytes;
+	private final CRC32 crc = new CRC32();
+	private MappedByteBuffer buffer;
+	private long segmentStart;
+
+	// 새 파일을 만들어 처음부터 기록
+	public JournalFile(Path path, int segmentBytes) throws IOException {
+		this.segmentBytes = segmentBytes;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		map(0);
+	}
+
+	public void append(ByteBuffer body) throws IOException {
+		int length = body.remaining();
+		if (length > MAX_RECORD_SIZE || HEADER_SIZE + length > segmentBytes) {
+			throw new IllegalArgumentException("record too large: " + length);
+		}
+		if (buffer.remaining() < HEADER_SIZE + length) {
+			map(segmentStart + buffer.position());
+		}
+		crc.reset();
+		crc.update(body.duplicate());
+		int start = buffer.position();
+		buffer.position(start + HEADER_SIZE);
+		buffer.put(body);
+		// 본문을 먼저 쓰고 길이를 마지막에 써서, 쓰다 만 레코드는 길이 0 으로 남게 함
+		buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+		buffer.putInt(start, length);
+	}
+
+	public long size() {
+		return segmentStart + buffer.position();
+	}
+
+	public void force() {
+		buffer.force();
+	}
+
+	@Override
+	public void close() throws IOException {
+		long end = size();
+		buffer.force();
+		buffer = null;
+		channel.truncate(end);
+		channel.close();
+	}
+
+	// 유효한 레코드 본문을 순서대로 넘기고 읽은 레코드 수 반환
+	public static long read(Path path, Consumer<ByteBuffer> consumer) throws IOException {
+		long count = 0;
+		CRC32 crc = new CRC32();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16))) {
+			byte[] body = new byte[256];
+			while (true) {
+				int length;
+				int checksum;
+				try {
+					length = in.readInt();
+					checksum = in.readInt();
+					if (length <= 0 || length > MAX_RECORD_SIZE) {
+						break;
+					}
+					if (body.length < length) {
+						body = new byte[Math.max(length, body.length * 2)];
+					}
+					in.readFully(body, 0, length);
+				} catch (EOFException e) {
+					break;
+				}
+				crc.reset();
+				crc.update(body, 0, length);
+				if ((int) crc.getValue() != checksum) {
+					break;
+				}
+				consumer.accept(ByteBuffer.wrap(body, 0, length).slice());
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void map(long position) throws IOException {
+		if (buffer != null) {
+			buffer.force();
+		}
+		segmentStart = position;
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentBytes);
+	}
+}
@@ -1,45 +1,121 @@
 package com.sk.skala.stockapi.tools;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 공용 ObjectMapper 하나와 타입별로 미리 만든 ObjectReader/ObjectWriter 를 재사용합니다.
+ * ObjectMapper 는 설정을 바꾸지 않는 한 스레드 안전하므로 호출마다 새로 만들지 않습니다.
+ */
 @Slf4j
 public class JsonTool {
 
+	// 스트림 입출력은 호출 측이 닫음
+	private static final ObjectMapper MAPPER = JsonMapper.builder()
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+			.build();
+	private static final ObjectWriter WRITER = MAPPER.writer();
+	private static final ObjectReader MAP_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+	});
+
+	private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+		@Override
+		protected ObjectWriter computeValue(Class<?> type) {
+			return MAPPER.writerFor(type);
+		}
+	};
+	private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+		@Override
+		protected ObjectReader computeValue(Class<?> type) {
+			return MAPPER.readerFor(type);
+		}
+	};
+	private static final ClassValue<ObjectReader> LIST_READERS = new ClassValue<>() {
+		@Override
+		protected ObjectReader computeValue(Class<?> type) {
+			return MAPPER.readerFor(MAPPER.getTypeFactory().constructCollectionType(List.class, type));
+		}
+	};
+
+	// toBytes 용 스레드별 출력 버퍼 (결과만 복사해서 돌려줌)
+	private static final ThreadLocal<ByteArrayBuilder> BUFFERS = ThreadLocal.withInitial(ByteArrayBuilder::new);
+
 	public static String toString(Object obj) {
 		try {
-			ObjectMapper om = new ObjectMapper();
-			return om.writeValueAsString(obj);
+			return writer(obj).writeValueAsString(obj);
 		} catch (JsonProcessingException e) {
 			log.error("JsonTool.toString: {}", e.toString());
 			return new String();
 		}
 	}
 
+	public static byte[] toBytes(Object obj) {
+		ByteArrayBuilder buffer = BUFFERS.get();
+		try {
+			writer(obj).writeValue(buffer, obj);
+			return buffer.toByteArray();
+		} catch (IOException e) {
+			log.error("JsonTool.toBytes: {}", e.toString());
+			return new byte[0];
+		} finally {
+			buffer.reset();
+		}
+	}
+
+	// 중간 문자열 없이 스트림에 바로 기록. 스트림은 닫지 않음
+	public static void write(OutputStream out, Object obj) throws IOException {
+		writer(obj).writeValue(out, obj);
+	}
+
+	public static void write(Writer out, Object obj) throws IOException {
+		writer(obj).writeValue(out, obj);
+	}
+
 	public static <T> T toObject(String data, Class<T> c) {
 		try {
-			ObjectMapper om = new ObjectMapper();
-			return om.readValue(data, c);
+			return READERS.get(c).readValue(data);
 		} catch (JsonProcessingException e) {
 			log.error("JsonTool.toObject: {}", e.toString());
 			return null;
 		}
 	}
 
+	public static <T> T toObject(byte[] data, Class<T> c) {
+		try {
+			return READERS.get(c).readValue(data);
+		} catch (IOException e) {
+			log.error("JsonTool.toObject: {}", e.toString());
+			return null;
+		}
+	}
+
+	// 스트림에서 바로 읽음. 스트림은 닫지 않음
+	public static <T> T read(InputStream in, Class<T> c) throws IOException {
+		return READERS.get(c).readValue(in);
+	}
+
 	public static Map<String, Object> toMap(String data) {
 		try {
-			ObjectMapper om = new ObjectMapper();
-			return om.readValue(data, new TypeReference<Map<String, Object>>() {
-			});
+			return MAP_READER.readValue(data);
 		} catch (JsonProcessingException e) {
 			log.error("JsonTool.toMap: {}", e.toString());
 			return null;
@@ -48,8 +124,7 @@ public class JsonTool {
 
 	public static <T> List<T> toList(String data, Class<T> cls) {
 		try {
-			ObjectMapper om = new ObjectMapper();
-			return om.readValue(data, om.getTypeFactory().constructCollectionType(List.class, cls));
+			return LIST_READERS.get(cls).readValue(data);
 		} catch (JsonProcessingException e) {
 			log.error("JsonTool.toList: {}", e.toString());
 			return new ArrayList<T>();
@@ -58,15 +133,14 @@ public class JsonTool {
 
 	public static JsonNode toJsonNode(String data) {
 		try {
-			ObjectMapper om = new ObjectMapper();
-			return om.readTree(data);
-
-		} catch (JsonMappingException e) {
-			log.error("JsonTool.toJsonNode: {}", e.toString());
-
+			return MAPPER.readTree(data);
 		} catch (JsonProcessingException e) {
 			log.error("JsonTool.toJsonNode: {}", e.toString());
 		}
 		return null;
 	}
+
+	private static ObjectWriter writer(Object obj) {
+		return obj == null ? WRITER : WRITERS.get(obj.getClass());
+	}
 }
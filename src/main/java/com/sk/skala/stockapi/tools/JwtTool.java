@@ -2,9 +2,12 @@ package com.sk.skala.stockapi.tools;
 
 import java.util.Date;
 
+import javax.crypto.SecretKey;
+
 import com.sk.skala.stockapi.config.Constant;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -12,22 +15,30 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class JwtTool {
 
+	// 키와 파서는 스레드 안전하므로 한 번만 만듦
+	private static final SecretKey KEY = Keys.hmacShaKeyFor(Constant.JWT_SECRET.getBytes());
+	private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(KEY).build();
+
 	public static String generateToken(String id, Object payload) {
 		long currentTimeMillis = System.currentTimeMillis();
 		log.debug("JwtTool.generateToken: {} {}", id, payload.toString());
 		return Jwts.builder().setIssuer(Constant.JWT_ISSUER).setId(id).setSubject(Constant.JWT_SUBJECT)
 				.setIssuedAt(new Date(currentTimeMillis))
 				.setExpiration(new Date(currentTimeMillis + Constant.JWT_TTL_MILLIS))
-				.setAudience(JsonTool.toString(payload)).signWith(Keys.hmacShaKeyFor(Constant.JWT_SECRET.getBytes()))
+				.setAudience(JsonTool.toString(payload)).signWith(KEY)
 				.compact();
 
 	}
 
 	public static String getValidPayload(String token) {
-		Claims claims = Jwts.parserBuilder().setSigningKey(Constant.JWT_SECRET.getBytes()).build().parseClaimsJws(token)
-				.getBody();
+		return getValidClaims(token).getAudience();
+	}
+
+	// 서명과 만료를 검증한 클레임
+	public static Claims getValidClaims(String token) {
+		Claims claims = PARSER.parseClaimsJws(token).getBody();
 
-		log.debug("JwtTool.getValidPayload: {} {}", claims.getIssuer(), claims.getAudience());
-		return claims.getAudience();
+		log.debug("JwtTool.getValidClaims: {} {}", claims.getIssuer(), claims.getAudience());
+		return claims;
 	}
 }
@@ -0,0 +1,72 @@
+package com.sk.skala.stockapi.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * (timestamp, price) 16 바이트 레코드를 메모리 매핑 파일 끝에 이어 붙입니다.
+ * 파일은 segmentBytes 단위로 매핑하며, 닫을 때 실제 기록한 길이로 잘라냅니다.
+ * 동기화는 호출 측 책임입니다.
+ */
+public class MappedTickFile implements Closeable {
+
+	public static final int RECORD_SIZE = Long.BYTES + Double.BYTES;
+
+	private final FileChannel channel;
+	private final int segmentBytes;
+	private MappedByteBuffer buffer;
+	private long segmentStart;
+
+	public MappedTickFile(Path path, int segmentBytes) throws IOException {
+		this.segmentBytes = segmentBytes - segmentBytes % RECORD_SIZE;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		map(findEnd());
+	}
+
+	public void append(long timestamp, double price) throws IOException {
+		if (buffer.remaining() < RECORD_SIZE) {
+			map(segmentStart + buffer.position());
+		}
+		buffer.putLong(timestamp);
+		buffer.putDouble(price);
+	}
+
+	public long size() {
+		return (segmentStart + buffer.position()) / RECORD_SIZE;
+	}
+
+	@Override
+	public void close() throws IOException {
+		long end = segmentStart + buffer.position();
+		buffer.force();
+		buffer = null;
+		channel.truncate(end);
+		channel.close();
+	}
+
+	private void map(long position) throws IOException {
+		if (buffer != null) {
+			buffer.force();
+		}
+		segmentStart = position;
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentBytes);
+	}
+
+	// 비정상 종료로 남은 빈 레코드(timestamp 0)를 건너뛴 실제 끝 위치
+	private long findEnd() throws IOException {
+		long size = channel.size() - channel.size() % RECORD_SIZE;
+		long start = Math.max(0, size - segmentBytes);
+		MappedByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, start, size - start);
+		long end = start;
+		while (tail.remaining() >= RECORD_SIZE && tail.getLong() != 0) {
+			tail.getDouble();
+			end += RECORD_SIZE;
+		}
+		return end;
+	}
+}
@@ -0,0 +1,156 @@
+package com.sk.skala.stockapi.tools;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 부분 트리 크기를 함께 유지하는 트립(treap) 기반 순위 트리입니다.
+ * 삽입/삭제/순위 조회는 O(log n), offset 부터 k 개 조회는 O(log n + k) 입니다.
+ * 비교자는 원소 간 전순서(동점 없음)를 보장해야 하며, 동기화는 호출 측 책임입니다.
+ */
+public class RankTree<T> {
+
+	private final Comparator<? super T> comparator;
+	private final SplittableRandom random = new SplittableRandom();
+	private Node<T> root;
+
+	public RankTree(Comparator<? super T> comparator) {
+		this.comparator = comparator;
+	}
+
+	public int size() {
+		return size(root);
+	}
+
+	public void clear() {
+		root = null;
+	}
+
+	public void add(T value) {
+		Node<T>[] parts = split(root, value);
+		root = merge(merge(parts[0], new Node<>(value, random.nextInt())), parts[1]);
+	}
+
+	public boolean remove(T value) {
+		int before = size(root);
+		root = remove(root, value);
+		return size(root) < before;
+	}
+
+	// 0 부터 시작하는 순위, 없으면 -1
+	public int indexOf(T value) {
+		int index = 0;
+		Node<T> node = root;
+		while (node != null) {
+			int cmp = comparator.compare(value, node.value);
+			if (cmp < 0) {
+				node = node.left;
+			} else if (cmp > 0) {
+				index += size(node.left) + 1;
+				node = node.right;
+			} else {
+				return index + size(node.left);
+			}
+		}
+		return -1;
+	}
+
+	public List<T> range(int offset, int limit) {
+		int count = Math.max(0, Math.min(limit, size(root) - offset));
+		List<T> result = new ArrayList<>(count);
+		if (count > 0) {
+			collect(root, offset, count, result);
+		}
+		return result;
+	}
+
+	private void collect(Node<T> node, int offset, int count, List<T> result) {
+		if (node == null || result.size() >= count) {
+			return;
+		}
+		int leftSize = size(node.left);
+		if (offset < leftSize) {
+			collect(node.left, offset, count, result);
+		}
+		if (result.size() < count && offset <= leftSize) {
+			result.add(node.value);
+		}
+		collect(node.right, Math.max(0, offset - leftSize - 1), count, result);
+	}
+
+	// value 미만 / value 이상으로 분리
+	private Node<T>[] split(Node<T> node, T value) {
+		@SuppressWarnings("unchecked")
+		Node<T>[] parts = new Node[2];
+		if (node == null) {
+			return parts;
+		}
+		if (comparator.compare(node.value, value) < 0) {
+			Node<T>[] right = split(node.right, value);
+			node.right = right[0];
+			parts[0] = update(node);
+			parts[1] = right[1];
+		} else {
+			Node<T>[] left = split(node.left, value);
+			node.left = left[1];
+			parts[0] = left[0];
+			parts[1] = update(node);
+		}
+		return parts;
+	}
+
+	private Node<T> merge(Node<T> left, Node<T> right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			return update(left);
+		} else {
+			right.left = merge(left, right.left);
+			return update(right);
+		}
+	}
+
+	private Node<T> remove(Node<T> node, T value) {
+		if (node == null) {
+			return null;
+		}
+		int cmp = comparator.compare(value, node.value);
+		if (cmp < 0) {
+			node.left = remove(node.left, value);
+		} else if (cmp > 0) {
+			node.right = remove(node.right, value);
+		} else {
+			return merge(node.left, node.right);
+		}
+		return update(node);
+	}
+
+	private static <T> Node<T> update(Node<T> node) {
+		node.size = 1 + size(node.left) + size(node.right);
+		return node;
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static class Node<T> {
+		private final T value;
+		private final int priority;
+		private int size = 1;
+		private Node<T> left;
+		private Node<T> right;
+
+		private Node(T value, int priority) {
+			this.value = value;
+			this.priority = priority;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.sk.skala.stockapi.tools;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.sk.skala.stockapi.config.Constant;
+
+/**
+ * JWT 대신 쓸 수 있는 고정 배치의 바이너리 세션 토큰입니다.
+ * [버전 1B][발급 시각 8B][만료 시각 8B][playerId 길이 1B][playerId UTF-8][HMAC-SHA256 32B] 를 base64url 로 한 번만 인코딩하며,
+ * JSON 파싱 없이 길이 확인, HMAC 비교, 만료 확인만으로 검증합니다.
+ * base64url 에는 '.' 이 없으므로 '.' 으로 구분되는 JWT 와 섞여 있어도 isCompact 로 구분합니다.
+ */
+public class SessionTokenTool {
+
+	public static final byte VERSION = 1;
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final int HEADER_SIZE = 1 + Long.BYTES * 2 + 1;
+	private static final int TAG_SIZE = 32;
+	private static final int MAX_ID_BYTES = 255;
+
+	private static final SecretKeySpec KEY = new SecretKeySpec(Constant.JWT_SECRET.getBytes(), ALGORITHM);
+	// Mac 은 스레드 안전하지 않으므로 스레드마다 하나씩 초기화해 재사용
+	private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(KEY);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	public static String generateToken(String playerId, long issuedAt, long expiresAt) {
+		byte[] id = playerId.getBytes(StandardCharsets.UTF_8);
+		if (id.length > MAX_ID_BYTES) {
+			throw new IllegalArgumentException("playerId too long");
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + id.length + TAG_SIZE);
+		buffer.put(VERSION);
+		buffer.putLong(issuedAt);
+		buffer.putLong(expiresAt);
+		buffer.put((byte) id.length);
+		buffer.put(id);
+
+		Mac mac = MAC.get();
+		mac.update(buffer.array(), 0, buffer.position());
+		buffer.put(mac.doFinal());
+		return ENCODER.encodeToString(buffer.array());
+	}
+
+	public static boolean isCompact(String token) {
+		return token.indexOf('.') < 0;
+	}
+
+	// 서명과 만료를 검증한 토큰 내용. 유효하지 않으면 SecurityException
+	public static Token verify(String token) {
+		byte[] bytes;
+		try {
+			bytes = DECODER.decode(token);
+		} catch (IllegalArgumentException e) {
+			throw new SecurityException("invalid session token");
+		}
+		if (bytes.length < HEADER_SIZE + TAG_SIZE || bytes[0] != VERSION) {
+			throw new SecurityException("invalid session token");
+		}
+		int idLength = bytes[HEADER_SIZE - 1] & 0xFF;
+		int bodyLength = HEADER_SIZE + idLength;
+		if (bytes.length != bodyLength + TAG_SIZE) {
+			throw new SecurityException("invalid session token");
+		}
+
+		Mac mac = MAC.get();
+		mac.update(bytes, 0, bodyLength);
+		byte[] expected = mac.doFinal();
+		byte[] actual = new byte[TAG_SIZE];
+		System.arraycopy(bytes, bodyLength, actual, 0, TAG_SIZE);
+		if (!MessageDigest.isEqual(expected, actual)) {
+			throw new SecurityException("invalid session token");
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bodyLength - 1);
+		long issuedAt = buffer.getLong();
+		long expiresAt = buffer.getLong();
+		if (expiresAt <= System.currentTimeMillis()) {
+			throw new SecurityException("session token expired");
+		}
+		return new Token(new String(bytes, HEADER_SIZE, idLength, StandardCharsets.UTF_8), issuedAt, expiresAt);
+	}
+
+	public record Token(String playerId, long issuedAt, long expiresAt) {
+	}
+}
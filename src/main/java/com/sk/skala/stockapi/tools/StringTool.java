@@ -1,5 +1,7 @@
 package com.sk.skala.stockapi.tools;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.regex.Pattern;
 
 public class StringTool {
@@ -42,6 +44,20 @@ public class StringTool {
 		return dest;
 	}
 
+	// 페이지 커서: 정렬 키를 감춘 base64url 문자열
+	public static String toCursor(String key) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// 잘못된 커서면 null
+	public static String fromCursor(String cursor) {
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
 	public static String like(String string) {
 		return "%" + string + "%";
 	}
@@ -0,0 +1,30 @@
+package com.sk.skala.stockapi.tools;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 키의 해시로 고정 개수의 잠금 중 하나를 고릅니다.
+ * 같은 키는 항상 같은 잠금을 쓰고, 다른 키는 대부분 서로 다른 잠금을 쓰므로
+ * 키마다 잠금을 만들지 않고도 키 단위 직렬화를 할 수 있습니다.
+ */
+public class StripedLock {
+
+	private final Lock[] locks;
+	private final int mask;
+
+	public StripedLock(int stripes) {
+		int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1; // 2 의 거듭제곱으로 올림
+		this.locks = new Lock[size];
+		this.mask = size - 1;
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	public Lock get(Object key) {
+		int hash = key.hashCode();
+		hash ^= hash >>> 16;
+		return locks[hash & mask];
+	}
+}
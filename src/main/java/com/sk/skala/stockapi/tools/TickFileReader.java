@@ -0,0 +1,98 @@
+package com.sk.skala.stockapi.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * TickFileWriter 가 기록한 파일을 메모리 매핑으로 순차 읽습니다.
+ * 큰 파일은 windowBytes 단위로 나눠 매핑하며, 비정상 종료로 남은 빈 프레임(timestamp 0)이나
+ * 잘린 프레임을 만나면 끝으로 봅니다.
+ * 동기화는 호출 측 책임입니다.
+ */
+public class TickFileReader implements Closeable {
+
+	private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long fileSize;
+	private MappedByteBuffer buffer;
+	private long windowStart;
+
+	private long timestamp;
+	private long[] stockIds;
+	private double[] prices;
+
+	public TickFileReader(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.fileSize = channel.size();
+		rewind();
+	}
+
+	// 처음 프레임으로 되돌림
+	public void rewind() throws IOException {
+		windowStart = 0;
+		buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(WINDOW_BYTES, fileSize));
+		if (!ensure(TickFileWriter.HEADER_SIZE) || buffer.getInt() != TickFileWriter.MAGIC
+				|| buffer.getInt() != TickFileWriter.VERSION) {
+			throw new IOException("Not a tick file");
+		}
+	}
+
+	// 다음 프레임을 읽어 getTimestamp/getStockIds/getPrices 로 제공, 끝이면 false
+	public boolean next() throws IOException {
+		if (!ensure(TickFileWriter.FRAME_HEADER_SIZE)) {
+			return false;
+		}
+		long frameTimestamp = buffer.getLong();
+		int count = buffer.getInt();
+		if (frameTimestamp == 0 || count < 0 || !ensure((long) count * TickFileWriter.ENTRY_SIZE)) {
+			return false;
+		}
+
+		timestamp = frameTimestamp;
+		stockIds = new long[count];
+		prices = new double[count];
+		for (int i = 0; i < count; i++) {
+			stockIds[i] = buffer.getInt();
+			prices[i] = buffer.getDouble();
+		}
+		return true;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public long[] getStockIds() {
+		return stockIds;
+	}
+
+	public double[] getPrices() {
+		return prices;
+	}
+
+	@Override
+	public void close() throws IOException {
+		buffer = null;
+		channel.close();
+	}
+
+	// 현재 위치부터 bytes 만큼 읽을 수 있도록 창을 옮김
+	private boolean ensure(long bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return true;
+		}
+		long position = windowStart + buffer.position();
+		if (position + bytes > fileSize || bytes > Integer.MAX_VALUE) {
+			return false;
+		}
+		windowStart = position;
+		buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+				Math.min(Math.max(WINDOW_BYTES, bytes), fileSize - position));
+		return true;
+	}
+}
@@ -0,0 +1,68 @@
+package com.sk.skala.stockapi.tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 시세 틱을 TickFileReader 가 읽는 바이너리 형식으로 기록합니다.
+ * 파일 헤더: int MAGIC, int VERSION
+ * 틱 프레임: long timestamp, int count, count x (int stockId, double price)
+ * 파일은 segmentBytes 단위로 매핑하며, 닫을 때 실제 기록한 길이로 잘라냅니다.
+ * 동기화는 호출 측 책임입니다.
+ */
+public class TickFileWriter implements Closeable {
+
+	public static final int MAGIC = 0x534B544B; // "SKTK"
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = Integer.BYTES * 2;
+	public static final int FRAME_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+	public static final int ENTRY_SIZE = Integer.BYTES + Double.BYTES;
+
+	private final FileChannel channel;
+	private final int segmentBytes;
+	private MappedByteBuffer buffer;
+	private long segmentStart;
+
+	public TickFileWriter(Path path, int segmentBytes) throws IOException {
+		this.segmentBytes = Math.max(segmentBytes, HEADER_SIZE);
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		map(0, this.segmentBytes);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+	}
+
+	public void write(long timestamp, long[] stockIds, double[] prices) throws IOException {
+		int frameSize = FRAME_HEADER_SIZE + ENTRY_SIZE * stockIds.length;
+		if (buffer.remaining() < frameSize) {
+			map(segmentStart + buffer.position(), Math.max(segmentBytes, frameSize));
+		}
+		buffer.putLong(timestamp);
+		buffer.putInt(stockIds.length);
+		for (int i = 0; i < stockIds.length; i++) {
+			buffer.putInt((int) stockIds[i]);
+			buffer.putDouble(prices[i]);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		long end = segmentStart + buffer.position();
+		buffer.force();
+		buffer = null;
+		channel.truncate(end);
+		channel.close();
+	}
+
+	private void map(long position, int size) throws IOException {
+		if (buffer != null) {
+			buffer.force();
+		}
+		segmentStart = position;
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+	}
+}
@@ -0,0 +1,34 @@
+-- 이 변경 이전(ddl-auto: update)에 Hibernate 가 만들던 스키마. 이력 테이블이 없는 기존 DB 는 이 버전으로 기록됨
+create table player (
+    player_id varchar(255) not null,
+    initial_money float(53) not null,
+    player_money float(53) not null,
+    player_password varchar(255),
+    primary key (player_id)
+);
+
+create table stock (
+    id bigint generated by default as identity,
+    stock_name varchar(255),
+    stock_price float(53),
+    primary key (id)
+);
+
+create table player_stock (
+    id bigint generated by default as identity,
+    quantity integer not null,
+    player_id varchar(255),
+    stock_id bigint,
+    primary key (id),
+    constraint fk_player_stock_player foreign key (player_id) references player,
+    constraint fk_player_stock_stock foreign key (stock_id) references stock
+);
+
+create table player_watchlist (
+    id bigint generated by default as identity,
+    player_id varchar(255) not null,
+    stock_id bigint not null,
+    primary key (id),
+    constraint fk_player_watchlist_player foreign key (player_id) references player,
+    constraint fk_player_watchlist_stock foreign key (stock_id) references stock
+);
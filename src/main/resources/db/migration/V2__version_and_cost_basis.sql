@@ -0,0 +1,7 @@
+-- 잠금 밖의 변경을 감지하는 @Version (기존 행은 0 부터)
+alter table player add column version bigint default 0;
+alter table player_stock add column version bigint default 0;
+
+-- 보유 내역의 취득 원가. 기존 보유분은 원가 기록이 없으므로 현재가로 산 것으로 봄
+alter table player_stock add column cost_basis float(53) default 0 not null;
+update player_stock ps set cost_basis = ps.quantity * coalesce((select s.stock_price from stock s where s.id = ps.stock_id), 0);
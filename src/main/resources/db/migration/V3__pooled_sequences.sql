@@ -0,0 +1,12 @@
+-- IDENTITY 대신 pooled 시퀀스(allocationSize 50)로 ID 를 미리 받아 일괄 insert 가 묶이게 함
+-- Hibernate 는 받은 값 v 에 대해 (v - 50, v] 범위를 쓰므로 기존 최대 ID + 50 부터 시작
+alter table stock alter column id drop identity;
+alter table player_stock alter column id drop identity;
+alter table player_watchlist alter column id drop identity;
+
+create sequence stock_seq start with 1 increment by 50;
+create sequence player_stock_seq start with 1 increment by 50;
+create sequence player_watchlist_seq start with 1 increment by 50;
+alter sequence stock_seq restart with (select coalesce(max(id), 0) + 50 from stock);
+alter sequence player_stock_seq restart with (select coalesce(max(id), 0) + 50 from player_stock);
+alter sequence player_watchlist_seq restart with (select coalesce(max(id), 0) + 50 from player_watchlist);
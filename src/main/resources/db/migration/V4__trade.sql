@@ -0,0 +1,15 @@
+-- 체결 이력. 플레이어나 주식이 삭제되어도 남도록 외래 키 없이 ID 만 보관
+create sequence trade_seq start with 1 increment by 50;
+
+create table trade (
+    id bigint not null,
+    player_id varchar(255) not null,
+    stock_id bigint not null,
+    side varchar(4) not null,
+    quantity integer not null,
+    price float(53) not null,
+    executed_at bigint not null,
+    primary key (id)
+);
+
+create index idx_trade_player_executed on trade (player_id, executed_at);
@@ -0,0 +1,8 @@
+-- 보유/관심 종목은 플레이어-주식 조합당 한 행. (player_id, stock_id) 조회와 player_id 조회를 함께 처리
+alter table player_stock alter column player_id set not null;
+alter table player_stock alter column stock_id set not null;
+create unique index uk_player_stock on player_stock (player_id, stock_id);
+create unique index uk_player_watchlist on player_watchlist (player_id, stock_id);
+
+-- findByStockName 조회용, 이름 중복 등록 방지
+create unique index uk_stock_name on stock (stock_name);
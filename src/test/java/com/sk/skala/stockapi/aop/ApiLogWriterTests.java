@@ -0,0 +1,71 @@
+package com.sk.skala.stockapi.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.common.ApiLog;
+import com.sk.skala.stockapi.service.MetricsRecorder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * API 로그 기록/버림/샘플링 제외 수와 대기 수가 Micrometer 지표로 보이는지,
+ * 기록 스레드가 start 전에는 돌지 않는지, 본문이 요청 스레드에서 길이 제한 안으로 잘리는지 확인합니다.
+ */
+class ApiLogWriterTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ApiLogWriter apiLogWriter = new ApiLogWriter(new ApplicationProperties(),
+			new MetricsRecorder(meterRegistry));
+
+	@AfterEach
+	void tearDown() {
+		apiLogWriter.close();
+	}
+
+	@Test
+	void countsAreExportedAsMeters() {
+		ApiLog withBody = new ApiLog();
+		withBody.setRequestBody(apiLogWriter.toBody(Map.of("stockId", 1)));
+		apiLogWriter.offer(withBody);
+		apiLogWriter.offer(new ApiLog());
+		apiLogWriter.sampledOut();
+
+		// start 전에는 버퍼에만 쌓임
+		assertEquals(2, apiLogWriter.getPending());
+		apiLogWriter.start();
+
+		// 기록 스레드가 버퍼를 비울 때까지 대기
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			while (apiLogWriter.getWritten() < 2) {
+				Thread.sleep(10);
+			}
+		});
+
+		assertEquals(2.0, meterRegistry.get(MetricsRecorder.API_LOG_WRITTEN).functionCounter().count());
+		assertEquals(0.0, meterRegistry.get(MetricsRecorder.API_LOG_DROPPED).functionCounter().count());
+		assertEquals(1.0, meterRegistry.get(MetricsRecorder.API_LOG_SAMPLED_OUT).functionCounter().count());
+		assertEquals(0.0, meterRegistry.get(MetricsRecorder.API_LOG_PENDING).gauge().value());
+	}
+
+	@Test
+	void bodyIsCutAtMaxBodyChars() {
+		ApplicationProperties applicationProperties = new ApplicationProperties();
+		applicationProperties.getApiLogging().setMaxBodyChars(10);
+		ApiLogWriter writer = new ApiLogWriter(applicationProperties, new MetricsRecorder(new SimpleMeterRegistry()));
+
+		assertEquals("{\"stockId\"...", writer.toBody(Map.of("stockId", 1234567890)));
+		assertEquals("{\"id\":1}", writer.toBody(Map.of("id", 1)));
+		assertNull(writer.toBody(null));
+		writer.close();
+	}
+}
@@ -0,0 +1,88 @@
+package com.sk.skala.stockapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * 이력 테이블 없이 ddl-auto 로 만들어진 기존 DB 가 V1 로 기록된 뒤 나머지 버전을 거쳐 새 DB 와 같은 스키마가 되는지,
+ * 기존 데이터의 버전/취득 원가/시퀀스가 채워지는지, V1 보다 새 스키마는 자동으로 기록하지 않는지 확인합니다.
+ */
+class SchemaMigratorTests {
+
+	private static final String COLUMNS = "select table_name, column_name, data_type, is_nullable, is_identity"
+			+ " from information_schema.columns where table_schema = 'PUBLIC' order by table_name, column_name";
+	private static final String INDEXES = "select table_name, index_name from information_schema.indexes"
+			+ " where table_schema = 'PUBLIC' and (index_name like 'UK%' or index_name like 'IDX%') order by index_name";
+	private static final String SEQUENCES = "select sequence_name, increment from information_schema.sequences"
+			+ " where sequence_schema = 'PUBLIC' order by sequence_name";
+
+	@Test
+	void legacySchemaEndsLikeFreshSchema() throws Exception {
+		DataSource fresh = dataSource("migrator-fresh");
+		new SchemaMigrator(fresh).migrate();
+		DataSource legacy = legacy("migrator-legacy");
+		new SchemaMigrator(legacy).migrate();
+
+		JdbcTemplate freshJdbc = new JdbcTemplate(fresh);
+		JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+		assertEquals(freshJdbc.queryForList(COLUMNS), legacyJdbc.queryForList(COLUMNS));
+		assertEquals(freshJdbc.queryForList(INDEXES), legacyJdbc.queryForList(INDEXES));
+		assertEquals(freshJdbc.queryForList(SEQUENCES), legacyJdbc.queryForList(SEQUENCES));
+		// 기존 DB 는 V1 만 기록되고 나머지는 새 DB 와 같은 버전들이 적용됨
+		String versions = "select version from schema_version order by version";
+		assertEquals(freshJdbc.queryForList(versions, Integer.class), legacyJdbc.queryForList(versions, Integer.class));
+		assertEquals("baseline (existing schema)",
+				legacyJdbc.queryForObject("select description from schema_version where version = 1", String.class));
+	}
+
+	@Test
+	void legacyRowsAreFilledIn() throws Exception {
+		DataSource legacy = legacy("migrator-rows");
+		new SchemaMigrator(legacy).migrate();
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+		assertEquals(0L, jdbcTemplate.queryForObject("select version from player where player_id = 'legacy'", Long.class));
+		// 기존 보유분의 취득 원가는 현재가 기준
+		List<Map<String, Object>> holdings = jdbcTemplate.queryForList(
+				"select stock_id, cost_basis, version from player_stock order by stock_id");
+		assertEquals(1000.0, holdings.get(0).get("COST_BASIS"));
+		assertEquals(600.0, holdings.get(1).get("COST_BASIS"));
+		assertEquals(0L, holdings.get(0).get("VERSION"));
+		// pooled 시퀀스가 주는 범위 (v - 50, v] 가 기존 ID 와 겹치지 않음
+		long stockSeq = jdbcTemplate.queryForObject("select next value for stock_seq", Long.class);
+		assertTrue(stockSeq - Constant.ID_ALLOCATION_SIZE >= 3, "stock_seq " + stockSeq);
+		long holdingSeq = jdbcTemplate.queryForObject("select next value for player_stock_seq", Long.class);
+		assertTrue(holdingSeq - Constant.ID_ALLOCATION_SIZE >= 2, "player_stock_seq " + holdingSeq);
+	}
+
+	@Test
+	void newerSchemaWithoutHistoryIsRefused() {
+		DataSource dataSource = dataSource("migrator-newer");
+		new JdbcTemplate(dataSource).execute("create table player (player_id varchar(255) primary key, version bigint)");
+
+		assertThrows(IllegalStateException.class, () -> new SchemaMigrator(dataSource).migrate());
+	}
+
+	// 스키마 이력 도입 전 ddl-auto 로 만들어진 DB
+	private static DataSource legacy(String name) {
+		DataSource dataSource = dataSource(name);
+		new ResourceDatabasePopulator(new ClassPathResource("db/legacy/pre_migration.sql")).execute(dataSource);
+		return dataSource;
+	}
+
+	private static DataSource dataSource(String name) {
+		return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+	}
+}
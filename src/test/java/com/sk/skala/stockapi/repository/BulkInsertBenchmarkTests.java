@@ -0,0 +1,136 @@
+package com.sk.skala.stockapi.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sk.skala.stockapi.data.table.Trade;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 체결 기록 대량 INSERT 처리량을 이전 매핑(IDENTITY)과 현재 매핑(pooled 시퀀스 + JDBC 배치)으로 비교합니다.
+ * IDENTITY 는 행마다 INSERT 후 생성 키를 읽어야 해서 Hibernate 가 배치를 끕니다.
+ * 시간은 로그로만 남기고, 배치로 묶였는지는 준비한 문장 수로 확인합니다.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:bulk-insert-benchmark;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.com.sk.skala=INFO",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class BulkInsertBenchmarkTests {
+
+	private static final int WARMUP = 2000;
+	private static final int ROWS = 20000;
+	private static final int FLUSH_ROWS = 1000; // 영속성 컨텍스트를 비우는 단위
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Test
+	void bulkInsertThroughput() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		insert(WARMUP, IdentityTrade::new);
+		insert(WARMUP, Trade::new);
+
+		statistics.clear();
+		long started = System.nanoTime();
+		insert(ROWS, IdentityTrade::new);
+		long identityNanos = System.nanoTime() - started;
+		long identityStatements = statistics.getPrepareStatementCount();
+
+		statistics.clear();
+		started = System.nanoTime();
+		insert(ROWS, Trade::new);
+		long sequenceNanos = System.nanoTime() - started;
+		long sequenceStatements = statistics.getPrepareStatementCount();
+
+		assertEquals(WARMUP + ROWS, count(IdentityTrade.class));
+		assertEquals(WARMUP + ROWS, count(Trade.class));
+		assertEquals(ROWS, identityStatements);
+		// 배치 50 건마다 INSERT 한 번 + 시퀀스 조회 한 번 정도여야 함
+		assertTrue(sequenceStatements <= ROWS / 10, "prepared statements: " + sequenceStatements);
+
+		log.info("bulk insert {} rows: identity {} rows/s ({} statements), sequence+batch {} rows/s ({} statements)",
+				ROWS, ROWS * 1_000_000_000L / identityNanos, identityStatements,
+				ROWS * 1_000_000_000L / sequenceNanos, sequenceStatements);
+	}
+
+	private void insert(int count, TradeFactory factory) {
+		long now = System.currentTimeMillis();
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < count; i++) {
+				entityManager.persist(factory.create("bench-" + (i % 100), 1 + i % 4, i % 2 == 0 ? "BUY" : "SELL",
+						1 + i % 10, 100 + i % 7, now + i));
+				if ((i + 1) % FLUSH_ROWS == 0) {
+					entityManager.flush();
+					entityManager.clear();
+				}
+			}
+		});
+	}
+
+	private long count(Class<?> entity) {
+		return entityManager.createQuery("select count(t) from " + entity.getSimpleName() + " t", Long.class)
+				.getSingleResult();
+	}
+
+	private interface TradeFactory {
+		Object create(String playerId, long stockId, String side, int quantity, double price, long executedAt);
+	}
+
+	// 시퀀스로 바꾸기 전 Trade 매핑
+	@Getter
+	@Entity(name = "IdentityTrade")
+	@NoArgsConstructor
+	@Table(name = "identity_trade")
+	static class IdentityTrade {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String playerId;
+		private long stockId;
+		private String side;
+		private int quantity;
+		private double price;
+		private long executedAt;
+
+		IdentityTrade(String playerId, long stockId, String side, int quantity, double price, long executedAt) {
+			this.playerId = playerId;
+			this.stockId = stockId;
+			this.side = side;
+			this.quantity = quantity;
+			this.price = price;
+			this.executedAt = executedAt;
+		}
+	}
+}
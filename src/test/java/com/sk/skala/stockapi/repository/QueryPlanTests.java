@@ -0,0 +1,139 @@
+package com.sk.skala.stockapi.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 보유/관심 종목 100 만 행에서 자주 쓰는 조회가 마이그레이션으로 만든 인덱스를 타는지 H2 실행 계획으로 확인합니다.
+ * 인덱스가 빠지면 계획에 tableScan 이 나오고 읽은 행 수(scanCount)가 전체 행 수로 커집니다.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:query-plan;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"logging.level.com.sk.skala=INFO",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class QueryPlanTests {
+
+	private static final int PLAYERS = 1000;
+	private static final int STOCKS = 1000; // 보유/관심 종목은 각각 PLAYERS x STOCKS = 100 만 행
+	private static final long STOCK_ID_BASE = 1_000_000; // 기본 데이터와 겹치지 않는 id
+	private static final int FILL_CHUNK = 50_000;
+
+	// 플레이어 한 명의 보유 종목 수만큼 읽고, 조인한 주식은 기본 키로 한 건씩 (H2 는 찾은 행마다 2 로 셈)
+	private static final int JOIN_SCAN_LIMIT = 2 * STOCKS + 1;
+
+	private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	void fill() {
+		long started = System.nanoTime();
+		// 채우는 동안만 외래 키 검사를 끔 (생성 데이터라 참조가 항상 맞음)
+		jdbcTemplate.execute("set referential_integrity false");
+		jdbcTemplate.update("insert into player (player_id, player_money, initial_money, version) "
+				+ "select 'plan-' || x, 1000, 1000, 0 from system_range(1, ?)", PLAYERS);
+		jdbcTemplate.update("insert into stock (id, stock_name, stock_price) "
+				+ "select ? + x, 'plan-stock-' || x, 10 from system_range(1, ?)", STOCK_ID_BASE, STOCKS);
+		// 한 문장이 100 만 행을 다 들고 있지 않도록 나눠서 커밋
+		for (long from = 1; from <= (long) PLAYERS * STOCKS; from += FILL_CHUNK) {
+			long to = from + FILL_CHUNK - 1;
+			jdbcTemplate.update("insert into player_stock (id, player_id, stock_id, quantity, cost_basis, version) "
+					+ "select ? + x, 'plan-' || ((x - 1) / ? + 1), ? + mod(x - 1, ?) + 1, 1, 10, 0 from system_range(?, ?)",
+					STOCK_ID_BASE, STOCKS, STOCK_ID_BASE, STOCKS, from, to);
+			jdbcTemplate.update("insert into player_watchlist (id, player_id, stock_id) "
+					+ "select ? + x, 'plan-' || ((x - 1) / ? + 1), ? + mod(x - 1, ?) + 1 from system_range(?, ?)",
+					STOCK_ID_BASE, STOCKS, STOCK_ID_BASE, STOCKS, from, to);
+		}
+		jdbcTemplate.execute("set referential_integrity true");
+		jdbcTemplate.execute("analyze");
+		log.info("QueryPlanTests.fill: {} ms", (System.nanoTime() - started) / 1_000_000);
+	}
+
+	// PlayerStockRepository.findByPlayerAndStock
+	@Test
+	void holdingByPlayerAndStock() {
+		String plan = plan("select * from player_stock where player_id = 'plan-500' and stock_id = " + (STOCK_ID_BASE + 500));
+		assertUsesIndex(plan, "UK_PLAYER_STOCK");
+		assertScanCount(plan, 2);
+	}
+
+	// PlayerStockRepository.findViewsByPlayerId
+	// player_id 인덱스는 외래 키 인덱스와 유니크 인덱스 앞부분 중 어느 쪽을 타도 되므로 읽은 행 수만 확인
+	@Test
+	void holdingsByPlayer() {
+		String plan = plan("select s.id, s.stock_name, ps.quantity, ps.cost_basis from player_stock ps "
+				+ "join stock s on s.id = ps.stock_id where ps.player_id = 'plan-500' order by s.id");
+		assertNoTableScan(plan);
+		assertScanCount(plan, JOIN_SCAN_LIMIT);
+	}
+
+	// PlayerWatchlistRepository.findByPlayer_PlayerIdAndStock_Id
+	@Test
+	void watchlistByPlayerAndStock() {
+		String plan = plan("select * from player_watchlist where player_id = 'plan-500' and stock_id = " + (STOCK_ID_BASE + 500));
+		assertUsesIndex(plan, "UK_PLAYER_WATCHLIST");
+		assertScanCount(plan, 2);
+	}
+
+	// PlayerWatchlistRepository.findDtosByPlayerId
+	@Test
+	void watchlistByPlayer() {
+		String plan = plan("select w.id, s.id, s.stock_name from player_watchlist w "
+				+ "join stock s on s.id = w.stock_id where w.player_id = 'plan-500' order by w.id");
+		assertNoTableScan(plan);
+		assertScanCount(plan, JOIN_SCAN_LIMIT);
+	}
+
+	// StockRepository.findByStockName
+	@Test
+	void stockByName() {
+		String plan = plan("select * from stock where stock_name = 'plan-stock-500'");
+		assertUsesIndex(plan, "UK_STOCK_NAME");
+		assertScanCount(plan, 2);
+	}
+
+	private String plan(String sql) {
+		String plan = jdbcTemplate.queryForObject("explain analyze " + sql, String.class);
+		log.info("QueryPlanTests.plan: {}", plan);
+		return plan;
+	}
+
+	private static void assertUsesIndex(String plan, String index) {
+		assertTrue(plan.contains(index), plan);
+		assertNoTableScan(plan);
+	}
+
+	private static void assertNoTableScan(String plan) {
+		assertFalse(plan.contains("tableScan"), plan);
+	}
+
+	// 조인한 테이블은 각각 scanCount 가 나오므로 모두 한도 이하인지 확인
+	private static void assertScanCount(String plan, int max) {
+		Matcher matcher = SCAN_COUNT.matcher(plan);
+		boolean found = false;
+		while (matcher.find()) {
+			found = true;
+			assertTrue(Long.parseLong(matcher.group(1)) <= max, plan);
+		}
+		assertTrue(found, plan);
+	}
+}
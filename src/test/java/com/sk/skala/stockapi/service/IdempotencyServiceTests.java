@@ -0,0 +1,130 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.exception.ResponseException;
+
+/**
+ * 같은 Idempotency-Key 의 재시도가 거래를 다시 실행하지 않고 처음 결과를 돌려주는지,
+ * 실패한 요청의 키는 다시 쓸 수 있는지 확인합니다.
+ */
+class IdempotencyServiceTests {
+
+	private static final String PLAYER_ID = "idempotency";
+	private static final String KEY = "key-1";
+
+	private final SessionHandler sessionHandler = mock(SessionHandler.class);
+	private final IdempotencyService idempotencyService = new IdempotencyService(sessionHandler,
+			new ApplicationProperties());
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		when(sessionHandler.getPlayerId()).thenReturn(PLAYER_ID);
+	}
+
+	@Test
+	void replayReturnsFirstResponse() {
+		Response first = idempotencyService.execute(KEY, "buy", order(1), this::run);
+		Response second = idempotencyService.execute(KEY, "buy", order(1), this::run);
+
+		assertSame(first, second);
+		assertEquals(1, runs.get());
+
+		// 다른 키는 따로 실행
+		idempotencyService.execute("key-2", "buy", order(1), this::run);
+		assertEquals(2, runs.get());
+	}
+
+	@Test
+	void keyReusedWithDifferentRequestIsRejected() {
+		idempotencyService.execute(KEY, "buy", order(1), this::run);
+
+		ResponseException body = assertThrows(ResponseException.class,
+				() -> idempotencyService.execute(KEY, "buy", order(2), this::run));
+		assertEquals(Error.IDEMPOTENCY_KEY_REUSED.getCode(), body.getCode());
+		ResponseException operation = assertThrows(ResponseException.class,
+				() -> idempotencyService.execute(KEY, "sell", order(1), this::run));
+		assertEquals(Error.IDEMPOTENCY_KEY_REUSED.getCode(), operation.getCode());
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void failedRequestCanBeRetried() {
+		assertThrows(ResponseException.class, () -> idempotencyService.execute(KEY, "buy", order(1), () -> {
+			throw new ResponseException(Error.INSUFFICIENT_FUNDS);
+		}));
+		// Error 로 끝나도 키가 막히지 않음
+		assertThrows(StackOverflowError.class, () -> idempotencyService.execute(KEY, "buy", order(1), () -> {
+			throw new StackOverflowError();
+		}));
+
+		Response response = assertTimeoutPreemptively(Duration.ofSeconds(5),
+				() -> idempotencyService.execute(KEY, "buy", order(1), this::run));
+		assertEquals(Response.SUCCESS, response.getResult());
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void concurrentDuplicatesRunOnce() throws Exception {
+		int threads = 8;
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Response>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> idempotencyService.execute(KEY, "buy", order(1), () -> {
+					// 처음 요청이 실행 중인 동안 나머지가 들어오도록 잠시 붙잡아 둠
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return run();
+				})));
+			}
+			Thread.sleep(100);
+			release.countDown();
+
+			Response first = results.get(0).get(5, TimeUnit.SECONDS);
+			for (Future<Response> result : results) {
+				assertSame(first, result.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, runs.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Response run() {
+		Response response = new Response();
+		response.setBody(runs.incrementAndGet());
+		return response;
+	}
+
+	private static Map<String, Object> order(int quantity) {
+		return Map.of("stockId", 1, "stockQuantity", quantity);
+	}
+}
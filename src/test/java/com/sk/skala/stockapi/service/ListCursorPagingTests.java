@@ -0,0 +1,146 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.common.PagedList;
+import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.tools.StringTool;
+
+/**
+ * 플레이어/주식 목록의 커서 모드가 정렬 키(플레이어 ID, 주식 ID) 순서대로 빠짐없이 이어지는지,
+ * 마지막 페이지의 next 가 null 인지, 잘못된 커서를 INVALID_PARAMETER 로 거부하는지 확인합니다.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:list-cursor-paging;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"logging.level.com.sk.skala=INFO",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class ListCursorPagingTests {
+
+	private static final int ADDED = 7;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@BeforeAll
+	void addRows() {
+		for (int i = 0; i < ADDED; i++) {
+			playerRepository.save(new Player("cursor-" + i, 1000));
+			Stock stock = new Stock();
+			stock.setStockName("cursor-stock-" + i);
+			stock.setStockPrice(10.0 + i);
+			stockService.createStock(stock);
+		}
+	}
+
+	@Test
+	void playerPagesFollowPlayerId() {
+		List<String> expected = playerRepository.findAll().stream().map(Player::getPlayerId).sorted().toList();
+
+		for (int count : new int[] { 1, 2, 3, expected.size(), expected.size() + 1 }) {
+			List<String> ids = collect(playerService::getPlayers, count, Player.class, Player::getPlayerId);
+			assertEquals(expected, ids, "count " + count);
+		}
+	}
+
+	@Test
+	void stockPagesFollowStockId() {
+		List<Long> expected = stockRepository.findAll().stream().map(Stock::getId).sorted().toList();
+
+		for (int count : new int[] { 1, 2, 3, expected.size(), expected.size() + 1 }) {
+			List<Long> ids = collect(stockService::getStocks, count, Stock.class, Stock::getId);
+			assertEquals(expected, ids, "count " + count);
+		}
+	}
+
+	@Test
+	void nextIsLastKeyOfFullPage() {
+		PagedList players = (PagedList) playerService.getPlayers(null, 2).getBody();
+		@SuppressWarnings("unchecked")
+		List<Player> list = (List<Player>) players.getList();
+		assertEquals(StringTool.toCursor(list.get(1).getPlayerId()), players.getNext());
+
+		PagedList stocks = (PagedList) stockService.getStocks(null, 2).getBody();
+		@SuppressWarnings("unchecked")
+		List<Stock> stockList = (List<Stock>) stocks.getList();
+		assertEquals(StringTool.toCursor(String.valueOf(stockList.get(1).getId())), stocks.getNext());
+	}
+
+	@Test
+	void pageAfterLastKeyIsEmpty() {
+		String lastPlayer = playerRepository.findAll().stream().map(Player::getPlayerId).max(Comparator.naturalOrder())
+				.orElseThrow();
+		PagedList players = (PagedList) playerService.getPlayers(StringTool.toCursor(lastPlayer), 5).getBody();
+		assertEquals(0, players.getCount());
+		assertNull(players.getNext());
+
+		long lastStock = stockRepository.findAll().stream().mapToLong(Stock::getId).max().orElseThrow();
+		PagedList stocks = (PagedList) stockService.getStocks(StringTool.toCursor(String.valueOf(lastStock)), 5).getBody();
+		assertEquals(0, stocks.getCount());
+		assertNull(stocks.getNext());
+	}
+
+	@Test
+	void malformedCursorIsInvalidParameter() {
+		assertInvalid(() -> playerService.getPlayers("!!!", 3));
+		assertInvalid(() -> playerService.getPlayers("a b", 3));
+		assertInvalid(() -> stockService.getStocks("!!!", 3));
+		// 디코딩은 되지만 숫자가 아닌 주식 커서
+		assertInvalid(() -> stockService.getStocks(StringTool.toCursor("abc"), 3));
+		assertInvalid(() -> playerService.getPlayers(null, 0));
+		assertInvalid(() -> stockService.getStocks(null, 0));
+	}
+
+	// 커서를 따라 끝까지 읽은 정렬 키 목록
+	private static <T, K> List<K> collect(BiFunction<String, Integer, Response> pager, int count, Class<T> type,
+			Function<T, K> key) {
+		List<K> keys = new ArrayList<>();
+		String cursor = null;
+		do {
+			PagedList page = (PagedList) pager.apply(cursor, count).getBody();
+			List<?> list = (List<?>) page.getList();
+			assertTrue(list.size() <= count);
+			assertEquals(list.size(), page.getCount());
+			list.forEach(item -> keys.add(key.apply(type.cast(item))));
+			cursor = page.getNext();
+		} while (cursor != null);
+		return keys;
+	}
+
+	private static void assertInvalid(Runnable call) {
+		ResponseException e = assertThrows(ResponseException.class, call::run);
+		assertEquals(Error.INVALID_PARAMETER.getCode(), e.getCode());
+	}
+}
@@ -0,0 +1,179 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.dto.OrderDto;
+import com.sk.skala.stockapi.data.dto.StockOrder;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.PlayerStock;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.PlayerStockRepository;
+import com.sk.skala.stockapi.service.order.OrderService;
+import com.sk.skala.stockapi.service.order.SettlementFlusher;
+
+/**
+ * 소수의 플레이어에게 64 개 스레드가 동시에 매수/매도/지정가 주문을 넣어도
+ * 현금과 주식이 보존되는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:player-service-concurrency;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"logging.level.com.sk.skala=INFO",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class PlayerServiceConcurrencyTests {
+
+	private static final int THREADS = 64;
+	private static final int ORDERS_PER_THREAD = 100;
+	private static final int PLAYERS = 8;
+	private static final double INITIAL_MONEY = 100000;
+
+	private static final ThreadLocal<String> CURRENT_PLAYER = new ThreadLocal<>();
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private SettlementFlusher settlementFlusher;
+
+	@Autowired
+	private RankingService rankingService;
+
+	@Autowired
+	private PriceBook priceBook;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private PlayerStockRepository playerStockRepository;
+
+	@MockBean
+	private SessionHandler sessionHandler;
+
+	@Test
+	void concurrentTradesConserveMoneyAndShares() throws Exception {
+		when(sessionHandler.getPlayerId()).thenAnswer(invocation -> CURRENT_PLAYER.get());
+
+		List<String> playerIds = new ArrayList<>();
+		for (int i = 0; i < PLAYERS; i++) {
+			Player player = new Player();
+			player.setPlayerId("stress-" + i);
+			player.setPlayerPassword("pw");
+			playerService.createPlayer(player);
+			playerIds.add(player.getPlayerId());
+		}
+		long[] stockIds = priceBook.getStockIds();
+
+		// 성공한 거래만 누적한 기대값 (가격이 정수라 long 으로 정확히 계산)
+		Map<String, AtomicLong> expectedCash = new ConcurrentHashMap<>();
+		Map<String, AtomicLong> expectedShares = new ConcurrentHashMap<>();
+		AtomicInteger conflicts = new AtomicInteger();
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			SplittableRandom random = new SplittableRandom(t);
+			futures.add(pool.submit(() -> {
+				start.await();
+				for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+					String playerId = playerIds.get(random.nextInt(PLAYERS));
+					long stockId = stockIds[random.nextInt(stockIds.length)];
+					long price = (long) priceBook.getPrice(stockId);
+					int quantity = 1 + random.nextInt(5);
+					CURRENT_PLAYER.set(playerId);
+
+					StockOrder order = new StockOrder();
+					order.setStockId(stockId);
+					order.setStockQuantity(quantity);
+					try {
+						switch (random.nextInt(3)) {
+						case 0:
+							playerService.buyPlayerStock(order);
+							add(expectedCash, playerId, -quantity * price);
+							add(expectedShares, playerId + ":" + stockId, quantity);
+							break;
+						case 1:
+							playerService.sellPlayerStock(order);
+							add(expectedCash, playerId, quantity * price);
+							add(expectedShares, playerId + ":" + stockId, -quantity);
+							break;
+						default:
+							// 체결되지 않는 가격에 걸었다가 취소: 차감/반환이 서로 상쇄되어야 함
+							order.setSide(StockOrder.SIDE_BUY);
+							order.setLimitPrice(price / 2.0);
+							OrderDto placed = orderService.submitOrder(order);
+							orderService.cancelOrder(placed.getOrderId());
+							break;
+						}
+					} catch (ResponseException e) {
+						if (e.getCode() == Error.TRADE_CONFLICT.getCode()) {
+							conflicts.incrementAndGet();
+						}
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(2, TimeUnit.MINUTES);
+		}
+		pool.shutdown();
+		settlementFlusher.flush();
+
+		double totalAssets = 0;
+		for (String playerId : playerIds) {
+			Player player = playerRepository.findById(playerId).orElseThrow();
+			double expectedMoney = INITIAL_MONEY + expectedCash.getOrDefault(playerId, new AtomicLong()).get();
+			assertEquals(expectedMoney, player.getPlayerMoney(), 0.0001, playerId);
+			assertTrue(player.getPlayerMoney() >= 0, playerId);
+
+			Map<Long, Integer> holdings = new HashMap<>();
+			for (PlayerStock playerStock : playerStockRepository.findByPlayer_PlayerId(playerId)) {
+				holdings.merge(playerStock.getStock().getId(), playerStock.getQuantity(), Integer::sum);
+			}
+			double assets = player.getPlayerMoney();
+			for (long stockId : stockIds) {
+				long shares = expectedShares.getOrDefault(playerId + ":" + stockId, new AtomicLong()).get();
+				assertEquals(shares, holdings.getOrDefault(stockId, 0).longValue(), playerId + ":" + stockId);
+				assets += shares * priceBook.getPrice(stockId);
+			}
+			assertEquals(assets, rankingService.getPlayerRanking(playerId).getTotalAssets(), 0.0001, playerId);
+			totalAssets += assets;
+		}
+		assertEquals(PLAYERS * INITIAL_MONEY, totalAssets, 0.0001);
+		assertTrue(conflicts.get() < THREADS * ORDERS_PER_THREAD / 100, "conflicts: " + conflicts.get());
+	}
+
+	private static void add(Map<String, AtomicLong> totals, String key, long delta) {
+		totals.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+	}
+}
@@ -0,0 +1,65 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.exception.ResponseException;
+
+/**
+ * 체결 반영과 보유 행 INSERT 가 겹쳐 생긴 unique 키 충돌을 주문 체결(trade)만 다시 시도하는지 확인합니다.
+ */
+class PlayerTradeExecutorTests {
+
+	private static final String PLAYER_ID = "player";
+
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final MetricsRecorder metricsRecorder = mock(MetricsRecorder.class);
+	private final PlayerTradeExecutor playerTradeExecutor = new PlayerTradeExecutor(transactionTemplate,
+			new ApplicationProperties(), metricsRecorder);
+
+	@Test
+	void tradeRetriesDuplicateHolding() {
+		when(transactionTemplate.execute(any()))
+				.thenThrow(new DataIntegrityViolationException("unique player_stock"))
+				.thenAnswer(invocation -> {
+					TransactionCallback<?> callback = invocation.getArgument(0);
+					return callback.doInTransaction(mock(TransactionStatus.class));
+				});
+
+		assertEquals("filled", playerTradeExecutor.trade(PLAYER_ID, () -> "filled"));
+		verify(transactionTemplate, times(2)).execute(any());
+	}
+
+	@Test
+	void tradeGivesUpAsConflict() {
+		when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("unique player_stock"));
+
+		ResponseException e = assertThrows(ResponseException.class, () -> playerTradeExecutor.trade(PLAYER_ID, () -> "filled"));
+
+		assertEquals(Error.TRADE_CONFLICT.getCode(), e.getCode());
+		verify(transactionTemplate, times(5)).execute(any());
+		verify(metricsRecorder).rejected(Error.TRADE_CONFLICT.getCode());
+	}
+
+	// 같은 엔티티를 다시 저장하는 작업은 다시 시도하지 않음
+	@Test
+	void executeDoesNotRetryDuplicate() {
+		when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("unique player"));
+
+		assertThrows(DataIntegrityViolationException.class, () -> playerTradeExecutor.execute(PLAYER_ID, () -> "created"));
+		verify(transactionTemplate).execute(any());
+	}
+}
@@ -0,0 +1,147 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.data.dto.PlayerStockListDto;
+import com.sk.skala.stockapi.data.dto.WatchlistDto;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.PlayerStock;
+import com.sk.skala.stockapi.data.table.PlayerWatchlist;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.PlayerStockRepository;
+import com.sk.skala.stockapi.repository.PlayerWatchlistRepository;
+import com.sk.skala.stockapi.repository.StockRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 보유/관심 종목 조회와 순위 초기화가 종목 수와 관계없이 같은 수의 SQL 문만 실행하는지
+ * Hibernate 통계의 준비한 문장 수로 확인합니다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:query-count;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.com.sk.skala=INFO",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class QueryCountTests {
+
+	private static final String PLAYER_ID = "query-count";
+	private static final int STOCKS = 20;
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private PlayerWatchlistService playerWatchlistService;
+
+	@Autowired
+	private RankingService rankingService;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private PlayerStockRepository playerStockRepository;
+
+	@Autowired
+	private PlayerWatchlistRepository playerWatchlistRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@MockBean
+	private SessionHandler sessionHandler;
+
+	@Test
+	void statementCountDoesNotGrowWithHoldings() {
+		when(sessionHandler.getPlayerId()).thenReturn(PLAYER_ID);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		Player newPlayer = new Player();
+		newPlayer.setPlayerId(PLAYER_ID);
+		newPlayer.setPlayerPassword("pw");
+		playerService.createPlayer(newPlayer);
+		Player player = playerRepository.findById(PLAYER_ID).orElseThrow();
+
+		List<Stock> stocks = new ArrayList<>();
+		for (int i = 0; i < STOCKS; i++) {
+			Stock stock = new Stock();
+			stock.setStockName("query-count-" + i);
+			stock.setStockPrice(10.0 + i);
+			stockService.createStock(stock);
+			stocks.add(stockRepository.findByStockName(stock.getStockName()).orElseThrow());
+		}
+
+		hold(player, stocks.get(0));
+		long[] single = measure(statistics, 1);
+
+		for (int i = 1; i < STOCKS; i++) {
+			hold(player, stocks.get(i));
+		}
+		long[] many = measure(statistics, STOCKS);
+
+		// 조회 대상 플레이어 1 회 + 보유 내역 조인 1 회
+		assertEquals(2, single[0]);
+		// 관심 종목 조인 1 회
+		assertEquals(1, single[1]);
+		// 전체 플레이어 1 회 + 전체 보유 내역 1 회
+		assertEquals(2, single[2]);
+		assertEquals(single[0], many[0]);
+		assertEquals(single[1], many[1]);
+		assertEquals(single[2], many[2]);
+	}
+
+	private void hold(Player player, Stock stock) {
+		playerStockRepository.save(new PlayerStock(player, stock, 1, stock.getStockPrice()));
+		playerWatchlistRepository.save(new PlayerWatchlist(player, stock));
+	}
+
+	// getPlayerById, getWatchlist, RankingService.load 각각의 준비한 문장 수
+	private long[] measure(Statistics statistics, int holdings) {
+		long[] counts = new long[3];
+
+		statistics.clear();
+		Response response = playerService.getPlayerById(PLAYER_ID);
+		counts[0] = statistics.getPrepareStatementCount();
+		PlayerStockListDto player = (PlayerStockListDto) response.getBody();
+		assertEquals(holdings, player.getStocks().size());
+		player.getStocks().forEach(stock -> assertNotNull(stock.getStockName()));
+
+		statistics.clear();
+		response = playerWatchlistService.getWatchlist();
+		counts[1] = statistics.getPrepareStatementCount();
+		@SuppressWarnings("unchecked")
+		List<WatchlistDto> watchlist = (List<WatchlistDto>) response.getBody();
+		assertEquals(holdings, watchlist.size());
+		watchlist.forEach(dto -> assertNotNull(dto.getStockName()));
+
+		statistics.clear();
+		rankingService.load();
+		counts[2] = statistics.getPrepareStatementCount();
+
+		return counts;
+	}
+}
@@ -0,0 +1,56 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.common.PagedList;
+import com.sk.skala.stockapi.data.dto.RankingHistoryDto;
+import com.sk.skala.stockapi.data.dto.WindowRankingDto;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.PlayerStockRepository;
+
+/**
+ * 삭제된 플레이어의 인덱스가 보관 스냅샷에서 지워진 뒤에만 재사용되는지 확인합니다.
+ */
+class RankingHistoryServiceTests {
+
+	private final RankingService rankingService = new RankingService(mock(PlayerRepository.class),
+			mock(PlayerStockRepository.class), mock(PriceBook.class), mock(MetricsRecorder.class));
+	private final RankingHistoryService rankingHistoryService = new RankingHistoryService(rankingService,
+			new ApplicationProperties());
+
+	@Test
+	void removedPlayerIndexIsReusedOnlyAfterSnapshotsDropIt() {
+		rankingService.updatePlayer("alice", 2000, 1000);
+		rankingService.updatePlayer("bob", 1000, 1000);
+		int aliceIndex = rankingService.getPlayerIndex("alice");
+		rankingHistoryService.addSnapshot(rankingService.captureSnapshot());
+
+		// 다음 스냅샷 전까지는 인덱스를 재사용하지 않음
+		rankingService.removePlayer("alice");
+		assertEquals(-1, rankingService.getPlayerIndex("alice"));
+		rankingService.updatePlayer("carol", 1000, 1000);
+		assertTrue(rankingService.getPlayerIndex("carol") != aliceIndex);
+
+		rankingHistoryService.addSnapshot(rankingService.captureSnapshot());
+		rankingService.updatePlayer("dave", 500, 1000);
+		assertEquals(aliceIndex, rankingService.getPlayerIndex("dave"));
+
+		// 재사용한 인덱스가 삭제된 플레이어의 기록을 물려받지 않고, 남은 플레이어의 당시 순위는 그대로
+		assertTrue(rankingHistoryService.getPlayerHistory("dave", "day").isEmpty());
+		List<RankingHistoryDto> bob = rankingHistoryService.getPlayerHistory("bob", "day");
+		assertEquals(List.of(2, 1), bob.stream().map(RankingHistoryDto::getRank).toList());
+
+		PagedList window = rankingHistoryService.getWindowRanking("day", 0, 10);
+		assertEquals(2, window.getTotal());
+		@SuppressWarnings("unchecked")
+		List<WindowRankingDto> list = (List<WindowRankingDto>) window.getList();
+		assertEquals(List.of("bob", "carol"), list.stream().map(WindowRankingDto::getPlayerId).sorted().toList());
+	}
+}
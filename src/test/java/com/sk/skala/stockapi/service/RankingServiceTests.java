@@ -0,0 +1,66 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.dto.RankingDto;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.PlayerStockRepository;
+
+/**
+ * 전체 순위 목록은 순위가 바뀔 때만 다시 만들어지는지 확인합니다.
+ */
+class RankingServiceTests {
+
+	private static final long STOCK_ID = 1;
+
+	private final PriceBook priceBook = mock(PriceBook.class);
+	private RankingService rankingService;
+
+	@BeforeEach
+	void setUp() {
+		when(priceBook.getPrice(STOCK_ID)).thenReturn(100.0);
+		rankingService = new RankingService(mock(PlayerRepository.class), mock(PlayerStockRepository.class), priceBook,
+				mock(MetricsRecorder.class));
+		rankingService.updatePlayer("alice", 1000, 1000);
+		rankingService.updatePlayer("bob", 900, 1000);
+		rankingService.updateHolding("bob", STOCK_ID, 2);
+	}
+
+	@Test
+	void fullRankingIsReusedUntilChanged() {
+		List<RankingDto> first = rankingService.getRanking();
+		assertSame(first, rankingService.getRanking());
+		assertEquals(List.of("bob", "alice"), playerIds(first));
+
+		// 보유하지 않은 주식의 시세 변동은 순위를 바꾸지 않음
+		rankingService.onPriceTick(new PriceTick(0, new long[] { 2 }, new double[] { 10.0 }));
+		assertSame(first, rankingService.getRanking());
+
+		when(priceBook.getPrice(STOCK_ID)).thenReturn(10.0);
+		rankingService.onPriceTick(new PriceTick(0, new long[] { STOCK_ID }, new double[] { 10.0 }));
+		List<RankingDto> repriced = rankingService.getRanking();
+		assertNotSame(first, repriced);
+		assertEquals(List.of("alice", "bob"), playerIds(repriced));
+		assertEquals(920.0, repriced.get(1).getTotalAssets());
+
+		rankingService.applyTrade("alice", STOCK_ID, -10, 1);
+		assertNotSame(repriced, rankingService.getRanking());
+
+		rankingService.removePlayer("alice");
+		assertEquals(List.of("bob"), playerIds(rankingService.getRanking()));
+	}
+
+	private static List<String> playerIds(List<RankingDto> rankings) {
+		return rankings.stream().map(RankingDto::getPlayerId).toList();
+	}
+}
@@ -0,0 +1,116 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.common.Response;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.service.journal.TradeJournal;
+
+/**
+ * 주식 등록/수정/삭제의 저널 기록이 실패하면 DB 변경도 롤백되고, 시세와 목록 캐시가 바뀌지 않는지,
+ * 다른 주식의 이름으로 바꾸면 DATA_DUPLICATED 로 거부하는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:stock-service;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"logging.level.com.sk.skala=INFO",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class StockServiceTests {
+
+	private static final ResponseException JOURNAL_FAILURE = new ResponseException(Error.SYSTEM_ERROR, "journal");
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private PriceBook priceBook;
+
+	@SpyBean
+	private TradeJournal tradeJournal;
+
+	@AfterEach
+	void tearDown() {
+		reset(tradeJournal);
+	}
+
+	@Test
+	void createIsRolledBackWhenJournalFails() {
+		doThrow(JOURNAL_FAILURE).when(tradeJournal).stockSaved(any());
+
+		assertThrows(ResponseException.class, () -> stockService.createStock(stock("journal-create", 10)));
+
+		assertTrue(stockRepository.findByStockName("journal-create").isEmpty());
+	}
+
+	@Test
+	void updateIsRolledBackWhenJournalFails() {
+		stockService.createStock(stock("journal-update", 10));
+		Stock saved = stockRepository.findByStockName("journal-update").orElseThrow();
+		doThrow(JOURNAL_FAILURE).when(tradeJournal).stockSaved(any());
+
+		Stock renamed = stock("journal-renamed", 20);
+		renamed.setId(saved.getId());
+		assertThrows(ResponseException.class, () -> stockService.updateStock(renamed));
+
+		Stock stored = stockRepository.findById(saved.getId()).orElseThrow();
+		assertEquals("journal-update", stored.getStockName());
+		assertEquals(10.0, stored.getStockPrice());
+	}
+
+	@Test
+	void deleteIsRolledBackWhenJournalFails() {
+		stockService.createStock(stock("journal-delete", 10));
+		Stock saved = stockRepository.findByStockName("journal-delete").orElseThrow();
+		doThrow(JOURNAL_FAILURE).when(tradeJournal).stockDeleted(anyLong());
+
+		assertThrows(ResponseException.class, () -> stockService.deleteStock(saved));
+
+		assertTrue(stockRepository.existsById(saved.getId()));
+		assertTrue(priceBook.contains(saved.getId()));
+		assertEquals(Response.SUCCESS, stockService.getStockById(saved.getId()).getResult());
+	}
+
+	@Test
+	void renameToExistingNameIsDuplicated() {
+		stockService.createStock(stock("rename-taken", 10));
+		stockService.createStock(stock("rename-source", 10));
+		Stock source = stockRepository.findByStockName("rename-source").orElseThrow();
+
+		Stock renamed = stock("rename-taken", 15);
+		renamed.setId(source.getId());
+		ResponseException e = assertThrows(ResponseException.class, () -> stockService.updateStock(renamed));
+		assertEquals(Error.DATA_DUPLICATED.getCode(), e.getCode());
+
+		// 이름을 그대로 두고 가격만 바꾸는 것은 자기 자신과의 중복이 아님
+		Stock repriced = stock("rename-source", 15);
+		repriced.setId(source.getId());
+		assertEquals(Response.SUCCESS, stockService.updateStock(repriced).getResult());
+		assertEquals(15.0, stockRepository.findById(source.getId()).orElseThrow().getStockPrice());
+	}
+
+	private static Stock stock(String name, double price) {
+		Stock stock = new Stock();
+		stock.setStockName(name);
+		stock.setStockPrice(price);
+		return stock;
+	}
+}
@@ -0,0 +1,147 @@
+package com.sk.skala.stockapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.dto.TradeListDto;
+import com.sk.skala.stockapi.data.table.Trade;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.repository.TradeRepository;
+
+/**
+ * 체결 이력의 (executedAt, id) 커서 페이지가 같은 시각의 체결이 페이지 경계에 걸려도 빠지거나 겹치지 않는지,
+ * 마지막 페이지의 next 가 null 인지, 잘못된 커서를 INVALID_PARAMETER 로 거부하는지 확인합니다.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:trade-history-paging;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"logging.level.com.sk.skala=INFO",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class TradeHistoryPagingTests {
+
+	private static final String PLAYER_ID = "trade-history";
+	private static final String EXACT_PLAYER_ID = "trade-history-exact";
+
+	// 같은 시각의 체결이 3 건씩 페이지 경계에 걸치도록 배치
+	private static final long[] EXECUTED_AT = { 1000, 1000, 1000, 2000, 2000, 3000, 4000 };
+
+	@Autowired
+	private PlayerService playerService;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	private List<Trade> expected;
+
+	@BeforeAll
+	void insertTrades() {
+		List<Trade> trades = new ArrayList<>();
+		for (long executedAt : EXECUTED_AT) {
+			trades.add(new Trade(PLAYER_ID, 1, "BUY", 1, 10, executedAt));
+			// 다른 플레이어의 체결은 섞이지 않아야 함
+			trades.add(new Trade("someone-else", 1, "BUY", 1, 10, executedAt));
+		}
+		for (int i = 0; i < 6; i++) {
+			trades.add(new Trade(EXACT_PLAYER_ID, 1, "SELL", 1, 10, 5000));
+		}
+		tradeRepository.saveAll(trades);
+
+		expected = tradeRepository.findAll().stream()
+				.filter(trade -> trade.getPlayerId().equals(PLAYER_ID))
+				.sorted(Comparator.comparingLong(Trade::getExecutedAt).thenComparing(Trade::getId).reversed())
+				.toList();
+	}
+
+	@Test
+	void pagesFollowExecutedAtAndIdAcrossTies() {
+		List<Long> ids = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			TradeListDto page = page(PLAYER_ID, cursor, 3);
+			assertEquals(PLAYER_ID, page.getPlayerId());
+			page.getTrades().forEach(trade -> ids.add(trade.getId()));
+			sizes.add(page.getTrades().size());
+			cursor = page.getNext();
+		} while (cursor != null);
+
+		assertEquals(List.of(3, 3, 1), sizes);
+		assertEquals(expected.stream().map(Trade::getId).toList(), ids);
+	}
+
+	@Test
+	void cursorPointsAtLastTradeOfPage() {
+		TradeListDto first = page(PLAYER_ID, null, 3);
+		Trade last = first.getTrades().get(2);
+		assertEquals(last.getExecutedAt() + "_" + last.getId(), first.getNext());
+
+		// 첫 페이지 마지막 체결과 같은 시각(2000)의 나머지 체결부터 이어짐
+		TradeListDto second = page(PLAYER_ID, first.getNext(), 3);
+		assertEquals(expected.subList(3, 6).stream().map(Trade::getId).toList(),
+				second.getTrades().stream().map(Trade::getId).toList());
+	}
+
+	@Test
+	void shortPageHasNoNext() {
+		TradeListDto page = page(PLAYER_ID, null, EXECUTED_AT.length + 1);
+
+		assertEquals(EXECUTED_AT.length, page.getTrades().size());
+		assertNull(page.getNext());
+	}
+
+	// 전체 수가 count 의 배수면 마지막으로 꽉 찬 페이지 다음에 빈 페이지가 한 번 더 옴
+	@Test
+	void exactMultipleEndsWithEmptyPage() {
+		TradeListDto first = page(EXACT_PLAYER_ID, null, 3);
+		TradeListDto second = page(EXACT_PLAYER_ID, first.getNext(), 3);
+		assertNotNull(second.getNext());
+
+		TradeListDto last = page(EXACT_PLAYER_ID, second.getNext(), 3);
+		assertTrue(last.getTrades().isEmpty());
+		assertNull(last.getNext());
+	}
+
+	@Test
+	void playerWithoutTrades() {
+		TradeListDto page = page("no-trades", null, 3);
+
+		assertTrue(page.getTrades().isEmpty());
+		assertNull(page.getNext());
+	}
+
+	@Test
+	void malformedCursorIsInvalidParameter() {
+		for (String cursor : List.of("abc", "1000", "1000_", "_5", "x_5", "1000_y", "1000-5")) {
+			ResponseException e = assertThrows(ResponseException.class, () -> page(PLAYER_ID, cursor, 3), cursor);
+			assertEquals(Error.INVALID_PARAMETER.getCode(), e.getCode(), cursor);
+		}
+	}
+
+	@Test
+	void countOutOfRangeIsInvalidParameter() {
+		for (int count : new int[] { 0, -1, 101 }) {
+			ResponseException e = assertThrows(ResponseException.class, () -> page(PLAYER_ID, null, count));
+			assertEquals(Error.INVALID_PARAMETER.getCode(), e.getCode());
+		}
+	}
+
+	private TradeListDto page(String playerId, String cursor, int count) {
+		return (TradeListDto) playerService.getPlayerTrades(playerId, cursor, count).getBody();
+	}
+}
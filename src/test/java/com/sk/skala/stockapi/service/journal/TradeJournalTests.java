@@ -0,0 +1,166 @@
+package com.sk.skala.stockapi.service.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.config.Error;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.exception.ResponseException;
+import com.sk.skala.stockapi.service.MetricsRecorder;
+import com.sk.skala.stockapi.service.PriceBook;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 저널 기록 실패가 호출 측 예외, 지표, 헬스 상태로 드러나고 이후 기록은 새 파일로 이어지는지,
+ * 체결 이력과 관심 종목이 스냅샷과 저널로 복구되는지, 비밀번호가 들어 있는 저널 디렉터리를 소유자만 읽을 수 있는지 확인합니다.
+ */
+class TradeJournalTests {
+
+	@TempDir
+	Path dir;
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void failedAppendIsReportedAndJournalKeepsWorking() {
+		TradeJournal journal = journal();
+		assertFalse(journal.recover());
+		assertTrue(journal.isHealthy());
+
+		journal.stockSaved(stock(1, "ok"));
+		// 레코드 최대 크기를 넘는 이벤트로 기록 실패를 만듦
+		ResponseException failure = assertThrows(ResponseException.class,
+				() -> journal.stockSaved(stock(2, "x".repeat(2 << 20))));
+		assertEquals(Error.SYSTEM_ERROR.getCode(), failure.getCode());
+		assertFalse(journal.isHealthy());
+		assertEquals(1, journal.getFailures());
+		assertEquals(1.0, meterRegistry.counter(MetricsRecorder.JOURNAL_FAILURES).count());
+		assertEquals(1, journal.getSequence());
+
+		// 실패한 이벤트는 건너뛰고 다음 파일에 이어서 기록
+		journal.stockSaved(stock(3, "after"));
+		assertEquals(2, journal.getSequence());
+		journal.close();
+
+		TradeJournal recovered = journal();
+		assertTrue(recovered.recover());
+		assertEquals(2, recovered.getSequence());
+		assertTrue(recovered.isHealthy());
+		recovered.close();
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void tradesAndWatchlistsAreRestored() {
+		TradeJournal journal = journal();
+		journal.recover();
+		Player player = new Player("player", 1000);
+		player.setPlayerPassword("pw");
+		journal.playerCreated(player);
+		for (long stockId = 1; stockId <= 3; stockId++) {
+			journal.stockSaved(stock(stockId, "stock-" + stockId));
+			journal.watchAdded("player", stockId);
+		}
+		journal.watchRemoved("player", 1);
+		journal.executed("player", 1, "BUY", 3, 10.0, 1000L);
+		// 스냅샷에 든 이력과 그 뒤 저널에만 있는 이력을 함께 복구
+		journal.snapshot();
+		journal.executed("player", 2, "SELL", 1, 20.0, 2000L);
+		journal.stockDeleted(2);
+		journal.close();
+
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		TradeJournal recovered = journal(jdbcTemplate, transactionTemplate);
+		assertTrue(recovered.recover());
+		recovered.close();
+
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<List<Object[]>> args = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, atLeastOnce()).batchUpdate(sql.capture(), args.capture());
+		// 삭제된 주식의 관심 종목은 빠지고, 체결 이력은 주식이 삭제되어도 남음
+		List<Object[]> watchlist = rows(sql.getAllValues(), args.getAllValues(), "insert into player_watchlist ");
+		assertEquals(1, watchlist.size());
+		assertEquals(List.of("player", 3L), List.of(watchlist.get(0)));
+		List<Object[]> trades = rows(sql.getAllValues(), args.getAllValues(), "insert into trade ");
+		assertEquals(2, trades.size());
+		assertEquals(List.of("player", 1L, "BUY", 3, 10.0, 1000L), List.of(trades.get(0)));
+		assertEquals(List.of("player", 2L, "SELL", 1, 20.0, 2000L), List.of(trades.get(1)));
+	}
+
+	@Test
+	void directoryIsReadableByOwnerOnly() throws Exception {
+		assumeTrue(Files.getFileStore(dir).supportsFileAttributeView(PosixFileAttributeView.class));
+		TradeJournal journal = journal();
+		journal.recover();
+
+		assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(dir));
+		journal.close();
+	}
+
+	@Test
+	void appendBeforeRecoverFails() {
+		TradeJournal journal = journal();
+
+		assertThrows(ResponseException.class, () -> journal.stockDeleted(1));
+		assertFalse(journal.isHealthy());
+	}
+
+	private TradeJournal journal() {
+		return journal(mock(JdbcTemplate.class), mock(TransactionTemplate.class));
+	}
+
+	private TradeJournal journal(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+		ApplicationProperties properties = new ApplicationProperties();
+		properties.getJournal().setEnabled(true);
+		properties.getJournal().setDir(dir.toString());
+		properties.getJournal().setSegmentBytes(1 << 20);
+		return new TradeJournal(properties, jdbcTemplate, transactionTemplate, mock(PriceBook.class),
+				new MetricsRecorder(meterRegistry));
+	}
+
+	private static List<Object[]> rows(List<String> sql, List<List<Object[]>> args, String prefix) {
+		for (int i = 0; i < sql.size(); i++) {
+			if (sql.get(i).startsWith(prefix)) {
+				return args.get(i);
+			}
+		}
+		throw new AssertionError("no batch for " + prefix);
+	}
+
+	private static Stock stock(long id, String name) {
+		Stock stock = new Stock(name, 10.0);
+		stock.setId(id);
+		return stock;
+	}
+}
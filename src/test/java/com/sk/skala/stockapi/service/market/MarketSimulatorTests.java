@@ -0,0 +1,46 @@
+package com.sk.skala.stockapi.service.market;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+
+/**
+ * pooled 시퀀스처럼 띄엄띄엄하고 큰 주식 id 에서도 종목별 시세가 시드만으로 재현되는지 확인합니다.
+ */
+class MarketSimulatorTests {
+
+	private static final long[] SPARSE_IDS = { 1, 51, 101, 5_000_000_001L };
+	private static final double[] PRICES = { 100, 80, 120, 150 };
+
+	@Test
+	void sparseIdsAreReproducible() {
+		MarketSimulator first = simulator(1);
+		MarketSimulator second = simulator(Integer.MAX_VALUE);
+		try {
+			double[] expected = first.simulate(SPARSE_IDS, PRICES).getPrices();
+			assertArrayEquals(expected, second.simulate(SPARSE_IDS, PRICES).getPrices());
+
+			// 다른 종목이 빠져도 남은 종목의 난수열은 그대로
+			double[] next = first.simulate(SPARSE_IDS, expected).getPrices();
+			double[] alone = second.simulate(new long[] { 5_000_000_001L }, new double[] { expected[3] }).getPrices();
+			assertEquals(next[3], alone[0]);
+		} finally {
+			first.shutdown();
+			second.shutdown();
+		}
+	}
+
+	private static MarketSimulator simulator(int parallelThreshold) {
+		ApplicationProperties applicationProperties = new ApplicationProperties();
+		applicationProperties.getMarket().setModel("mean-reversion");
+		applicationProperties.getMarket().setSeed(42);
+		applicationProperties.getMarket().setParallelThreshold(parallelThreshold);
+		return new MarketSimulator(applicationProperties,
+				List.of(new MeanReversionPriceModel(applicationProperties)));
+	}
+}
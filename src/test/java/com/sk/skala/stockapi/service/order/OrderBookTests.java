@@ -0,0 +1,157 @@
+package com.sk.skala.stockapi.service.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.data.dto.OrderBookDto;
+import com.sk.skala.stockapi.data.dto.PriceLevelDto;
+
+/**
+ * 호가창의 가격/시간 우선 체결, 부분 체결, 취소와 시세에 닿은 주문의 체결을 확인합니다.
+ */
+class OrderBookTests {
+
+	private static final long STOCK_ID = 1;
+	private static final long NO_MARKET = 0;
+
+	private final OrderBook book = new OrderBook(STOCK_ID);
+	private final List<Fill> fills = new ArrayList<>();
+	private long sequence;
+
+	@Test
+	void bestLevelFirstThenFifoWithinLevel() {
+		Order first = sell(101, 2);
+		Order second = sell(101, 2);
+		Order best = sell(100, 1);
+		Order worse = sell(102, 1);
+
+		Order buy = buy(101, 5);
+
+		assertEquals(List.of(new Fill(buy, best, 1, 100), new Fill(buy, first, 2, 101), new Fill(buy, second, 2, 101)),
+				fills);
+		assertEquals(0, buy.remaining());
+		assertNull(book.get(buy.orderId));
+		assertNull(book.get(first.orderId));
+		assertSame(worse, book.get(worse.orderId));
+		assertEquals(List.of(level(102, 1, 1)), book.toDto(10).getAsks());
+		assertTrue(book.toDto(10).getBids().isEmpty());
+	}
+
+	@Test
+	void incomingOrderPartiallyFilledRestsRemainder() {
+		Order ask = sell(100, 3);
+
+		Order buy = buy(100, 5);
+
+		assertEquals(List.of(new Fill(buy, ask, 3, 100)), fills);
+		assertEquals(2, buy.remaining());
+		assertSame(buy, book.get(buy.orderId));
+		assertNull(book.get(ask.orderId));
+		OrderBookDto dto = book.toDto(10);
+		assertEquals(List.of(level(100, 2, 1)), dto.getBids());
+		assertTrue(dto.getAsks().isEmpty());
+	}
+
+	@Test
+	void restingOrderPartiallyFilledKeepsPlace() {
+		Order ask = sell(100, 5);
+		Order later = sell(100, 1);
+
+		buy(100, 2);
+		buy(100, 2);
+
+		assertEquals(1, ask.remaining());
+		assertEquals(1, later.remaining());
+		assertEquals(List.of(level(100, 2, 2)), book.toDto(10).getAsks());
+
+		// 남은 1 주도 먼저 들어온 주문에서 체결
+		Order buy = buy(100, 1);
+		assertEquals(new Fill(buy, ask, 1, 100), fills.get(fills.size() - 1));
+		assertEquals(List.of(level(100, 1, 1)), book.toDto(10).getAsks());
+	}
+
+	@Test
+	void cancelRemovesRestingOrder() {
+		Order first = buy(99, 3);
+		Order second = buy(99, 4);
+
+		assertSame(first, book.cancel(first.orderId));
+		assertTrue(first.canceled);
+		assertNull(book.get(first.orderId));
+		assertNull(book.cancel(first.orderId));
+		assertEquals(List.of(level(99, 4, 1)), book.toDto(10).getBids());
+
+		// 취소한 주문과는 체결되지 않음
+		Order sell = sell(99, 4);
+		assertEquals(List.of(new Fill(sell, second, 4, 99)), fills);
+
+		book.cancelAll();
+		assertTrue(book.isEmpty());
+		assertTrue(book.toDto(10).getBids().isEmpty());
+		assertTrue(book.toDto(10).getAsks().isEmpty());
+	}
+
+	@Test
+	void orderCrossingMarketFillsAtMarket() {
+		Order buy = submit(true, 105, 3, 100);
+		Order sell = submit(false, 95, 2, 100);
+
+		assertEquals(List.of(new Fill(buy, null, 3, 100), new Fill(sell, null, 2, 100)), fills);
+		assertTrue(book.isEmpty());
+	}
+
+	@Test
+	void marketPriceFillsOrdersItReaches() {
+		Order first = submit(true, 98, 1, 100);
+		Order second = submit(true, 98, 2, 100);
+		Order lower = submit(true, 97, 1, 100);
+		Order ask = submit(false, 103, 1, 100);
+		assertTrue(fills.isEmpty());
+
+		book.onMarketPrice(99, this::record);
+		assertTrue(fills.isEmpty());
+
+		book.onMarketPrice(98, this::record);
+		assertEquals(List.of(new Fill(first, null, 1, 98), new Fill(second, null, 2, 98)), fills);
+
+		fills.clear();
+		book.onMarketPrice(104, this::record);
+		assertEquals(List.of(new Fill(ask, null, 1, 104)), fills);
+
+		assertSame(lower, book.get(lower.orderId));
+		assertEquals(List.of(level(97, 1, 1)), book.toDto(10).getBids());
+		assertTrue(book.toDto(10).getAsks().isEmpty());
+	}
+
+	private Order buy(long limitTicks, int quantity) {
+		return submit(true, limitTicks, quantity, NO_MARKET);
+	}
+
+	private Order sell(long limitTicks, int quantity) {
+		return submit(false, limitTicks, quantity, NO_MARKET);
+	}
+
+	private Order submit(boolean buy, long limitTicks, int quantity, long marketTicks) {
+		Order order = new Order(++sequence, "player-" + sequence, STOCK_ID, buy, limitTicks, quantity);
+		book.submit(order, marketTicks, this::record);
+		return order;
+	}
+
+	private void record(Order order, Order counter, int quantity, long priceTicks) {
+		fills.add(new Fill(order, counter, quantity, priceTicks));
+	}
+
+	private static PriceLevelDto level(long priceTicks, long quantity, int count) {
+		return new PriceLevelDto(priceTicks / 100.0, quantity, count);
+	}
+
+	private record Fill(Order order, Order counter, int quantity, long priceTicks) {
+	}
+}
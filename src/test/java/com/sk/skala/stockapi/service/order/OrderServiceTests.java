@@ -0,0 +1,191 @@
+package com.sk.skala.stockapi.service.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.config.ApplicationProperties;
+import com.sk.skala.stockapi.data.dto.OrderDto;
+import com.sk.skala.stockapi.data.dto.PriceTick;
+import com.sk.skala.stockapi.data.dto.StockOrder;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.PlayerStock;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.PlayerStockRepository;
+import com.sk.skala.stockapi.service.PlayerTradeExecutor;
+import com.sk.skala.stockapi.service.PortfolioService;
+import com.sk.skala.stockapi.service.PriceBook;
+import com.sk.skala.stockapi.service.RankingService;
+import com.sk.skala.stockapi.service.SessionHandler;
+import com.sk.skala.stockapi.service.StockCatalog;
+import com.sk.skala.stockapi.service.journal.TradeJournal;
+
+/**
+ * 주문 접수 시 차감한 현금/주식이 체결, 취소, 종료, 접수 실패 때 SettlementFlusher 로 정확히 돌려지는지,
+ * 저널에는 차감 없이 체결된 순 변화와 체결 이력만 기록되는지 확인합니다.
+ * DB 와 거래 잠금은 모의 객체로 대신하고 매칭 스레드는 실제로 돌립니다.
+ */
+class OrderServiceTests {
+
+	private static final long STOCK_ID = 7;
+	private static final String BUYER = "buyer";
+	private static final String SELLER = "seller";
+
+	private final PlayerRepository playerRepository = mock(PlayerRepository.class);
+	private final PlayerStockRepository playerStockRepository = mock(PlayerStockRepository.class);
+	private final StockCatalog stockCatalog = mock(StockCatalog.class);
+	private final PriceBook priceBook = mock(PriceBook.class);
+	private final RankingService rankingService = mock(RankingService.class);
+	private final SessionHandler sessionHandler = mock(SessionHandler.class);
+	private final SettlementFlusher settlementFlusher = mock(SettlementFlusher.class);
+	private final PlayerTradeExecutor playerTradeExecutor = mock(PlayerTradeExecutor.class);
+	private final TradeJournal tradeJournal = mock(TradeJournal.class);
+
+	private Player buyer;
+	private PlayerStock holding;
+	private OrderService orderService;
+
+	@BeforeEach
+	void setUp() {
+		Stock stock = new Stock();
+		stock.setId(STOCK_ID);
+		buyer = new Player(BUYER, 1000);
+		Player seller = new Player(SELLER, 0);
+		holding = new PlayerStock(seller, stock, 10, 1000);
+
+		when(playerRepository.findById(BUYER)).thenReturn(Optional.of(buyer));
+		when(playerRepository.findById(SELLER)).thenReturn(Optional.of(seller));
+		when(stockCatalog.getReference(STOCK_ID)).thenReturn(Optional.of(stock));
+		when(playerStockRepository.findByPlayerAndStock(seller, stock)).thenReturn(Optional.of(holding));
+		when(priceBook.contains(STOCK_ID)).thenReturn(true);
+		when(priceBook.getPrice(STOCK_ID)).thenReturn(60.0);
+		when(playerTradeExecutor.trade(anyString(), any())).thenAnswer(invocation -> {
+			Supplier<?> action = invocation.getArgument(1);
+			return action.get();
+		});
+
+		orderService = new OrderService(playerRepository, playerStockRepository, stockCatalog, priceBook, rankingService,
+				sessionHandler, settlementFlusher, playerTradeExecutor, tradeJournal,
+				mock(PortfolioService.class), new ApplicationProperties());
+	}
+
+	@AfterEach
+	void tearDown() {
+		orderService.shutdown();
+	}
+
+	@Test
+	void cancelReleasesBuyReservation() {
+		OrderDto order = submit(BUYER, StockOrder.SIDE_BUY, 10, 50);
+		assertEquals(OrderDto.STATUS_OPEN, order.getStatus());
+		assertEquals(500, buyer.getPlayerMoney());
+
+		OrderDto canceled = orderService.cancelOrder(order.getOrderId());
+
+		assertEquals(OrderDto.STATUS_CANCELED, canceled.getStatus());
+		verify(settlementFlusher).add(BUYER, STOCK_ID, 500.0, 0, 0);
+		assertTrue(orderService.getOpenOrders().isEmpty());
+		verifyNoInteractions(tradeJournal);
+	}
+
+	@Test
+	void cancelReleasesSellReservation() {
+		OrderDto order = submit(SELLER, StockOrder.SIDE_SELL, 4, 70);
+		assertEquals(6, holding.getQuantity());
+		assertEquals(600, holding.getCostBasis());
+
+		orderService.cancelOrder(order.getOrderId());
+
+		verify(settlementFlusher).add(SELLER, STOCK_ID, 0.0, 4, 400.0);
+	}
+
+	@Test
+	void partialFillThenCancelReleasesRemainder() {
+		when(priceBook.getPrice(STOCK_ID)).thenReturn(Double.NaN); // 시세 없이 주문끼리 체결
+		submit(SELLER, StockOrder.SIDE_SELL, 4, 50);
+		OrderDto order = submit(BUYER, StockOrder.SIDE_BUY, 10, 55);
+
+		assertEquals(OrderDto.STATUS_PARTIALLY_FILLED, order.getStatus());
+		assertEquals(4, order.getFilledQuantity());
+		// 매수: 지정가와 체결가 차액 환급과 주식, 매도: 체결 대금
+		verify(settlementFlusher).add(BUYER, STOCK_ID, 20.0, 4, 200.0);
+		verify(settlementFlusher).add(SELLER, STOCK_ID, 200.0, 0, 0);
+		verify(tradeJournal).trade(BUYER, STOCK_ID, -200.0, 4, 200.0);
+		verify(tradeJournal).trade(SELLER, STOCK_ID, 200.0, -4, -400.0);
+		verify(tradeJournal).executed(eq(BUYER), eq(STOCK_ID), eq(StockOrder.SIDE_BUY), eq(4), eq(50.0), anyLong());
+		verify(tradeJournal).executed(eq(SELLER), eq(STOCK_ID), eq(StockOrder.SIDE_SELL), eq(4), eq(50.0), anyLong());
+
+		orderService.cancelOrder(order.getOrderId());
+
+		verify(settlementFlusher).add(BUYER, STOCK_ID, 330.0, 0, 0);
+		verifyNoMoreInteractions(tradeJournal);
+	}
+
+	@Test
+	void priceTickFillsRestingOrder() {
+		submit(BUYER, StockOrder.SIDE_BUY, 10, 50);
+
+		orderService.onPriceTick(new PriceTick(0, new long[] { STOCK_ID }, new double[] { 51 }));
+		assertEquals(1, orderService.getOpenOrders().size());
+
+		orderService.onPriceTick(new PriceTick(0, new long[] { STOCK_ID }, new double[] { 49 }));
+		// 매칭 스레드 작업은 순서대로 실행되므로 조회가 끝나면 체결도 끝나 있음
+		assertTrue(orderService.getOpenOrders().isEmpty());
+
+		verify(settlementFlusher).add(BUYER, STOCK_ID, 10.0, 10, 490.0);
+		verify(settlementFlusher).addTrade(any(), any(Long.class), any(), any(Integer.class), any(Double.class),
+				any(Long.class));
+		verify(rankingService).applyTrade(BUYER, STOCK_ID, -490.0, 10);
+	}
+
+	@Test
+	void shutdownReleasesOpenOrders() {
+		submit(BUYER, StockOrder.SIDE_BUY, 10, 50);
+		submit(SELLER, StockOrder.SIDE_SELL, 4, 70);
+
+		orderService.shutdown();
+
+		verify(settlementFlusher).add(BUYER, STOCK_ID, 500.0, 0, 0);
+		verify(settlementFlusher).add(SELLER, STOCK_ID, 0.0, 4, 400.0);
+	}
+
+	@Test
+	void rejectedOrderReleasesReservation() {
+		orderService.shutdown();
+
+		assertThrows(RejectedExecutionException.class, () -> submit(BUYER, StockOrder.SIDE_BUY, 2, 50));
+
+		verify(settlementFlusher).add(BUYER, STOCK_ID, 100.0, 0, 0);
+		verify(settlementFlusher, never()).addTrade(any(), any(Long.class), any(), any(Integer.class),
+				any(Double.class), any(Long.class));
+	}
+
+	private OrderDto submit(String playerId, String side, int quantity, double limitPrice) {
+		when(sessionHandler.getPlayerId()).thenReturn(playerId);
+		StockOrder stockOrder = new StockOrder();
+		stockOrder.setStockId(STOCK_ID);
+		stockOrder.setSide(side);
+		stockOrder.setStockQuantity(quantity);
+		stockOrder.setLimitPrice(limitPrice);
+		return orderService.submitOrder(stockOrder);
+	}
+}
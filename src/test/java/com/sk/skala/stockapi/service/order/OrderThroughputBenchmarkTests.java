@@ -0,0 +1,173 @@
+package com.sk.skala.stockapi.service.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.sk.skala.stockapi.data.dto.OrderDto;
+import com.sk.skala.stockapi.data.dto.StockOrder;
+import com.sk.skala.stockapi.data.table.Player;
+import com.sk.skala.stockapi.data.table.Stock;
+import com.sk.skala.stockapi.repository.PlayerRepository;
+import com.sk.skala.stockapi.repository.StockRepository;
+import com.sk.skala.stockapi.service.PriceBook;
+import com.sk.skala.stockapi.service.SessionHandler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문 처리량을 호가창 매칭만(메모리)과 submitOrder 전체(DB 차감 트랜잭션 + 매칭 스레드 왕복)로 나눠 잽니다.
+ * 시간은 로그로만 남기고, 체결 수량이 양쪽에서 같은지와 접수된 주문 수만 확인합니다.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:order-throughput-benchmark;DB_CLOSE_ON_EXIT=FALSE",
+		"spring.jpa.show-sql=false",
+		"logging.level.com.sk.skala=INFO",
+		"application.market.enabled=false",
+		"application.journal.enabled=false" })
+class OrderThroughputBenchmarkTests {
+
+	private static final int WARMUP_EVENTS = 200000;
+	private static final int EVENTS = 2000000;
+	private static final long MID_TICKS = 10000; // 100.00
+	private static final int CLIENTS = 8;
+	private static final int WARMUP_ORDERS = 200; // 클라이언트당
+	private static final int ORDERS = 2000; // 클라이언트당
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private PlayerRepository playerRepository;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private PriceBook priceBook;
+
+	@MockBean
+	private SessionHandler sessionHandler;
+
+	private final ThreadLocal<String> currentPlayer = new ThreadLocal<>();
+
+	// 접수 4 : 취소 1 : 시세 1 비율로 섞은 이벤트를 호가창 하나에 한 스레드로 처리
+	@Test
+	void matchingEngineThroughput() {
+		runEvents(WARMUP_EVENTS);
+
+		long started = System.nanoTime();
+		long[] filled = runEvents(EVENTS);
+		long nanos = System.nanoTime() - started;
+
+		assertEquals(filled[0], filled[1]);
+		assertTrue(filled[0] > 0);
+		log.info("order book: {} events in {} ms, {} events/s, {} shares filled", EVENTS, nanos / 1_000_000,
+				EVENTS * 1_000_000_000L / nanos, filled[0]);
+	}
+
+	// 서로 다른 플레이어 CLIENTS 명이 동시에 지정가 매수를 넣음 (시세보다 낮아 체결 없이 호가창에 쌓임)
+	@Test
+	void submitOrderThroughput() throws Exception {
+		Stock stock = stockRepository.save(new Stock("benchmark-stock", 100.0));
+		priceBook.putPrice(stock.getId(), 100.0);
+		for (int i = 0; i < CLIENTS; i++) {
+			playerRepository.save(new Player("benchmark-" + i, 1e12));
+		}
+		when(sessionHandler.getPlayerId()).thenAnswer(invocation -> currentPlayer.get());
+
+		submitOrders(stock.getId(), WARMUP_ORDERS);
+
+		long started = System.nanoTime();
+		int submitted = submitOrders(stock.getId(), ORDERS);
+		long nanos = System.nanoTime() - started;
+
+		assertEquals(CLIENTS * ORDERS, submitted);
+		log.info("submitOrder: {} orders from {} clients in {} ms, {} orders/s", submitted, CLIENTS, nanos / 1_000_000,
+				submitted * 1_000_000_000L / nanos);
+	}
+
+	// [매수 체결 수량, 매도 체결 수량]
+	private long[] runEvents(int events) {
+		OrderBook book = new OrderBook(1);
+		SplittableRandom random = new SplittableRandom(42);
+		long[] filled = new long[2];
+		OrderBook.FillHandler handler = (order, counter, quantity, priceTicks) -> {
+			filled[order.buy ? 0 : 1] += quantity;
+			if (counter != null) {
+				filled[counter.buy ? 0 : 1] += quantity;
+			}
+			else {
+				filled[order.buy ? 1 : 0] += quantity; // 시세 체결은 상대가 시장
+			}
+		};
+
+		long[] resting = new long[1024];
+		long orderId = 0;
+		for (int i = 0; i < events; i++) {
+			int kind = i % 6;
+			if (kind < 4) {
+				boolean buy = random.nextBoolean();
+				long limit = MID_TICKS + (buy ? -1 : 1) * random.nextLong(-5, 50);
+				Order order = new Order(++orderId, "p", 1, buy, limit, random.nextInt(1, 10));
+				book.submit(order, 0, handler);
+				resting[(int) (orderId & 1023)] = orderId;
+			}
+			else if (kind == 4) {
+				book.cancel(resting[random.nextInt(1024)]);
+			}
+			else {
+				book.onMarketPrice(MID_TICKS + random.nextLong(-60, 60), handler);
+			}
+		}
+		return filled;
+	}
+
+	private int submitOrders(long stockId, int perClient) throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int c = 0; c < CLIENTS; c++) {
+				String playerId = "benchmark-" + c;
+				futures.add(clients.submit(() -> {
+					currentPlayer.set(playerId);
+					StockOrder stockOrder = new StockOrder();
+					stockOrder.setStockId(stockId);
+					stockOrder.setSide(StockOrder.SIDE_BUY);
+					stockOrder.setStockQuantity(1);
+					int count = 0;
+					for (int i = 0; i < perClient; i++) {
+						stockOrder.setLimitPrice(50 + (i % 100) / 100.0);
+						OrderDto order = orderService.submitOrder(stockOrder);
+						if (OrderDto.STATUS_OPEN.equals(order.getStatus())) {
+							count++;
+						}
+					}
+					return count;
+				}));
+			}
+			int submitted = 0;
+			for (Future<Integer> future : futures) {
+				submitted += future.get();
+			}
+			return submitted;
+		} finally {
+			clients.shutdown();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.sk.skala.stockapi.service.order;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sk.skala.stockapi.service.PortfolioService;
+
+/**
+ * DB 반영에 실패한 체결 결과가 버려지지 않고 다음 주기에 합쳐서 다시 반영되는지 확인합니다.
+ */
+class SettlementFlusherTests {
+
+	private static final String PLAYER_ID = "player";
+	private static final long STOCK_ID = 3;
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final PortfolioService portfolioService = mock(PortfolioService.class);
+	private final SettlementFlusher settlementFlusher = new SettlementFlusher(jdbcTemplate, transactionTemplate,
+			portfolioService);
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void failedFlushIsRetriedWithLaterSettlements() {
+		// 모든 갱신이 한 행씩 반영된 것으로 응답
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+			int[] updated = new int[invocation.<List<?>>getArgument(1).size()];
+			Arrays.fill(updated, 1);
+			return updated;
+		});
+		doAnswer(invocation -> {
+			throw new DataAccessResourceFailureException("down");
+		}).doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+
+		settlementFlusher.add(PLAYER_ID, STOCK_ID, 10, 0, 0);
+		settlementFlusher.add(PLAYER_ID, STOCK_ID, 5, 3, 30);
+		settlementFlusher.addTrade(PLAYER_ID, STOCK_ID, "BUY", 3, 10, 1L);
+
+		settlementFlusher.flush();
+		verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+		verify(portfolioService, never()).invalidate(any());
+
+		settlementFlusher.add(PLAYER_ID, STOCK_ID, 1, 0, 0);
+		settlementFlusher.flush();
+
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<List<Object[]>> args = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, times(3)).batchUpdate(sql.capture(), args.capture());
+		// 현금, 보유 수량, 체결 이력 순서
+		assertTrue(sql.getAllValues().get(0).startsWith("update player "));
+		assertTrue(sql.getAllValues().get(1).startsWith("update player_stock "));
+		assertTrue(sql.getAllValues().get(2).startsWith("insert into trade "));
+		assertEquals(1, args.getAllValues().get(0).size());
+		assertArrayEquals(new Object[] { 16.0, PLAYER_ID }, args.getAllValues().get(0).get(0));
+		assertEquals(1, args.getAllValues().get(1).size());
+		assertArrayEquals(new Object[] { 3, 30.0, PLAYER_ID, STOCK_ID }, args.getAllValues().get(1).get(0));
+		assertEquals(1, args.getAllValues().get(2).size());
+		assertArrayEquals(new Object[] { PLAYER_ID, STOCK_ID, "BUY", 3, 10.0, 1L }, args.getAllValues().get(2).get(0));
+		verify(portfolioService, times(2)).invalidate(PLAYER_ID);
+
+		// 반영이 끝나면 남은 것이 없음
+		settlementFlusher.flush();
+		verify(transactionTemplate, times(2)).executeWithoutResult(any());
+	}
+}
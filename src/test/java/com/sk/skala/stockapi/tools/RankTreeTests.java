@@ -0,0 +1,104 @@
+package com.sk.skala.stockapi.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 추가/삭제를 섞어 가며 RankTree 의 크기, 순위, 구간 조회를 정렬된 ArrayList 와 비교합니다.
+ */
+class RankTreeTests {
+
+	private static final int OPERATIONS = 20000;
+	private static final int VALUES = 2000; // 값 범위, 작게 잡아 이미 있는 값/없는 값이 자주 나오게 함
+	private static final int CHECK_EVERY = 100;
+
+	@Test
+	void matchesSortedListAscending() {
+		verify(Comparator.naturalOrder(), 1);
+	}
+
+	// 순위 서비스처럼 내림차순 비교자
+	@Test
+	void matchesSortedListDescending() {
+		verify(Comparator.reverseOrder(), 2);
+	}
+
+	@Test
+	void emptyTreeAndOutOfRange() {
+		RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+		assertEquals(0, tree.size());
+		assertEquals(-1, tree.indexOf(1));
+		assertFalse(tree.remove(1));
+		assertTrue(tree.range(0, 10).isEmpty());
+
+		tree.add(5);
+		tree.add(3);
+		assertEquals(List.of(3, 5), tree.range(0, 10));
+		assertEquals(List.of(5), tree.range(1, 10));
+		assertTrue(tree.range(2, 10).isEmpty());
+		assertTrue(tree.range(0, 0).isEmpty());
+
+		tree.clear();
+		assertEquals(0, tree.size());
+		assertEquals(-1, tree.indexOf(3));
+	}
+
+	private static void verify(Comparator<Integer> comparator, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		RankTree<Integer> tree = new RankTree<>(comparator);
+		List<Integer> expected = new ArrayList<>();
+
+		for (int i = 1; i <= OPERATIONS; i++) {
+			Integer value = random.nextInt(VALUES);
+			int position = Collections.binarySearch(expected, value, comparator);
+			// 삭제보다 추가를 조금 더 자주 해서 크기가 천천히 커지게 함
+			if (random.nextInt(5) < 3) {
+				if (position < 0) {
+					tree.add(value);
+					expected.add(-position - 1, value);
+				}
+			}
+			else {
+				assertEquals(position >= 0, tree.remove(value), "remove " + value);
+				if (position >= 0) {
+					expected.remove(position);
+				}
+			}
+
+			if (i % CHECK_EVERY == 0) {
+				check(tree, expected, random);
+			}
+		}
+		check(tree, expected, random);
+	}
+
+	private static void check(RankTree<Integer> tree, List<Integer> expected, SplittableRandom random) {
+		assertEquals(expected.size(), tree.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(i, tree.indexOf(expected.get(i)), "indexOf " + expected.get(i));
+		}
+		for (int value = 0; value < VALUES; value += 97) {
+			if (!expected.contains(value)) {
+				assertEquals(-1, tree.indexOf(value), "indexOf missing " + value);
+			}
+		}
+
+		assertEquals(expected, tree.range(0, expected.size()));
+		for (int i = 0; i < 10; i++) {
+			int offset = random.nextInt(expected.size() + 5);
+			int limit = random.nextInt(50);
+			int from = Math.min(offset, expected.size());
+			int to = Math.min(expected.size(), from + limit);
+			assertEquals(expected.subList(from, to), tree.range(offset, limit), "range " + offset + ", " + limit);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.sk.skala.stockapi.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.config.Constant;
+import com.sk.skala.stockapi.data.dto.PlayerSession;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청마다 하는 세션 토큰 해석 비용을 JWT (서명 검증 + audience JSON 파싱) 와 바이너리 토큰으로 비교합니다.
+ * 시간은 로그로만 남기고, 검증 결과와 토큰 크기만 확인합니다. (토큰 검증 자체는 SessionTokenToolTests)
+ */
+@Slf4j
+@Tag("benchmark")
+class SessionTokenBenchmarkTests {
+
+	private static final String PLAYER_ID = "benchmark-player";
+	private static final int WARMUP = 20000;
+	private static final int ITERATIONS = 200000;
+
+	@Test
+	void decodeCost() {
+		PlayerSession playerSession = new PlayerSession();
+		playerSession.setPlayerId(PLAYER_ID);
+		playerSession.setPlayerPassword("");
+		String jwt = JwtTool.generateToken(PLAYER_ID, playerSession);
+
+		long now = System.currentTimeMillis();
+		String compact = SessionTokenTool.generateToken(PLAYER_ID, now, now + Constant.JWT_TTL_MILLIS);
+
+		assertTrue(compact.length() < jwt.length());
+		assertEquals(PLAYER_ID, decodeJwt(jwt));
+		assertEquals(PLAYER_ID, SessionTokenTool.verify(compact).playerId());
+
+		for (int i = 0; i < WARMUP; i++) {
+			decodeJwt(jwt);
+			SessionTokenTool.verify(compact);
+		}
+
+		long start = System.nanoTime();
+		int length = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			length += decodeJwt(jwt).length();
+		}
+		long jwtNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			length += SessionTokenTool.verify(compact).playerId().length();
+		}
+		long compactNanos = System.nanoTime() - start;
+
+		assertEquals(PLAYER_ID.length() * ITERATIONS * 2, length);
+		log.info("session token decode: jwt {} ns/op ({} chars), compact {} ns/op ({} chars)",
+				jwtNanos / ITERATIONS, jwt.length(), compactNanos / ITERATIONS, compact.length());
+	}
+
+	// SessionHandler 의 JWT 경로와 같은 작업
+	private static String decodeJwt(String token) {
+		Claims claims = JwtTool.getValidClaims(token);
+		return JsonTool.toObject(claims.getAudience(), PlayerSession.class).getPlayerId();
+	}
+}
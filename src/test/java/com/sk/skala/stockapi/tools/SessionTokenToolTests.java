@@ -0,0 +1,49 @@
+package com.sk.skala.stockapi.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.sk.skala.stockapi.config.Constant;
+
+/**
+ * 바이너리 세션 토큰이 발급한 값을 그대로 돌려주고, 변조되었거나 만료된 토큰은 거부하는지 확인합니다.
+ */
+class SessionTokenToolTests {
+
+	private static final String PLAYER_ID = "token-player";
+
+	@Test
+	void roundTrip() {
+		long now = System.currentTimeMillis();
+		String token = SessionTokenTool.generateToken(PLAYER_ID, now, now + Constant.JWT_TTL_MILLIS);
+
+		assertTrue(SessionTokenTool.isCompact(token));
+		SessionTokenTool.Token verified = SessionTokenTool.verify(token);
+		assertEquals(PLAYER_ID, verified.playerId());
+		assertEquals(now, verified.issuedAt());
+		assertEquals(now + Constant.JWT_TTL_MILLIS, verified.expiresAt());
+	}
+
+	@Test
+	void tamperedTokenIsRejected() {
+		long now = System.currentTimeMillis();
+		String token = SessionTokenTool.generateToken(PLAYER_ID, now, now + Constant.JWT_TTL_MILLIS);
+
+		// 마지막 글자를 바꾸면 HMAC 불일치
+		char last = token.charAt(token.length() - 1);
+		String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+		assertThrows(SecurityException.class, () -> SessionTokenTool.verify(tampered));
+		assertThrows(SecurityException.class, () -> SessionTokenTool.verify("not-a-token"));
+	}
+
+	@Test
+	void expiredTokenIsRejected() {
+		long now = System.currentTimeMillis();
+		String expired = SessionTokenTool.generateToken(PLAYER_ID, now - 2000, now - 1000);
+
+		assertThrows(SecurityException.class, () -> SessionTokenTool.verify(expired));
+	}
+}
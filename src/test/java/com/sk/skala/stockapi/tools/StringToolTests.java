@@ -0,0 +1,36 @@
+package com.sk.skala.stockapi.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 페이지 커서가 정렬 키를 그대로 되돌려 주고, URL 에 그대로 쓸 수 있으며, 잘못된 커서는 null 인지 확인합니다.
+ */
+class StringToolTests {
+
+	@Test
+	void cursorRoundTrip() {
+		for (String key : new String[] { "a", "Skala.Man", "player-01", "12345", "한글 아이디", "?/+=&", "" }) {
+			assertEquals(key, StringTool.fromCursor(StringTool.toCursor(key)), key);
+		}
+	}
+
+	// base64url, 패딩 없음
+	@Test
+	void cursorIsUrlSafe() {
+		for (String key : new String[] { "?>?>", "a", "ab", "~~~~~" }) {
+			String cursor = StringTool.toCursor(key);
+			assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+		}
+	}
+
+	@Test
+	void malformedCursorIsNull() {
+		for (String cursor : new String[] { "!!!", "a b", "abc=def", "+/+/", "a" }) {
+			assertNull(StringTool.fromCursor(cursor), cursor);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+-- 테스트 전용: 스키마 이력 도입 전 ddl-auto: update 로 만들어진 DB (H2 SCRIPT NODATA 로 뽑은 그대로) 와 데이터
+create table player (
+    player_id character varying(255) not null,
+    initial_money float(53) not null,
+    player_money float(53) not null,
+    player_password character varying(255)
+);
+alter table player add constraint constraint_8 primary key (player_id);
+create table player_watchlist (
+    id bigint generated by default as identity(start with 1) not null,
+    player_id character varying(255) not null,
+    stock_id bigint not null
+);
+alter table player_watchlist add constraint constraint_7 primary key (id);
+create table player_stock (
+    id bigint generated by default as identity(start with 1) not null,
+    quantity integer not null,
+    player_id character varying(255),
+    stock_id bigint
+);
+alter table player_stock add constraint constraint_c primary key (id);
+create table stock (
+    id bigint generated by default as identity(start with 1) not null,
+    stock_name character varying(255),
+    stock_price float(53)
+);
+alter table stock add constraint constraint_4 primary key (id);
+alter table player_watchlist add constraint fk45afk6fjhjye56nw0alw9lmb5 foreign key (player_id) references player (player_id);
+alter table player_stock add constraint fk7onkfjde3cvcxafthqpofqrtf foreign key (player_id) references player (player_id);
+alter table player_stock add constraint fk7d9hcs60y2pqoiny18dks6d4m foreign key (stock_id) references stock (id);
+alter table player_watchlist add constraint fknd5j0v6ftn6xxot3i0kdp1rl5 foreign key (stock_id) references stock (id);
+
+insert into stock (stock_name, stock_price) values ('TechCorp', 100.0), ('GreenEnergy', 80.0), ('HealthPlus', 120.0);
+insert into player values ('legacy', 10000.0, 9000.0, 'pw');
+insert into player_stock (quantity, player_id, stock_id) values (10, 'legacy', 1), (5, 'legacy', 3);
+insert into player_watchlist (player_id, stock_id) values ('legacy', 2);
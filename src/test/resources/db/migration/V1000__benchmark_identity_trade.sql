@@ -0,0 +1,11 @@
+-- 테스트 전용: BulkInsertBenchmarkTests 의 IDENTITY 비교용 테이블 (테스트 classpath 에서만 적용)
+create table identity_trade (
+    id bigint generated by default as identity,
+    player_id varchar(255),
+    stock_id bigint not null,
+    side varchar(255),
+    quantity integer not null,
+    price float(53) not null,
+    executed_at bigint not null,
+    primary key (id)
+);